@@ -0,0 +1,82 @@
+package playground.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line client of the {@link AnalysisDaemon}. It prints the report and exits with 0 if the check passed, 1 if
+ * there are violations and 2 if the check failed, so it can be used in scripts and IDE tool windows.
+ * <p>
+ * Usage: <code>AnalysisClient [--port 4711] [--stop] --classes dir[:dir] --core pkg[,pkg] --shell pkg[,pkg]
+ * [--libraries pkg[,pkg]]</code>
+ */
+public class AnalysisClient {
+
+    public static void main(String[] args) {
+        int port = AnalysisDaemon.DEFAULT_PORT;
+        String command = CheckRequest.CHECK;
+        List<Path> classRoots = new ArrayList<>();
+        String core = "";
+        String shell = "";
+        String libraries = "";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--stop":
+                    command = CheckRequest.STOP;
+                    break;
+                case "--classes":
+                    for (String root : args[++i].split(java.io.File.pathSeparator)) {
+                        classRoots.add(Paths.get(root).toAbsolutePath());
+                    }
+                    break;
+                case "--core":
+                    core = args[++i];
+                    break;
+                case "--shell":
+                    shell = args[++i];
+                    break;
+                case "--libraries":
+                    libraries = args[++i];
+                    break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.exit(2);
+            }
+        }
+        CheckRequest request = CheckRequest.STOP.equals(command) ? CheckRequest.stop()
+            : new CheckRequest(command, classRoots, core.split(","), shell.split(","), libraries.isEmpty() ? new String[0] : libraries.split(","));
+        System.exit(send(port, request));
+    }
+
+    private static int send(int port, CheckRequest request) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            request.writeTo(new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+            CheckReport report = CheckReport.read(new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)));
+            report.getLines().forEach(System.out::println);
+            switch (report.getStatus()) {
+                case PASSED:
+                    return 0;
+                case VIOLATED:
+                    return 1;
+                default:
+                    return 2;
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to reach the analysis daemon on port " + port + ": " + e.getMessage());
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package playground.daemon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-running process answering functional core checks of the {@link AnalysisClient}. In contrast to a test run, its
+ * JVM stays warm and every configuration gets an {@link AnalysisSession} that lives as long as the daemon, so only the
+ * changed class files are imported again. Requests are served one after another on a socket bound to the loopback
+ * interface.
+ * <p>
+ * Usage: <code>AnalysisDaemon [port]</code>, the default port is {@value #DEFAULT_PORT}.
+ */
+public class AnalysisDaemon {
+
+    static final int DEFAULT_PORT = 4711;
+
+    private final Logger log = LoggerFactory.getLogger(AnalysisDaemon.class);
+
+    private final Map<String, AnalysisSession> sessions = new HashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        new AnalysisDaemon().serve(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+    }
+
+    void serve(int port) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            log.info("Analysis daemon listening on " + serverSocket.getLocalSocketAddress());
+            boolean running = true;
+            while (running) {
+                try (Socket socket = serverSocket.accept()) {
+                    running = handle(socket);
+                } catch (IOException e) {
+                    log.warn("Failed to answer a request", e);
+                }
+            }
+        }
+        log.info("Analysis daemon stopped");
+    }
+
+    /**
+     * @return false if the daemon was asked to stop
+     */
+    private boolean handle(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        CheckRequest request;
+        try {
+            request = CheckRequest.read(reader);
+        } catch (IllegalArgumentException e) {
+            CheckReport.error(e.getMessage()).writeTo(writer);
+            return true;
+        }
+        if (request == null) {
+            return true;
+        }
+        if (CheckRequest.STOP.equals(request.getCommand())) {
+            CheckReport.of("stop analysis daemon", List.of(), 0).writeTo(writer);
+            return false;
+        }
+        log.info("Checking " + request);
+        try {
+            sessions.computeIfAbsent(request.getSessionKey(), key -> new AnalysisSession(request)).check().writeTo(writer);
+        } catch (RuntimeException e) {
+            log.error("Check failed", e);
+            sessions.remove(request.getSessionKey());
+            CheckReport.error(e.toString()).writeTo(writer);
+        }
+        return true;
+    }
+}
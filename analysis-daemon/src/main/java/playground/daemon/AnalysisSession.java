@@ -0,0 +1,201 @@
+package playground.daemon;
+
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.PackageMatchers;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.facts.ArchUnitFactExtractor;
+import playground.facts.AsmFactExtractor;
+import playground.facts.FactGraph;
+import playground.facts.FactSolver;
+import playground.facts.FactViolation;
+import playground.pureness.PureDataStore;
+import playground.pureness.StandardCatalog;
+import playground.summary.MethodSummaries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps everything a functional core check needs warm between two requests: the compiled catalog, the
+ * {@link FactGraph} of the libraries and the facts and dependency violations of every core class. If class files changed
+ * since the last check, the class roots are imported again, so calls and supertypes are resolved like in a cold check.
+ * Only the facts of the changed classes and of the classes whose calls may be resolved through them are replaced, before
+ * the {@link FactSolver} classifies the core again on the warm graph.
+ */
+final class AnalysisSession {
+
+    private final Logger log = LoggerFactory.getLogger(AnalysisSession.class);
+
+    private final CheckRequest configuration;
+    private final PackageMatchers corePackages;
+    private final PackageMatchers shellPackages;
+    private final PureDataStore catalog = new PureDataStore();
+    private final FactGraph graph = new FactGraph();
+
+    private final Map<Path, FileTime> importedClassFiles = new HashMap<>();
+    private final Map<Path, String> classNames = new HashMap<>();
+    private final Map<String, List<String>> coreCodeUnits = new HashMap<>();
+    private final Map<String, List<String>> dependencyViolations = new HashMap<>();
+
+    AnalysisSession(CheckRequest configuration) {
+        this.configuration = configuration;
+        this.corePackages = PackageMatchers.of(configuration.getCorePackageIdentifiers());
+        this.shellPackages = PackageMatchers.of(configuration.getShellPackageIdentifiers());
+        catalog.addPrefixesForNotSideEffectFree(StandardCatalog.getNotSefPrefixes());
+        catalog.addPrefixesForDomainSpecificSideEffectFree(StandardCatalog.getDsefPrefixes());
+        catalog.addPrefixesForSideEffectFree(StandardCatalog.getSsefPrefixes());
+        catalog.addKnownClassifications(MethodSummaries.loadFromClasspath(Thread.currentThread().getContextClassLoader())
+            .filter(summary -> !corePackages.apply(summary.getPackageName()))
+            .getPurenessClassifications());
+        if (configuration.getLibraryPackageIdentifiers().length > 0) {
+            PackageMatchers libraryPackages = PackageMatchers.of(configuration.getLibraryPackageIdentifiers());
+            new AsmFactExtractor(graph).extract(packageName -> libraryPackages.apply(packageName) && !corePackages.apply(packageName));
+        }
+    }
+
+    CheckReport check() {
+        long start = System.nanoTime();
+        Map<Path, FileTime> classFiles = scanClassFiles();
+        List<Path> changed = classFiles.entrySet().stream()
+            .filter(classFile -> !classFile.getValue().equals(importedClassFiles.get(classFile.getKey())))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        Set<Path> removed = new HashSet<>(importedClassFiles.keySet());
+        removed.removeAll(classFiles.keySet());
+
+        Set<String> removedClassNames = new HashSet<>();
+        removed.forEach(classFile -> {
+            String className = classNames.remove(classFile);
+            if (className != null) {
+                removedClassNames.add(className);
+                forget(className);
+            }
+        });
+        if (!changed.isEmpty() || !removedClassNames.isEmpty()) {
+            reimport(changed, removedClassNames);
+        }
+        importedClassFiles.clear();
+        importedClassFiles.putAll(classFiles);
+        log.info("Reimported " + changed.size() + " changed and dropped " + removed.size() + " removed class files");
+
+        List<String> violations = new ArrayList<>();
+        new TreeSet<>(dependencyViolations.keySet()).forEach(className -> violations.addAll(dependencyViolations.get(className)));
+        violations.addAll(solvePureness());
+        return CheckReport.of(describe(), violations, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Besides the changed classes, the classes calling into a changed class or one of its subclasses are extracted again,
+     * as their calls may now resolve to other methods.
+     */
+    private void reimport(List<Path> changed, Set<String> removedClassNames) {
+        Set<Path> changedClassFiles = new HashSet<>(changed);
+        JavaClasses classes = new ClassFileImporter().importPaths(configuration.getClassRoots());
+        Set<String> changedClassNames = new HashSet<>(removedClassNames);
+        for (JavaClass javaClass : classes) {
+            Path classFile = classFileOf(javaClass);
+            if (changedClassFiles.contains(classFile)) {
+                classNames.put(classFile, javaClass.getName());
+                changedClassNames.add(javaClass.getName());
+            }
+        }
+        Set<String> resolvedThroughChanged = new HashSet<>(changedClassNames);
+        changedClassNames.stream()
+            .filter(classes::contain)
+            .forEach(className -> classes.get(className).getAllSubclasses().forEach(subclass -> resolvedThroughChanged.add(subclass.getName())));
+
+        Set<String> affectedClassNames = new HashSet<>();
+        for (JavaClass javaClass : classes) {
+            if (classFileOf(javaClass) == null) {
+                continue;
+            }
+            if (changedClassNames.contains(javaClass.getName()) || javaClass.getDirectDependenciesFromSelf().stream()
+                .anyMatch(dependency -> resolvedThroughChanged.contains(dependency.getTargetClass().getName()))) {
+                affectedClassNames.add(javaClass.getName());
+            }
+        }
+
+        ArchUnitFactExtractor extractor = new ArchUnitFactExtractor(graph);
+        for (String className : affectedClassNames) {
+            JavaClass javaClass = classes.get(className);
+            forget(className);
+            extractor.extractSupertypes(javaClass);
+            if (corePackages.apply(javaClass.getPackageName())) {
+                coreCodeUnits.put(javaClass.getName(), javaClass.getCodeUnits().stream()
+                    .map(JavaCodeUnit::getFullName)
+                    .collect(Collectors.toList()));
+                dependencyViolations.put(javaClass.getName(), javaClass.getDirectDependenciesFromSelf().stream()
+                    .filter(dependency -> shellPackages.apply(dependency.getTargetClass().getPackageName()))
+                    .map(Dependency::getDescription)
+                    .sorted()
+                    .collect(Collectors.toList()));
+            }
+        }
+        extractor.extract(classes, javaClass -> affectedClassNames.contains(javaClass.getName()));
+        log.info("Extracted " + affectedClassNames.size() + " classes affected by " + changedClassNames.size() + " changed classes");
+    }
+
+    private Path classFileOf(JavaClass javaClass) {
+        if (!javaClass.getSource().isPresent() || !"file".equals(javaClass.getSource().get().getUri().getScheme())) {
+            return null;
+        }
+        return Paths.get(javaClass.getSource().get().getUri());
+    }
+
+    private void forget(String className) {
+        graph.removeType(className);
+        coreCodeUnits.remove(className);
+        dependencyViolations.remove(className);
+    }
+
+    private List<String> solvePureness() {
+        FactSolver solver = new FactSolver(graph, catalog, coreCodeUnits::containsKey);
+        solver.solve(coreCodeUnits.values().stream().flatMap(List::stream).collect(Collectors.toList()));
+        return solver.getViolations().stream()
+            .map(FactViolation::getMessage)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private Map<Path, FileTime> scanClassFiles() {
+        Map<Path, FileTime> classFiles = new HashMap<>();
+        for (Path root : configuration.getClassRoots()) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                    classFiles.put(file, Files.getLastModifiedTime(file));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to scan " + root, e);
+            }
+        }
+        return Collections.unmodifiableMap(classFiles);
+    }
+
+    private String describe() {
+        return "Functional Core Architecture with core in " + Arrays.toString(configuration.getCorePackageIdentifiers())
+            + " and shell in " + Arrays.toString(configuration.getShellPackageIdentifiers());
+    }
+}
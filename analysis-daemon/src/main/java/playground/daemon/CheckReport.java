@@ -0,0 +1,85 @@
+package playground.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The answer of the {@link AnalysisDaemon}, laid out like the failure report of an
+ * {@link com.tngtech.archunit.lang.EvaluationResult}. On the wire the report lines are followed by a status line
+ * <code>END PASSED</code>, <code>END VIOLATED &lt;count&gt;</code> or <code>END ERROR &lt;message&gt;</code>.
+ */
+final class CheckReport {
+
+    private static final String END = "END ";
+
+    enum Status {
+        PASSED, VIOLATED, ERROR
+    }
+
+    private final Status status;
+    private final List<String> lines;
+
+    private CheckReport(Status status, List<String> lines) {
+        this.status = status;
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+    }
+
+    static CheckReport of(String ruleDescription, List<String> violations, long millis) {
+        List<String> lines = new ArrayList<>();
+        if (violations.isEmpty()) {
+            lines.add("Rule '" + ruleDescription + "' passed in " + millis + " ms");
+            return new CheckReport(Status.PASSED, lines);
+        }
+        lines.add("Architecture Violation [Priority: MEDIUM] - Rule '" + ruleDescription + "' was violated ("
+            + violations.size() + " times):");
+        lines.addAll(violations);
+        lines.add("checked in " + millis + " ms");
+        return new CheckReport(Status.VIOLATED, lines);
+    }
+
+    static CheckReport error(String message) {
+        return new CheckReport(Status.ERROR, List.of(message));
+    }
+
+    static CheckReport read(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line = reader.readLine();
+        while (line != null && !line.startsWith(END)) {
+            lines.add(line);
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return error("Connection to the analysis daemon closed unexpectedly");
+        }
+        String status = line.substring(END.length());
+        int separator = status.indexOf(' ');
+        return new CheckReport(Status.valueOf(separator < 0 ? status : status.substring(0, separator)), lines);
+    }
+
+    void writeTo(PrintWriter writer) {
+        lines.forEach(writer::println);
+        switch (status) {
+            case VIOLATED:
+                writer.println(END + status + " " + (lines.size() - 2));
+                break;
+            case ERROR:
+                writer.println(END + status + " " + lines.get(0));
+                break;
+            default:
+                writer.println(END + status);
+        }
+        writer.flush();
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    List<String> getLines() {
+        return lines;
+    }
+}
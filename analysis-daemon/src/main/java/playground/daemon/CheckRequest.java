@@ -0,0 +1,135 @@
+package playground.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A request sent to the {@link AnalysisDaemon}. On the wire it is a block of <code>key=value</code> lines terminated by
+ * an empty line, e.g.
+ * <pre>
+ * command=check
+ * classes=build/classes/java/main
+ * core=hamburg.core..
+ * shell=hamburg.shell..
+ * libraries=java..
+ * </pre>
+ * Several class directories are separated by the platform's path separator, several packages by commas.
+ */
+final class CheckRequest {
+
+    static final String CHECK = "check";
+    static final String STOP = "stop";
+
+    private final String command;
+    private final List<Path> classRoots;
+    private final String[] corePackageIdentifiers;
+    private final String[] shellPackageIdentifiers;
+    private final String[] libraryPackageIdentifiers;
+
+    CheckRequest(String command, List<Path> classRoots, String[] corePackageIdentifiers, String[] shellPackageIdentifiers,
+        String[] libraryPackageIdentifiers) {
+        this.command = command;
+        this.classRoots = Collections.unmodifiableList(new ArrayList<>(classRoots));
+        this.corePackageIdentifiers = corePackageIdentifiers;
+        this.shellPackageIdentifiers = shellPackageIdentifiers;
+        this.libraryPackageIdentifiers = libraryPackageIdentifiers;
+    }
+
+    static CheckRequest stop() {
+        return new CheckRequest(STOP, List.of(), new String[0], new String[0], new String[0]);
+    }
+
+    /**
+     * @return the next request or null if the stream ended before
+     */
+    static CheckRequest read(BufferedReader reader) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        String line = reader.readLine();
+        while (line != null && !line.isEmpty()) {
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + line);
+            }
+            values.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            line = reader.readLine();
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        List<Path> classRoots = split(values.get("classes"), java.io.File.pathSeparator).stream()
+            .map(Paths::get)
+            .map(Path::toAbsolutePath)
+            .collect(Collectors.toList());
+        return new CheckRequest(values.getOrDefault("command", CHECK), classRoots,
+            split(values.get("core"), ",").toArray(new String[0]),
+            split(values.get("shell"), ",").toArray(new String[0]),
+            split(values.get("libraries"), ",").toArray(new String[0]));
+    }
+
+    void writeTo(PrintWriter writer) {
+        writer.println("command=" + command);
+        writer.println("classes=" + classRoots.stream().map(Path::toString).collect(Collectors.joining(java.io.File.pathSeparator)));
+        writer.println("core=" + String.join(",", corePackageIdentifiers));
+        writer.println("shell=" + String.join(",", shellPackageIdentifiers));
+        writer.println("libraries=" + String.join(",", libraryPackageIdentifiers));
+        writer.println();
+        writer.flush();
+        if (writer.checkError()) {
+            throw new UncheckedIOException(new IOException("Failed to send request " + this));
+        }
+    }
+
+    private static List<String> split(String value, String separator) {
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(java.util.regex.Pattern.quote(separator)))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests with the same key are served by the same warm {@link AnalysisSession}.
+     */
+    String getSessionKey() {
+        return classRoots + "|" + Arrays.toString(corePackageIdentifiers) + "|" + Arrays.toString(shellPackageIdentifiers)
+            + "|" + Arrays.toString(libraryPackageIdentifiers);
+    }
+
+    String getCommand() {
+        return command;
+    }
+
+    List<Path> getClassRoots() {
+        return classRoots;
+    }
+
+    String[] getCorePackageIdentifiers() {
+        return corePackageIdentifiers;
+    }
+
+    String[] getShellPackageIdentifiers() {
+        return shellPackageIdentifiers;
+    }
+
+    String[] getLibraryPackageIdentifiers() {
+        return libraryPackageIdentifiers;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckRequest{" + command + ", " + getSessionKey() + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package playground.daemon;
+
+import net.jqwik.api.Example;
+import playground.daemon.fixture.core.Counter;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnalysisSessionTest {
+
+    private static final String FIXTURE = "playground/daemon/fixture";
+
+    @Example
+    void incrementalCheckAfterTouchingACallerEqualsAColdCheck() throws Exception {
+        assertIncrementalCheckEqualsColdCheckAfterTouching("core/CounterUser.class");
+    }
+
+    @Example
+    void incrementalCheckAfterTouchingACalleeEqualsAColdCheck() throws Exception {
+        assertIncrementalCheckEqualsColdCheckAfterTouching("core/Counter.class");
+    }
+
+    @Example
+    void unchangedClassFilesKeepTheReport() throws Exception {
+        AnalysisSession session = new AnalysisSession(requestFor(copyFixture()));
+
+        List<String> first = withoutTiming(session.check());
+
+        assertThat(withoutTiming(session.check())).isEqualTo(first);
+    }
+
+    private static void assertIncrementalCheckEqualsColdCheckAfterTouching(String classFile) throws Exception {
+        Path classRoot = copyFixture();
+        AnalysisSession warm = new AnalysisSession(requestFor(classRoot));
+        warm.check();
+
+        Path touched = classRoot.resolve(FIXTURE).resolve(classFile);
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 2000));
+        CheckReport incremental = warm.check();
+        CheckReport cold = new AnalysisSession(requestFor(classRoot)).check();
+
+        assertThat(cold.getStatus()).isEqualTo(CheckReport.Status.VIOLATED);
+        assertThat(cold.getLines()).anyMatch(line -> line.contains("CounterUser.next(playground.daemon.fixture.core.Counter)"));
+        assertThat(incremental.getStatus()).isEqualTo(cold.getStatus());
+        assertThat(withoutTiming(incremental)).isEqualTo(withoutTiming(cold));
+    }
+
+    private static CheckRequest requestFor(Path classRoot) {
+        return new CheckRequest(CheckRequest.CHECK, List.of(classRoot), new String[]{"playground.daemon.fixture.core.."},
+            new String[]{"playground.daemon.fixture.shell.."}, new String[]{"java.lang"});
+    }
+
+    /**
+     * Copies the compiled fixture into a class root of its own, so the test can touch its class files.
+     */
+    private static Path copyFixture() throws IOException, URISyntaxException {
+        Path testClasses = Paths.get(Counter.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path classRoot = Files.createTempDirectory("classes").toRealPath();
+        try (Stream<Path> files = Files.walk(testClasses.resolve(FIXTURE))) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                Path copy = classRoot.resolve(testClasses.relativize(file).toString());
+                Files.createDirectories(copy.getParent());
+                Files.copy(file, copy);
+            }
+        }
+        return classRoot;
+    }
+
+    private static List<String> withoutTiming(CheckReport report) {
+        return report.getLines().stream()
+            .map(line -> line.replaceAll(" in \\d+ ms$", ""))
+            .collect(Collectors.toList());
+    }
+}
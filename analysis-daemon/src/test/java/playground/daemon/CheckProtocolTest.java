@@ -0,0 +1,68 @@
+package playground.daemon;
+
+import net.jqwik.api.Example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckProtocolTest {
+
+    @Example
+    void requestSurvivesTheWire() throws IOException {
+        CheckRequest request = new CheckRequest(CheckRequest.CHECK,
+            List.of(Paths.get("build/classes/java/main").toAbsolutePath(), Paths.get("other/classes").toAbsolutePath()),
+            new String[]{"hamburg.core..", "hamburg.model.."}, new String[]{"hamburg.shell.."}, new String[]{"java.."});
+
+        StringWriter wire = new StringWriter();
+        request.writeTo(new PrintWriter(wire));
+        CheckRequest received = CheckRequest.read(new BufferedReader(new StringReader(wire.toString())));
+
+        assertThat(received.getCommand()).isEqualTo(CheckRequest.CHECK);
+        assertThat(received.getClassRoots()).isEqualTo(request.getClassRoots());
+        assertThat(received.getSessionKey()).isEqualTo(request.getSessionKey());
+    }
+
+    @Example
+    void stopRequestSurvivesTheWire() throws IOException {
+        StringWriter wire = new StringWriter();
+        CheckRequest.stop().writeTo(new PrintWriter(wire));
+
+        CheckRequest received = CheckRequest.read(new BufferedReader(new StringReader(wire.toString())));
+
+        assertThat(received.getCommand()).isEqualTo(CheckRequest.STOP);
+    }
+
+    @Example
+    void violatedReportSurvivesTheWire() throws IOException {
+        CheckReport report = CheckReport.of("Functional Core Architecture", List.of("first violation", "second violation"), 42);
+
+        CheckReport received = roundTrip(report);
+
+        assertThat(received.getStatus()).isEqualTo(CheckReport.Status.VIOLATED);
+        assertThat(received.getLines()).isEqualTo(report.getLines());
+    }
+
+    @Example
+    void passedAndErrorReportsSurviveTheWire() throws IOException {
+        CheckReport passed = CheckReport.of("Functional Core Architecture", List.of(), 7);
+        CheckReport error = CheckReport.error("Failed to import the class roots");
+
+        assertThat(roundTrip(passed).getStatus()).isEqualTo(CheckReport.Status.PASSED);
+        assertThat(roundTrip(passed).getLines()).isEqualTo(passed.getLines());
+        assertThat(roundTrip(error).getStatus()).isEqualTo(CheckReport.Status.ERROR);
+        assertThat(roundTrip(error).getLines()).isEqualTo(error.getLines());
+    }
+
+    private static CheckReport roundTrip(CheckReport report) throws IOException {
+        StringWriter wire = new StringWriter();
+        report.writeTo(new PrintWriter(wire));
+        return CheckReport.read(new BufferedReader(new StringReader(wire.toString())));
+    }
+}
@@ -0,0 +1,15 @@
+package playground.daemon.fixture.core;
+
+public class Counter {
+
+    private int count;
+
+    public int increment() {
+        count = count + 1;
+        return count;
+    }
+
+    public int current() {
+        return count;
+    }
+}
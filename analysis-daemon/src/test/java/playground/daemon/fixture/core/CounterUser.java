@@ -0,0 +1,18 @@
+package playground.daemon.fixture.core;
+
+import playground.daemon.fixture.shell.Console;
+
+public class CounterUser {
+
+    public int next(Counter counter) {
+        return counter.increment();
+    }
+
+    public int twice(int value) {
+        return value * 2;
+    }
+
+    public Console console() {
+        return new Console();
+    }
+}
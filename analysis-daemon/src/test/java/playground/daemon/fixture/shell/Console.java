@@ -0,0 +1,8 @@
+package playground.daemon.fixture.shell;
+
+public class Console {
+
+    public void print(String text) {
+        System.out.println(text);
+    }
+}
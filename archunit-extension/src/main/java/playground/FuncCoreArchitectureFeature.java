@@ -2,20 +2,61 @@ package playground;
 
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.PackageMatchers;
 import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.EvaluationResult;
 import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.thirdparty.com.google.common.base.Joiner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.callgraph.RapidTypeAnalysis;
+import playground.deterministic.DetDataStore;
+import playground.deterministic.DeterministicArchCondition;
+import playground.deterministic.DeterministicClassification;
+import playground.diff.ChangedClasses;
+import playground.diff.DifferentialCheck;
+import playground.diff.VerdictChange;
+import playground.facts.ArchUnitFactExtractor;
+import playground.facts.AsmFactExtractor;
+import playground.facts.DetFactSolver;
+import playground.facts.FactGraph;
+import playground.facts.FactSolver;
+import playground.facts.MemoryBudget;
+import playground.facts.StreamingImporter;
+import playground.pureness.AnalysisBudget;
+import playground.pureness.CatalogImpactRanking;
 import playground.pureness.PureDataStore;
 import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
 import playground.pureness.StandardCatalog;
+import playground.report.ViolationSink;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummaryCollector;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
@@ -47,10 +88,26 @@ public final class FuncCoreArchitectureFeature {
     }
 
     public static final class FunctionalCoreArchitecture implements ArchRule {
+        private static final String MEMOIZED_ANNOTATION = "playground.memo.Memoized";
+
+        private final Logger log = LoggerFactory.getLogger(FunctionalCoreArchitecture.class);
+
         private String[] shellPackageIdentifiers = new String[0];
         private String[] corePackageIdentifiers = new String[0];
 
         private boolean usePredefinedCatalog = true;
+        private boolean useLibrarySummaries = true;
+        private boolean useRapidTypeAnalysis = false;
+        private Path summaryExportTarget;
+        private Path impactRankingTarget;
+        private Path violationReportTarget;
+        private Function<Path, ViolationSink> violationSinkFactory;
+        private Path differentialBaseline;
+        private Supplier<Collection<String>> changedClassNames;
+        private String[] streamedLibraryPackageIdentifiers = new String[0];
+        private String[] bytecodeLibraryPackageIdentifiers = new String[0];
+        private MemoryBudget memoryBudget = MemoryBudget.halfOfMaxHeap();
+        private AnalysisBudget analysisBudget = AnalysisBudget.unlimited();
 
         private final Set<String> nonSideEffectFreePackages = new LinkedHashSet<>();
         private final Set<String> domainSpecificSideEffectFreePackages = new LinkedHashSet<>();
@@ -85,6 +142,158 @@ public final class FuncCoreArchitectureFeature {
             return this;
         }
 
+        /**
+         * Method summaries published by libraries under {@link MethodSummaries#LOCATION} are used in place of analyzing
+         * the library classes. This is the default.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereLibrarySummariesAreUsed() {
+            useLibrarySummaries = true;
+            return this;
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereLibrarySummariesAreExcluded() {
+            useLibrarySummaries = false;
+            return this;
+        }
+
+        /**
+         * Limits virtual calls and implementations of abstract methods to classes that are actually instantiated by code
+         * reachable from the core, see {@link RapidTypeAnalysis}. This prunes most of the JDK implementations a call like
+         * <code>Collection.add</code> would otherwise be linked to.
+         * <p>
+         * The analysis assumes a closed world. If the core receives objects of classes it never instantiates itself, e.g.
+         * a <code>LinkedList</code> passed in as a <code>List</code> by the shell, their implementations are not looked at
+         * and a verdict may be too optimistic. Only use this option if the classes passed to {@link #evaluate(JavaClasses)}
+         * instantiate all implementations the core may be called with.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereVirtualCallsArePrunedByRapidTypeAnalysis() {
+            useRapidTypeAnalysis = true;
+            return this;
+        }
+
+        /**
+         * Analyzes the given library packages in a streaming mode: they are imported batch by batch, reduced to the facts
+         * the pureness rules need, and released before the next batch is imported. The classes passed to
+         * {@link #evaluate(JavaClasses)} then only need to contain the core. This mode can't be combined with an analysis
+         * budget, rapid type analysis, the export of method summaries or the impact ranking.
+         *
+         * @param packageIdentifiers library packages in ArchUnit syntax, e.g. <code>java..</code>
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereLibraryPackagesAreStreamed(String... packageIdentifiers) {
+            streamedLibraryPackageIdentifiers = packageIdentifiers;
+            return this;
+        }
+
+        /**
+         * Reads the given library packages with a lightweight bytecode extractor instead of importing them with ArchUnit.
+         * Only modifiers, method calls, constructor calls and field accesses are read, straight from the runtime image and
+         * the class path. The core is still taken from the classes passed to {@link #evaluate(JavaClasses)}, as violations
+         * are reported on its domain model. Like {@link #whereLibraryPackagesAreStreamed(String...)}, this mode can't be
+         * combined with an analysis budget, rapid type analysis, the export of method summaries or the impact ranking.
+         *
+         * @param packageIdentifiers library packages in ArchUnit syntax, e.g. <code>java..</code>
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereLibraryPackagesAreReadFromBytecode(String... packageIdentifiers) {
+            bytecodeLibraryPackageIdentifiers = packageIdentifiers;
+            return this;
+        }
+
+        /**
+         * Appends the {@link CatalogImpactRanking} of the remaining unsure code units to the given CSV file after each
+         * evaluation, so the entries worth adding to the catalog can be tracked over time. The top entries are logged.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereImpactRankingIsExportedTo(Path csv) {
+            impactRankingTarget = csv;
+            return this;
+        }
+
+        /**
+         * Only checks the classes touched by a change, e.g. in a pull request check. The verdicts of the core are taken
+         * from the baseline, usually exported by {@link #whereSummariesAreExportedTo(Path)} on the target branch, and only
+         * the code units affected by the changed classes are solved again, see {@link DifferentialCheck}. Verdicts that
+         * moved for the worse, like SSEF to NOT_SEF, are reported as violations. Falls back to a full check if the
+         * baseline doesn't exist yet.
+         *
+         * @param baselineSummaries the method summaries before the change
+         * @param changedClassNames the names of the added or changed top level classes
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereOnlyChangesAreChecked(Path baselineSummaries, Collection<String> changedClassNames) {
+            differentialBaseline = baselineSummaries;
+            this.changedClassNames = () -> changedClassNames;
+            return this;
+        }
+
+        /**
+         * Like {@link #whereOnlyChangesAreChecked(Path, Collection)}, where the changed classes are the source files that
+         * differ from the given git revision, e.g. <code>origin/main</code>, when the rule is evaluated.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereOnlyChangesSinceRevisionAreChecked(Path baselineSummaries, String revision) {
+            differentialBaseline = baselineSummaries;
+            changedClassNames = () -> ChangedClasses.sinceRevision(Paths.get(""), revision);
+            return this;
+        }
+
+        /**
+         * Streams the pureness violations and unsure verdicts of each evaluation to the given file as JSON Lines while they
+         * are decided, instead of collecting them in the {@link EvaluationResult}. The result then only reports their number.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereViolationsAreStreamedAsJsonLinesTo(Path target) {
+            violationReportTarget = target;
+            violationSinkFactory = ViolationSink::jsonLines;
+            return this;
+        }
+
+        /**
+         * Like {@link #whereViolationsAreStreamedAsJsonLinesTo(Path)}, but writes a SARIF log, e.g. to be uploaded as
+         * code scanning result.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereViolationsAreStreamedAsSarifTo(Path target) {
+            violationReportTarget = target;
+            violationSinkFactory = ViolationSink::sarif;
+            return this;
+        }
+
+        /**
+         * Limits the heap spent on imported classes at once in the streaming mode, see {@link #whereLibraryPackagesAreStreamed(String...)}.
+         * Defaults to half of the maximum heap.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture withMemoryBudget(MemoryBudget budget) {
+            memoryBudget = budget;
+            return this;
+        }
+
+        /**
+         * Limits time, call depth and number of analyzed code units of the pureness analysis. Callees beyond the limits
+         * are considered unsure and the affected verdicts of the core are reported as truncated, e.g. to get a fast and
+         * conservative answer in a pre-commit hook.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture withAnalysisBudget(AnalysisBudget budget) {
+            analysisBudget = budget;
+            return this;
+        }
+
+        /**
+         * Writes the method summaries of the core to the given file after each evaluation, so they can be packaged
+         * with the module, e.g. to <code>build/resources/main/</code> + {@link MethodSummaries#LOCATION}.
+         */
+        @PublicAPI(usage = ACCESS)
+        public FunctionalCoreArchitecture whereSummariesAreExportedTo(Path target) {
+            summaryExportTarget = target;
+            return this;
+        }
+
         @PublicAPI(usage = ACCESS)
         public PackageClassification wherePackage(String packageIdentifier) {
             return new PackageClassification(packageIdentifier);
@@ -114,6 +323,30 @@ public final class FuncCoreArchitectureFeature {
             List<String> lines = new ArrayList<>();
             lines.add("Functional Core Architecture with core in " + Arrays.toString(corePackageIdentifiers) + " and shell in " + Arrays.toString(shellPackageIdentifiers));
             lines.add(usePredefinedCatalog ? " using predefined catalog" : "using only user declared packages");
+            if (useLibrarySummaries) {
+                lines.add("using method summaries published on the classpath");
+            }
+            if (impactRankingTarget != null) {
+                lines.add("exporting the catalog impact ranking to " + impactRankingTarget);
+            }
+            if (violationReportTarget != null) {
+                lines.add("streaming violations to " + violationReportTarget);
+            }
+            if (differentialBaseline != null) {
+                lines.add("checking only changes against the baseline " + differentialBaseline);
+            }
+            if (useRapidTypeAnalysis) {
+                lines.add("pruning virtual calls to instantiated classes");
+            }
+            if (!analysisBudget.isUnlimited()) {
+                lines.add("with analysis budget of " + analysisBudget);
+            }
+            if (bytecodeLibraryPackageIdentifiers.length > 0) {
+                lines.add("reading library packages " + Arrays.toString(bytecodeLibraryPackageIdentifiers) + " from bytecode");
+            }
+            if (streamedLibraryPackageIdentifiers.length > 0) {
+                lines.add("streaming library packages " + Arrays.toString(streamedLibraryPackageIdentifiers) + " with memory budget " + memoryBudget);
+            }
             if (!strictlySideEffectFreePackages.isEmpty()) {
                 lines.add("with the following additionally defined strictly side effect free packages");
                 lines.addAll(strictlySideEffectFreePackages);
@@ -138,22 +371,285 @@ public final class FuncCoreArchitectureFeature {
         public EvaluationResult evaluate(JavaClasses classes) {
             EvaluationResult result = new EvaluationResult(this, Priority.MEDIUM);
             result.add(classes().that().resideInAnyPackage(corePackageIdentifiers).should().onlyDependOnClassesThat().resideOutsideOfPackages(shellPackageIdentifiers).evaluate(classes));
-            PurenessArchCondition condition = new PurenessArchCondition();
-            initializeCatalog(condition);
-            result.add(classes().that().resideInAnyPackage(corePackageIdentifiers).should(condition).evaluate(classes));
+            if (differentialBaseline != null && Files.exists(differentialBaseline)) {
+                result.add(evaluateChanges(classes));
+                return result;
+            }
+            if (differentialBaseline != null) {
+                log.warn("Baseline " + differentialBaseline + " not found, checking the whole core");
+            }
+            if (streamedLibraryPackageIdentifiers.length > 0 || bytecodeLibraryPackageIdentifiers.length > 0) {
+                result.add(evaluateStreamed(classes));
+                return result;
+            }
+            PurenessArchCondition condition = createPurenessCondition(classes);
+            try (ViolationSink sink = openViolationSink()) {
+                if (sink != null) {
+                    condition.withViolationSink(sink);
+                }
+                result.add(classes().that().resideInAnyPackage(corePackageIdentifiers).should(condition).evaluate(classes));
+            }
+            List<JavaMethod> memoizedMethods = findMemoizedMethods(classes);
+            if (summaryExportTarget != null || !memoizedMethods.isEmpty()) {
+                DetDataStore detDataStore = evaluateDeterminism(classes);
+                if (summaryExportTarget != null) {
+                    exportSummaries(condition.getDataStore(), detDataStore);
+                }
+                result.add(evaluateMemoizedMethods(memoizedMethods, condition.getDataStore()::getClassificationFor,
+                    detDataStore::getDeterministicClassificationFor));
+            }
+            if (impactRankingTarget != null) {
+                exportImpactRanking(condition.getCatalogImpactRanking());
+            }
+            return result;
+        }
+
+        private List<JavaMethod> findMemoizedMethods(JavaClasses classes) {
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+            List<JavaMethod> memoizedMethods = new ArrayList<>();
+            for (JavaClass javaClass : classes) {
+                if (corePackages.apply(javaClass.getPackageName())) {
+                    javaClass.getMethods().stream()
+                        .filter(method -> method.isAnnotatedWith(MEMOIZED_ANNOTATION))
+                        .forEach(memoizedMethods::add);
+                }
+            }
+            return memoizedMethods;
+        }
+
+        /**
+         * Caching the results of a method is only correct if it is strictly side effect free and deterministic, so
+         * <code>@Memoized</code> is rejected on every other method.
+         */
+        private EvaluationResult evaluateMemoizedMethods(List<JavaMethod> memoizedMethods,
+            Function<JavaMethod, PurenessClassification> pureness, Function<JavaMethod, DeterministicClassification> determinism) {
+            ConditionEvents events = new ConditionEvents();
+            for (JavaMethod method : memoizedMethods) {
+                PurenessClassification purenessClassification = pureness.apply(method);
+                DeterministicClassification determinismClassification = determinism.apply(method);
+                boolean deterministic = determinismClassification == DeterministicClassification.SDET
+                    || determinismClassification == DeterministicClassification.DDET;
+                if (purenessClassification != PurenessClassification.SSEF || !deterministic) {
+                    events.add(SimpleConditionEvent.violated(method, method.getFullName() + " is memoized, but classified as "
+                        + purenessClassification + " and " + determinismClassification));
+                }
+            }
+            return new EvaluationResult(this, events, Priority.MEDIUM);
+        }
+
+        /**
+         * Only the core is taken from the given classes. The libraries are either read from bytecode or imported package by
+         * package, reduced to their {@link FactGraph facts} and released again, so the solver never needs their domain model.
+         */
+        private EvaluationResult evaluateStreamed(JavaClasses classes) {
+            rejectOptionsUnsupportedByFacts();
+            PureDataStore catalog = new PureDataStore();
+            initializeCatalog(catalog);
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+
+            FactGraph graph = new FactGraph();
+            List<String> coreCodeUnits = new ArrayList<>();
+            for (JavaClass javaClass : classes) {
+                if (corePackages.apply(javaClass.getPackageName())) {
+                    javaClass.getCodeUnits().forEach(codeUnit -> coreCodeUnits.add(codeUnit.getFullName()));
+                }
+            }
+            new ArchUnitFactExtractor(graph).extract(classes, javaClass -> corePackages.apply(javaClass.getPackageName()));
+            if (bytecodeLibraryPackageIdentifiers.length > 0) {
+                new AsmFactExtractor(graph).extract(PackageMatchers.of(bytecodeLibraryPackageIdentifiers)::apply);
+            }
+            if (streamedLibraryPackageIdentifiers.length > 0) {
+                new StreamingImporter(memoryBudget).importInto(graph, streamedLibraryPackageIdentifiers);
+            }
+
+            FactSolver solver = new FactSolver(graph, catalog, ownerName -> classes.contain(ownerName)
+                && corePackages.apply(classes.get(ownerName).getPackageName()));
+            ConditionEvents events = new ConditionEvents();
+            try (ViolationSink sink = openViolationSink()) {
+                if (sink != null) {
+                    solver.withViolationSink(sink);
+                }
+                solver.solve(coreCodeUnits);
+                if (sink != null && sink.getReportedCount() > 0) {
+                    events.add(SimpleConditionEvent.violated(violationReportTarget,
+                        sink.getReportedCount() + " findings were reported to " + violationReportTarget));
+                }
+            }
+            solver.getViolations().forEach(violation ->
+                events.add(SimpleConditionEvent.violated(classes.get(violation.getOwnerName()), violation.getMessage())));
+            EvaluationResult result = new EvaluationResult(this, events, Priority.MEDIUM);
+            List<JavaMethod> memoizedMethods = findMemoizedMethods(classes);
+            if (!memoizedMethods.isEmpty()) {
+                DetDataStore detCatalog = new DetDataStore();
+                if (useLibrarySummaries) {
+                    detCatalog.addKnownClassifications(loadLibrarySummaries().getDeterministicClassifications());
+                }
+                DetFactSolver detSolver = new DetFactSolver(graph, detCatalog, ownerName -> false);
+                detSolver.solve(coreCodeUnits);
+                result.add(evaluateMemoizedMethods(memoizedMethods, method -> solver.getClassificationFor(method.getFullName()),
+                    method -> detSolver.getClassificationFor(method.getFullName())));
+            }
+            return result;
+        }
+
+        /**
+         * The {@link FactSolver} neither tracks call depths nor instantiated classes nor the domain model the summaries
+         * and the ranking are based on, so these options would silently be ignored.
+         */
+        private void rejectOptionsUnsupportedByFacts() {
+            List<String> unsupported = new ArrayList<>();
+            if (!analysisBudget.isUnlimited()) {
+                unsupported.add("an analysis budget");
+            }
+            if (useRapidTypeAnalysis) {
+                unsupported.add("rapid type analysis");
+            }
+            if (summaryExportTarget != null) {
+                unsupported.add("the export of method summaries");
+            }
+            if (impactRankingTarget != null) {
+                unsupported.add("the impact ranking");
+            }
+            if (!unsupported.isEmpty()) {
+                throw new IllegalStateException("Streamed or bytecode read library packages can't be combined with "
+                    + String.join(", ", unsupported));
+            }
+        }
+
+        private EvaluationResult evaluateChanges(JavaClasses classes) {
+            MethodSummaries baseline;
+            try (InputStream input = Files.newInputStream(differentialBaseline)) {
+                baseline = MethodSummaries.read(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read baseline " + differentialBaseline, e);
+            }
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+            DifferentialCheck check = new DifferentialCheck(classes, () -> createPurenessCondition(classes), baseline,
+                javaClass -> corePackages.apply(javaClass.getPackageName()));
+            List<VerdictChange> changes = check.check(changedClassNames.get());
+
+            ConditionEvents events = new ConditionEvents();
+            for (VerdictChange change : changes) {
+                if (change.isDegradation()) {
+                    events.add(SimpleConditionEvent.violated(classes.get(change.getOwnerName()), change.toString()));
+                } else {
+                    log.info("Verdict changed: " + change);
+                }
+            }
+            EvaluationResult result = new EvaluationResult(this, events, Priority.MEDIUM);
+            result.add(evaluateChangedMemoizedMethods(classes, check.getSolvedVerdicts(), baseline));
             return result;
         }
 
-        private void initializeCatalog(PurenessArchCondition condition) {
-            final PureDataStore dataStore = condition.getDataStore();
+        /**
+         * Only the memoized methods in the cone of the change are checked. Their determinism is solved like their
+         * pureness: the code units outside of the cone keep their baseline verdicts.
+         */
+        private EvaluationResult evaluateChangedMemoizedMethods(JavaClasses classes,
+            Map<JavaCodeUnit, PurenessClassification> solvedVerdicts, MethodSummaries baseline) {
+            List<JavaMethod> memoizedMethods = new ArrayList<>();
+            Set<JavaClass> owners = new LinkedHashSet<>();
+            for (JavaMethod method : findMemoizedMethods(classes)) {
+                if (solvedVerdicts.containsKey(method)) {
+                    memoizedMethods.add(method);
+                    owners.add(method.getOwner());
+                }
+            }
+            if (memoizedMethods.isEmpty()) {
+                return new EvaluationResult(this, Priority.MEDIUM);
+            }
+            Set<String> coneNames = new HashSet<>();
+            solvedVerdicts.keySet().forEach(codeUnit -> coneNames.add(codeUnit.getFullName()));
+            Map<String, DeterministicClassification> unaffected = new HashMap<>();
+            baseline.getAll().stream()
+                .filter(summary -> !coneNames.contains(summary.getFullName()))
+                .forEach(summary -> unaffected.put(summary.getFullName(), summary.getDeterminism()));
+
+            DeterministicArchCondition determinism = createDeterminismCondition();
+            determinism.getDataStore().addKnownClassifications(unaffected);
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+            List<JavaClass> coreClasses = new ArrayList<>();
+            classes.forEach(javaClass -> {
+                if (corePackages.apply(javaClass.getPackageName())) {
+                    coreClasses.add(javaClass);
+                }
+            });
+            ConditionEvents events = new ConditionEvents();
+            determinism.init(coreClasses);
+            owners.forEach(owner -> determinism.check(owner, events));
+            determinism.finish(events);
+            return evaluateMemoizedMethods(memoizedMethods, solvedVerdicts::get,
+                determinism.getDataStore()::getDeterministicClassificationFor);
+        }
+
+        /**
+         * Creates the condition of the full check, which is used to solve the changes against a baseline as well.
+         */
+        private PurenessArchCondition createPurenessCondition(JavaClasses classes) {
+            PurenessArchCondition condition = new PurenessArchCondition()
+                .withAnalysisBudget(analysisBudget)
+                .withImportedClasses(classes);
+            if (useRapidTypeAnalysis) {
+                condition.withRapidTypeAnalysis();
+            }
+            initializeCatalog(condition.getDataStore());
+            return condition;
+        }
+
+        private ViolationSink openViolationSink() {
+            return violationSinkFactory == null ? null : violationSinkFactory.apply(violationReportTarget);
+        }
+
+        private void initializeCatalog(PureDataStore dataStore) {
             if (usePredefinedCatalog) {
                 dataStore.addPrefixesForNotSideEffectFree(StandardCatalog.getNotSefPrefixes());
                 dataStore.addPrefixesForDomainSpecificSideEffectFree(StandardCatalog.getDsefPrefixes());
                 dataStore.addPrefixesForSideEffectFree(StandardCatalog.getSsefPrefixes());
             }
-            dataStore.addPrefixesForNotSideEffectFree(nonSideEffectFreePackages);
-            dataStore.addPrefixesForDomainSpecificSideEffectFree(domainSpecificSideEffectFreePackages);
-            dataStore.addPrefixesForSideEffectFree(strictlySideEffectFreePackages);
+            dataStore.addDeclaredPrefixesForNotSideEffectFree(nonSideEffectFreePackages);
+            dataStore.addDeclaredPrefixesForDomainSpecificSideEffectFree(domainSpecificSideEffectFreePackages);
+            dataStore.addDeclaredPrefixesForSideEffectFree(strictlySideEffectFreePackages);
+            if (useLibrarySummaries) {
+                dataStore.addKnownClassifications(loadLibrarySummaries().getPurenessClassifications());
+            }
+        }
+
+        /**
+         * Summaries of the core itself are ignored, as they may stem from a previous build of the analyzed module.
+         */
+        private MethodSummaries loadLibrarySummaries() {
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+            return MethodSummaries.loadFromClasspath(Thread.currentThread().getContextClassLoader())
+                .filter(summary -> !corePackages.apply(summary.getPackageName()));
+        }
+
+        private void exportImpactRanking(CatalogImpactRanking ranking) {
+            ranking.getTop(10).forEach(entry -> log.info("Catalog candidate: " + entry));
+            ranking.appendTo(impactRankingTarget, Instant.now());
+        }
+
+        private DetDataStore evaluateDeterminism(JavaClasses classes) {
+            DeterministicArchCondition determinism = createDeterminismCondition();
+            classes().that().resideInAnyPackage(corePackageIdentifiers).should(determinism).evaluate(classes);
+            return determinism.getDataStore();
+        }
+
+        private DeterministicArchCondition createDeterminismCondition() {
+            DeterministicArchCondition determinism = new DeterministicArchCondition(new HashMap<>());
+            if (useRapidTypeAnalysis) {
+                determinism.withRapidTypeAnalysis();
+            }
+            if (useLibrarySummaries) {
+                determinism.getDataStore().addKnownClassifications(loadLibrarySummaries().getDeterministicClassifications());
+            }
+            return determinism;
+        }
+
+        private void exportSummaries(PureDataStore pureDataStore, DetDataStore detDataStore) {
+            PackageMatchers corePackages = PackageMatchers.of(corePackageIdentifiers);
+            new MethodSummaryCollector(pureDataStore, detDataStore)
+                .collect(codeUnit -> corePackages.apply(codeUnit.getOwner().getPackageName()))
+                .writeTo(summaryExportTarget);
         }
 
         @Override
@@ -0,0 +1,41 @@
+package playground.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+
+import java.util.Set;
+
+/**
+ * Decides which methods a call may dispatch to at runtime. The conditions ask this resolver instead of ArchUnit directly,
+ * so the call graph they propagate classifications along can be narrowed, e.g. by {@link RapidTypeAnalysis}.
+ */
+public interface CallTargetResolver {
+
+    /**
+     * @return the methods the given call may invoke
+     */
+    Set<JavaMethod> resolve(JavaMethodCall call);
+
+    /**
+     * @return the subclasses whose implementations have to be considered for an abstract method of the given class
+     */
+    Set<JavaClass> subclassesOf(JavaClass owner);
+
+    /**
+     * @return a resolver that takes every target ArchUnit resolves for a call and every subclass of an abstract type
+     */
+    static CallTargetResolver declaredTargets() {
+        return new CallTargetResolver() {
+            @Override
+            public Set<JavaMethod> resolve(JavaMethodCall call) {
+                return call.getTarget().resolve();
+            }
+
+            @Override
+            public Set<JavaClass> subclassesOf(JavaClass owner) {
+                return owner.getAllSubclasses();
+            }
+        };
+    }
+}
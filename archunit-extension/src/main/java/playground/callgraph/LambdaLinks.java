@@ -0,0 +1,119 @@
+package playground.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassReader;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Handle;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.MethodVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Opcodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.facts.AsmFactExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Links the code units creating lambdas and method references to the methods implementing them. ArchUnit doesn't record
+ * <code>invokedynamic</code> instructions, so the bodies of lambdas (the synthetic <code>lambda$</code> methods) and
+ * referenced methods like <code>Talk::toggleStatus</code> would not be part of the call graph otherwise. The
+ * <code>LambdaMetafactory</code> call sites are read from the bytecode of the classes and resolved to the implementation
+ * method passed as bootstrap argument, so the <code>java.lang.invoke</code> machinery in between is skipped.
+ */
+public final class LambdaLinks {
+
+    private static final String LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory";
+
+    private final Logger log = LoggerFactory.getLogger(LambdaLinks.class);
+
+    private final Map<String, Set<String>> implementations = new HashMap<>();
+    private final Map<String, Set<String>> creators = new HashMap<>();
+
+    public static LambdaLinks of(Iterable<JavaClass> classes) {
+        LambdaLinks links = new LambdaLinks();
+        classes.forEach(links::read);
+        return links;
+    }
+
+    /**
+     * @return the implementation method of a <code>LambdaMetafactory</code> call site, <code>null</code> for other
+     * <code>invokedynamic</code> instructions like string concatenations
+     */
+    public static Handle implementationOf(Handle bootstrapMethod, Object... bootstrapArguments) {
+        if (!LAMBDA_METAFACTORY.equals(bootstrapMethod.getOwner()) || bootstrapArguments.length < 2
+            || !(bootstrapArguments[1] instanceof Handle)) {
+            return null;
+        }
+        return (Handle) bootstrapArguments[1];
+    }
+
+    /**
+     * Reads the lambda call sites of the given class from its class file. Classes without a readable source are skipped.
+     */
+    public void read(JavaClass javaClass) {
+        Source source = javaClass.getSource().orElse(null);
+        if (source == null) {
+            return;
+        }
+        try (InputStream in = source.getUri().toURL().openStream()) {
+            new ClassReader(in.readAllBytes()).accept(new CallSiteVisitor(), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lambdas of " + javaClass.getName() + " could not be linked: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param codeUnitName the full name of the code unit creating the lambdas
+     * @return the full names of the methods implementing them
+     */
+    public Set<String> implementationsOf(String codeUnitName) {
+        return implementations.getOrDefault(codeUnitName, Set.of());
+    }
+
+    /**
+     * @param implementationName the full name of a method implementing lambdas or referenced as method
+     * @return the full names of the code units creating them
+     */
+    public Set<String> creatorsOf(String implementationName) {
+        return creators.getOrDefault(implementationName, Set.of());
+    }
+
+    public int size() {
+        return implementations.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private final class CallSiteVisitor extends ClassVisitor {
+
+        private String internalName;
+
+        CallSiteVisitor() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            internalName = name;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String codeUnitName = AsmFactExtractor.codeUnitNameOf(internalName, name, descriptor);
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInvokeDynamicInsn(String indyName, String indyDescriptor, Handle bootstrapMethod, Object... bootstrapArguments) {
+                    Handle implementation = implementationOf(bootstrapMethod, bootstrapArguments);
+                    if (implementation != null) {
+                        String implementationName = AsmFactExtractor.codeUnitNameOf(implementation.getOwner(), implementation.getName(), implementation.getDesc());
+                        implementations.computeIfAbsent(codeUnitName, c -> new LinkedHashSet<>()).add(implementationName);
+                        creators.computeIfAbsent(implementationName, i -> new LinkedHashSet<>()).add(codeUnitName);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package playground.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaConstructorCall;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rapid type analysis (RTA): Starting from the code units of the checked classes, all code units reachable through calls
+ * are visited and every class instantiated by one of them is recorded. A virtual call can only dispatch to a class that
+ * was instantiated somewhere in this scope, so call targets and implementations of abstract methods are limited to
+ * those classes.
+ * <p>
+ * RTA assumes a closed world: every object a call may be dispatched on is assumed to be created within the analyzed
+ * scope. Receivers flowing in from outside, like parameters of the checked code units, fields set by a framework or by
+ * reflection and values returned by libraries outside of the scope, may be instances of classes that are never
+ * instantiated in the scope. Their implementations are pruned nonetheless, so a verdict can be more optimistic than
+ * without RTA. Only if pruning would leave a call or an abstract method without any target, the unpruned targets are
+ * used instead.
+ */
+public class RapidTypeAnalysis implements CallTargetResolver {
+
+    private final Logger log = LoggerFactory.getLogger(RapidTypeAnalysis.class);
+
+    private final Set<JavaCodeUnit> reachableCodeUnits = new HashSet<>();
+    private final Set<JavaClass> instantiatedClasses = new HashSet<>();
+    private final Map<JavaClass, Set<JavaClass>> instantiatedSubtypes = new HashMap<>();
+    private final Map<JavaClass, List<JavaMethodCall>> virtualCallsByReceiver = new HashMap<>();
+    private final Deque<JavaCodeUnit> toVisit = new ArrayDeque<>();
+
+    private RapidTypeAnalysis() {
+    }
+
+    /**
+     * Runs the analysis with all code units of the given classes as entry points.
+     */
+    public static RapidTypeAnalysis of(Iterable<JavaClass> checkedClasses) {
+        RapidTypeAnalysis analysis = new RapidTypeAnalysis();
+        checkedClasses.forEach(javaClass -> javaClass.getCodeUnits().forEach(analysis::markReachable));
+        analysis.propagate();
+        analysis.log.info("RTA: " + analysis.reachableCodeUnits.size() + " erreichbare Code Units, "
+            + analysis.instantiatedClasses.size() + " instanziierte Klassen");
+        return analysis;
+    }
+
+    private void propagate() {
+        while (!toVisit.isEmpty()) {
+            JavaCodeUnit codeUnit = toVisit.pop();
+            for (JavaConstructorCall constructorCall : codeUnit.getConstructorCallsFromSelf()) {
+                constructorCall.getTarget().resolve().forEach(this::markReachable);
+                markInstantiated(constructorCall.getTarget().getOwner());
+            }
+            for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+                call.getTarget().resolve().forEach(this::markReachable);
+                JavaClass receiver = call.getTarget().getOwner();
+                virtualCallsByReceiver.computeIfAbsent(receiver, r -> new ArrayList<>()).add(call);
+                instantiatedSubtypes.getOrDefault(receiver, Collections.emptySet())
+                    .forEach(instantiated -> dispatch(call, instantiated));
+            }
+        }
+    }
+
+    private void markReachable(JavaCodeUnit codeUnit) {
+        if (reachableCodeUnits.add(codeUnit)) {
+            toVisit.push(codeUnit);
+        }
+    }
+
+    private void markInstantiated(JavaClass javaClass) {
+        if (!instantiatedClasses.add(javaClass)) {
+            return;
+        }
+        for (JavaClass supertype : javaClass.getAllClassesSelfIsAssignableTo()) {
+            instantiatedSubtypes.computeIfAbsent(supertype, s -> new HashSet<>()).add(javaClass);
+            // calls visited before this class was instantiated may now dispatch to it as well
+            virtualCallsByReceiver.getOrDefault(supertype, Collections.emptyList())
+                .forEach(call -> dispatch(call, javaClass));
+        }
+    }
+
+    private void dispatch(JavaMethodCall call, JavaClass instantiated) {
+        instantiated.getAllMethods().stream()
+            .filter(method -> method.getName().equals(call.getTarget().getName())
+                && method.getRawParameterTypes().equals(call.getTarget().getRawParameterTypes()))
+            .forEach(this::markReachable);
+    }
+
+    @Override
+    public Set<JavaMethod> resolve(JavaMethodCall call) {
+        Set<JavaMethod> declaredTargets = call.getTarget().resolve();
+        Set<JavaMethod> prunedTargets = declaredTargets.stream()
+            .filter(target -> target.getModifiers().contains(JavaModifier.STATIC) || instantiatedSubtypes.containsKey(target.getOwner()))
+            .collect(Collectors.toSet());
+        return prunedTargets.isEmpty() ? declaredTargets : prunedTargets;
+    }
+
+    @Override
+    public Set<JavaClass> subclassesOf(JavaClass owner) {
+        Set<JavaClass> instantiated = instantiatedSubtypes.getOrDefault(owner, Collections.emptySet());
+        Set<JavaClass> prunedSubclasses = owner.getAllSubclasses().stream()
+            .filter(instantiated::contains)
+            .collect(Collectors.toSet());
+        return prunedSubclasses.isEmpty() ? owner.getAllSubclasses() : prunedSubclasses;
+    }
+
+    public Set<JavaClass> getInstantiatedClasses() {
+        return Collections.unmodifiableSet(instantiatedClasses);
+    }
+
+    public int getReachableCodeUnitCount() {
+        return reachableCodeUnits.size();
+    }
+}
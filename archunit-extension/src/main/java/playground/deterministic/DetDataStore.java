@@ -18,8 +18,20 @@ public class DetDataStore {
             "javax.management.", "org.w3c.", "java.util.concurrent.", "java.util.logging.", "java.lang.invoke.", "java.util.stream", "java.lang.Runnable");
     private final Set<String> DEF_DDET_API = Set.of();
     private final Set<String> DEF_SDET_API = Set.of();
+    private final Map<String, DeterministicClassification> KNOWN_CLASSIFICATIONS = new HashMap<>();
+
+    /**
+     * Registers final classifications for single code units identified by their full name, e.g. taken from the method
+     * summaries of a library.
+     *
+     * @param classifications classification per full name of a code unit
+     */
+    public void addKnownClassifications(Map<String, DeterministicClassification> classifications) {
+        KNOWN_CLASSIFICATIONS.putAll(classifications);
+    }
 
     public boolean isKnownSDET(JavaCodeUnit codeUnit) {
+        applyKnownClassification(codeUnit);
         DeterministicClassification cl = classification.putIfAbsent(codeUnit, DeterministicClassification.UNCHECKED);
         if (DeterministicClassification.UNCHECKED.equals(cl)) {
             if (DEF_SDET_API.stream().anyMatch(a -> codeUnit.getFullName().startsWith(a))) {
@@ -36,6 +48,7 @@ public class DetDataStore {
 
 
     private boolean isKnownDDET(JavaCodeUnit codeUnit) {
+        applyKnownClassification(codeUnit);
         DeterministicClassification cl = classification.putIfAbsent(codeUnit, DeterministicClassification.UNCHECKED);
         if (DeterministicClassification.UNCHECKED.equals(cl)) {
             if (DEF_DDET_API.stream().anyMatch(a -> codeUnit.getFullName().startsWith(a))) {
@@ -59,6 +72,7 @@ public class DetDataStore {
     }
 
     public boolean isKnownNotDET(JavaCodeUnit codeUnit) {
+        applyKnownClassification(codeUnit);
         DeterministicClassification cl = classification.putIfAbsent(codeUnit, DeterministicClassification.UNCHECKED);
         if (DeterministicClassification.UNCHECKED.equals(cl)) {
             if (NOT_DET_API.stream().anyMatch(a -> codeUnit.getFullName().startsWith(a))) {
@@ -74,6 +88,7 @@ public class DetDataStore {
     }
 
     public boolean isUnsure(JavaCodeUnit javaCodeUnit) {
+        applyKnownClassification(javaCodeUnit);
         DeterministicClassification cl = classification.putIfAbsent(javaCodeUnit, DeterministicClassification.UNCHECKED);
         return DeterministicClassification.UNSURE.equals(cl) || DeterministicClassification.UNCHECKED.equals(cl);
     }
@@ -82,6 +97,15 @@ public class DetDataStore {
         return methods.isEmpty() || methods.stream().anyMatch(this::isUnsure);
     }
 
+    private void applyKnownClassification(JavaCodeUnit codeUnit) {
+        if (!KNOWN_CLASSIFICATIONS.isEmpty() && !classification.containsKey(codeUnit)) {
+            DeterministicClassification known = KNOWN_CLASSIFICATIONS.get(codeUnit.getFullName());
+            if (known != null) {
+                classification.put(codeUnit, known);
+            }
+        }
+    }
+
     boolean alreadyClassified(JavaCodeUnit JavaCodeUnit) {
         return (isKnownSDET(JavaCodeUnit) || isKnownDDET(JavaCodeUnit) || isKnownNotDET(JavaCodeUnit));
     }
@@ -148,6 +172,32 @@ public class DetDataStore {
                 .collect(Collectors.joining("\n"));
     }
 
+    /**
+     * Calculate the default classification of a code unit given by its full name, so that analyses working without the
+     * ArchUnit domain model share the configured classifications.
+     *
+     * @param fullName full name of the code unit, e.g. <code>java.time.LocalTime.now()</code>
+     * @return the configured classification or {@link DeterministicClassification#UNCHECKED} if there is none
+     */
+    public DeterministicClassification getPreconfiguredClassification(String fullName) {
+        DeterministicClassification known = KNOWN_CLASSIFICATIONS.get(fullName);
+        if (known != null) {
+            return known;
+        } else if (DEF_SDET_API.stream().anyMatch(fullName::startsWith)) {
+            return DeterministicClassification.SDET;
+        } else if (DEF_DDET_API.stream().anyMatch(fullName::startsWith)) {
+            return DeterministicClassification.DDET;
+        } else if (NOT_DET_API.stream().anyMatch(fullName::startsWith)) {
+            return DeterministicClassification.NOT_DET;
+        } else {
+            return DeterministicClassification.UNCHECKED;
+        }
+    }
+
+    public DeterministicClassification getDeterministicClassificationFor(JavaCodeUnit codeUnit) {
+        return classification.getOrDefault(codeUnit, DeterministicClassification.UNCHECKED);
+    }
+
     public String getClassificationFor(JavaCodeUnit codeUnit) {
         return classification.getOrDefault(codeUnit, DeterministicClassification.UNCHECKED).toString();
     }
@@ -7,6 +7,8 @@ import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.SimpleConditionEvent;
+import playground.callgraph.CallTargetResolver;
+import playground.callgraph.RapidTypeAnalysis;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -18,6 +20,8 @@ public class DeterministicArchCondition extends ArchCondition<JavaClass> {
     private final DetDataStore dataStore;
     private final HashMap<String, JavaCodeUnit> ANALYSE_HELPER;
     private final Set<JavaCodeUnit> INTERFACES = new HashSet<>();
+    private boolean useRapidTypeAnalysis;
+    private CallTargetResolver callTargets = CallTargetResolver.declaredTargets();
 
     public DeterministicArchCondition(HashMap<String, JavaCodeUnit> analyseHelper, Object... args) {
         super("side effect free", args);
@@ -25,6 +29,23 @@ public class DeterministicArchCondition extends ArchCondition<JavaClass> {
         dataStore = new DetDataStore();
     }
 
+    /**
+     * Limits virtual calls and implementations of abstract methods to classes instantiated in the analyzed scope, see
+     * {@link RapidTypeAnalysis}. This assumes a closed world: implementations of objects passed in from outside the
+     * analyzed scope are not considered, unless they are instantiated within the scope as well.
+     */
+    public DeterministicArchCondition withRapidTypeAnalysis() {
+        this.useRapidTypeAnalysis = true;
+        return this;
+    }
+
+    @Override
+    public void init(Iterable<JavaClass> allObjectsToTest) {
+        if (useRapidTypeAnalysis) {
+            callTargets = RapidTypeAnalysis.of(allObjectsToTest);
+        }
+    }
+
     /**
      * Because the checkoperation in ArchUnit is operation on every single element of the AST, we collect
      * the operations here and do the main processing in the @finish operation. Due to
@@ -71,10 +92,10 @@ public class DeterministicArchCondition extends ArchCondition<JavaClass> {
         }
 
         for (JavaMethodCall call : callsToCheck) {
-            if (dataStore.isUnsure(call.getTarget().resolve())) {
+            if (dataStore.isUnsure(callTargets.resolve(call))) {
                 return false;
             }
-            if (dataStore.isKnownNotDET(call.getTarget().resolve())) {
+            if (dataStore.isKnownNotDET(callTargets.resolve(call))) {
                 dataStore.classifyNotDET(codeUnit);
                 return true;
             }
@@ -119,7 +140,7 @@ public class DeterministicArchCondition extends ArchCondition<JavaClass> {
 
     private void logUnsure(ConditionEvents conditionEvents, JavaClass owner, JavaCodeUnit meth) {
         if (owner.getFullName().startsWith("app.")) {
-            Set<JavaMethodCall> unsure = meth.getMethodCallsFromSelf().stream().filter(c -> !dataStore.isKnownNotDET(c.getTarget().resolve()) && !dataStore.isKnownDDET(c.getTarget().resolve())).collect(Collectors.toSet());
+            Set<JavaMethodCall> unsure = meth.getMethodCallsFromSelf().stream().filter(c -> !dataStore.isKnownNotDET(callTargets.resolve(c)) && !dataStore.isKnownDDET(callTargets.resolve(c))).collect(Collectors.toSet());
             conditionEvents.add(SimpleConditionEvent.violated(owner, "unsure about " + meth.getFullName() + " because of " + unsure));
         }
     }
@@ -127,13 +148,13 @@ public class DeterministicArchCondition extends ArchCondition<JavaClass> {
     private boolean checkInterfaces() {
         Set<JavaCodeUnit> toRemove = new HashSet<>();
         for (JavaCodeUnit anInterface : INTERFACES) {
-            if (anInterface.getOwner().getAllSubclasses().stream().allMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).allMatch(dataStore::isKnownSDET))) {
+            if (callTargets.subclassesOf(anInterface.getOwner()).stream().allMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).allMatch(dataStore::isKnownSDET))) {
                 dataStore.classifySDET(anInterface);
                 toRemove.add(anInterface);
-            } else if (anInterface.getOwner().getAllSubclasses().stream().allMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).allMatch(dataStore::isKnownAtLeastDDET))) {
+            } else if (callTargets.subclassesOf(anInterface.getOwner()).stream().allMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).allMatch(dataStore::isKnownAtLeastDDET))) {
                 dataStore.classifyDDET(anInterface);
                 toRemove.add(anInterface);
-            } else if (anInterface.getOwner().getAllSubclasses().stream().anyMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).anyMatch(dataStore::isKnownNotDET))) {
+            } else if (callTargets.subclassesOf(anInterface.getOwner()).stream().anyMatch(cl -> cl.getAllMethods().stream().filter(f -> f.getName().equals(anInterface.getName()) && anInterface.getRawParameterTypes().equals(f.getRawParameterTypes())).anyMatch(dataStore::isKnownNotDET))) {
                 dataStore.isKnownNotDET(anInterface);
                 toRemove.add(anInterface);
 
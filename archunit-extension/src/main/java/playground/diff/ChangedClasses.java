@@ -0,0 +1,80 @@
+package playground.diff;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Determines the names of the classes touched by a change, as input of a {@link DifferentialCheck}.
+ */
+public final class ChangedClasses {
+
+    private static final Pattern SOURCE_FILE = Pattern.compile("(?:^|/)src/[^/]+/(?:java|kotlin|groovy)/(.+)\\.(?:java|kt|groovy)$");
+    private static final Pattern CLASS_FILE = Pattern.compile("(.+?)(?:\\$[^/]*)?\\.class$");
+
+    private ChangedClasses() {
+    }
+
+    /**
+     * Asks git for the source files that differ between the given revision and the working tree, including
+     * uncommitted changes.
+     *
+     * @param repository a directory within the git repository
+     * @param revision   the revision to compare with, e.g. <code>origin/main</code>
+     * @return the names of the top level classes of the changed source files
+     */
+    public static Set<String> sinceRevision(Path repository, String revision) {
+        List<String> command = List.of("git", "diff", "--name-only", revision, "--");
+        try {
+            Process git = new ProcessBuilder(command).directory(repository.toFile()).redirectErrorStream(true).start();
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            int exitCode = git.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " failed with exit code " + exitCode + ": " + output.trim());
+            }
+            return fromSourceFiles(output.lines().collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not run " + String.join(" ", command), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running " + String.join(" ", command), e);
+        }
+    }
+
+    /**
+     * @param sourceFiles paths like <code>core/src/main/java/app/Agenda.java</code>, other files are ignored
+     */
+    public static Set<String> fromSourceFiles(Collection<String> sourceFiles) {
+        Set<String> classNames = new LinkedHashSet<>();
+        for (String sourceFile : sourceFiles) {
+            Matcher matcher = SOURCE_FILE.matcher(sourceFile.replace('\\', '/'));
+            if (matcher.find()) {
+                classNames.add(matcher.group(1).replace('/', '.'));
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * @param classesRoot the output directory the class files were compiled to
+     * @param classFiles  the changed class files, nested classes are attributed to their top level class
+     */
+    public static Set<String> fromClassFiles(Path classesRoot, Collection<Path> classFiles) {
+        Set<String> classNames = new LinkedHashSet<>();
+        for (Path classFile : classFiles) {
+            Matcher matcher = CLASS_FILE.matcher(classesRoot.relativize(classFile).toString().replace('\\', '/'));
+            if (matcher.matches()) {
+                classNames.add(matcher.group(1).replace('/', '.'));
+            }
+        }
+        return classNames;
+    }
+}
@@ -0,0 +1,184 @@
+package playground.diff;
+
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.lang.ConditionEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.callgraph.LambdaLinks;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummary;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Checks a change against a baseline of verdicts, e.g. the method summaries exported on the main branch. Only the
+ * reverse call cone of the changed classes is solved again: the code units of the changed classes, everything calling
+ * them or creating lambdas implemented by them, and the methods they override, as their verdicts depend on their
+ * implementations. The cone is solved by the {@link PurenessArchCondition} the baseline was solved with, while all other
+ * code units of the core keep their baseline verdict, so the costs depend on the size of the change instead of the size
+ * of the core.
+ */
+public final class DifferentialCheck {
+
+    private final Logger log = LoggerFactory.getLogger(DifferentialCheck.class);
+
+    private final JavaClasses classes;
+    private final Supplier<PurenessArchCondition> conditions;
+    private final MethodSummaries baseline;
+    private final Predicate<JavaClass> core;
+    private Map<JavaCodeUnit, PurenessClassification> solvedVerdicts = Map.of();
+
+    /**
+     * @param classes    the classes after the change
+     * @param conditions creates the condition the baseline was solved with, including its catalog and options, see
+     *                   {@link PurenessArchCondition}
+     * @param baseline   the verdicts before the change
+     * @param core       selects the classes of the core, whose verdicts are compared
+     */
+    public DifferentialCheck(JavaClasses classes, Supplier<PurenessArchCondition> conditions, MethodSummaries baseline,
+        Predicate<JavaClass> core) {
+        this.classes = classes;
+        this.conditions = conditions;
+        this.baseline = baseline;
+        this.core = core;
+    }
+
+    /**
+     * @param changedClassNames the names of the added or changed top level classes, see {@link ChangedClasses}
+     * @return the verdicts of the core that differ from the baseline
+     */
+    public List<VerdictChange> check(Collection<String> changedClassNames) {
+        long start = System.nanoTime();
+        Set<JavaCodeUnit> cone = reverseConeOf(changedClassNames);
+        PureDataStore verdicts = solve(cone);
+
+        solvedVerdicts = new LinkedHashMap<>();
+        List<VerdictChange> changes = new ArrayList<>();
+        for (JavaCodeUnit codeUnit : cone) {
+            if (!core.test(codeUnit.getOwner())) {
+                continue;
+            }
+            PurenessClassification before = baseline.get(codeUnit.getFullName())
+                .map(MethodSummary::getPureness)
+                .orElse(PurenessClassification.UNCHECKED);
+            PurenessClassification after = verdicts.getClassificationFor(codeUnit);
+            solvedVerdicts.put(codeUnit, after);
+            // the summaries don't keep temporary verdicts, so an unsure code unit is missing in the baseline
+            if (after != before && !(before.isTemporaryClassification() && after.isTemporaryClassification())) {
+                changes.add(new VerdictChange(codeUnit.getOwner().getName(), codeUnit.getFullName(), before, after));
+            }
+        }
+        log.info("solved a cone of " + cone.size() + " code units for " + changedClassNames.size() + " changed classes in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms, " + changes.size() + " verdicts moved");
+        return changes;
+    }
+
+    /**
+     * @return the code units of the core in the cone of the last {@link #check(Collection)} with their new verdicts,
+     * e.g. to check further rules on the changed code units only
+     */
+    public Map<JavaCodeUnit, PurenessClassification> getSolvedVerdicts() {
+        return Collections.unmodifiableMap(solvedVerdicts);
+    }
+
+    /**
+     * Solves the classes of the core owning a code unit of the cone like the full check does, so lambda links and
+     * implementations are resolved within the whole core. The code units outside of the cone are pinned to their
+     * baseline verdicts, so they are neither analyzed again nor do their callees have to be explored.
+     */
+    private PureDataStore solve(Set<JavaCodeUnit> cone) {
+        Set<String> coneNames = new HashSet<>();
+        Set<JavaClass> coneClasses = new LinkedHashSet<>();
+        for (JavaCodeUnit codeUnit : cone) {
+            coneNames.add(codeUnit.getFullName());
+            if (core.test(codeUnit.getOwner())) {
+                coneClasses.add(codeUnit.getOwner());
+            }
+        }
+        Map<String, PurenessClassification> unaffected = new HashMap<>();
+        baseline.getAll().stream()
+            .filter(summary -> !coneNames.contains(summary.getFullName()))
+            .forEach(summary -> unaffected.put(summary.getFullName(), summary.getPureness()));
+
+        PurenessArchCondition condition = conditions.get();
+        condition.getDataStore().addKnownClassifications(unaffected);
+        if (coneClasses.isEmpty()) {
+            return condition.getDataStore();
+        }
+        List<JavaClass> coreClasses = new ArrayList<>();
+        classes.forEach(javaClass -> {
+            if (core.test(javaClass)) {
+                coreClasses.add(javaClass);
+            }
+        });
+        ConditionEvents events = new ConditionEvents();
+        condition.init(coreClasses);
+        coneClasses.forEach(javaClass -> condition.check(javaClass, events));
+        condition.finish(events);
+        return condition.getDataStore();
+    }
+
+    private Set<JavaCodeUnit> reverseConeOf(Collection<String> changedClassNames) {
+        LambdaLinks lambdaLinks = new LambdaLinks();
+        Map<String, JavaCodeUnit> codeUnitsByName = new HashMap<>();
+        Deque<JavaCodeUnit> toVisit = new ArrayDeque<>();
+        for (JavaClass javaClass : classes) {
+            if (core.test(javaClass)) {
+                lambdaLinks.read(javaClass);
+                javaClass.getCodeUnits().forEach(codeUnit -> codeUnitsByName.put(codeUnit.getFullName(), codeUnit));
+            }
+            if (isChanged(javaClass, changedClassNames)) {
+                toVisit.addAll(javaClass.getCodeUnits());
+            }
+        }
+
+        Set<JavaCodeUnit> cone = new LinkedHashSet<>();
+        while (!toVisit.isEmpty()) {
+            JavaCodeUnit codeUnit = toVisit.pop();
+            if (!cone.add(codeUnit)) {
+                continue;
+            }
+            for (JavaAccess<?> access : codeUnit.getAccessesToSelf()) {
+                toVisit.push(access.getOrigin());
+            }
+            for (String creator : lambdaLinks.creatorsOf(codeUnit.getFullName())) {
+                JavaCodeUnit creatingCodeUnit = codeUnitsByName.get(creator);
+                if (creatingCodeUnit != null) {
+                    toVisit.push(creatingCodeUnit);
+                }
+            }
+            for (JavaClass supertype : codeUnit.getOwner().getAllClassesSelfIsAssignableTo()) {
+                supertype.getMethods().stream()
+                    .filter(method -> method.getName().equals(codeUnit.getName())
+                        && method.getRawParameterTypes().equals(codeUnit.getRawParameterTypes()))
+                    .forEach(toVisit::push);
+            }
+        }
+        return cone;
+    }
+
+    private static boolean isChanged(JavaClass javaClass, Collection<String> changedClassNames) {
+        String name = javaClass.getName();
+        int nested = name.indexOf('$');
+        return changedClassNames.contains(nested < 0 ? name : name.substring(0, nested));
+    }
+}
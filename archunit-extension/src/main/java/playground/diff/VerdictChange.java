@@ -0,0 +1,57 @@
+package playground.diff;
+
+import playground.pureness.PurenessClassification;
+
+/**
+ * A verdict of the core that moved compared to the baseline. Code units without a baseline verdict were added by the
+ * change and start as {@link PurenessClassification#UNCHECKED}.
+ */
+public final class VerdictChange {
+
+    private final String ownerName;
+    private final String codeUnitName;
+    private final PurenessClassification before;
+    private final PurenessClassification after;
+
+    VerdictChange(String ownerName, String codeUnitName, PurenessClassification before, PurenessClassification after) {
+        this.ownerName = ownerName;
+        this.codeUnitName = codeUnitName;
+        this.before = before;
+        this.after = after;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getCodeUnitName() {
+        return codeUnitName;
+    }
+
+    public PurenessClassification getBefore() {
+        return before;
+    }
+
+    public PurenessClassification getAfter() {
+        return after;
+    }
+
+    /**
+     * @return whether the change introduces a side effect, e.g. SSEF -> NOT_SEF, SSEF -> DSEF or a new NOT_SEF code unit.
+     * A verdict that turned unsure only counts if it was final before.
+     */
+    public boolean isDegradation() {
+        if (after == PurenessClassification.NOT_SEF) {
+            return true;
+        }
+        if (before.isTemporaryClassification()) {
+            return false;
+        }
+        return after.isTemporaryClassification() || !after.isAtLeast(before);
+    }
+
+    @Override
+    public String toString() {
+        return codeUnitName + " moved from " + before + " to " + after;
+    }
+}
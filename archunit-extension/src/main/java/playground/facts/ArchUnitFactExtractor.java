@@ -0,0 +1,120 @@
+package playground.facts;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import playground.callgraph.LambdaLinks;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts the {@link CodeUnitFacts} of imported classes, so the ArchUnit domain model can be released afterwards. The
+ * lambdas created by a code unit are added as calls to their implementation methods, see {@link LambdaLinks}.
+ */
+public final class ArchUnitFactExtractor {
+
+    private final FactGraph graph;
+    private final LambdaLinks lambdaLinks = new LambdaLinks();
+
+    public ArchUnitFactExtractor(FactGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * @param classes all imported classes, used to record the class hierarchy
+     * @param toExtract selects the classes whose code units are extracted
+     */
+    public void extract(Iterable<JavaClass> classes, Predicate<JavaClass> toExtract) {
+        for (JavaClass javaClass : classes) {
+            javaClass.getAllSubclasses().forEach(subclass -> graph.addSupertype(subclass.getName(), javaClass.getName()));
+            if (toExtract.test(javaClass) && !graph.containsType(javaClass.getName())) {
+                graph.addExtractedType(javaClass.getName());
+                lambdaLinks.read(javaClass);
+                javaClass.getCodeUnits().forEach(this::extract);
+            }
+        }
+    }
+
+    /**
+     * Records the supertypes of a single class, e.g. after {@link FactGraph#removeType(String)} dropped them because the
+     * class changed.
+     */
+    public void extractSupertypes(JavaClass javaClass) {
+        javaClass.getAllClassesSelfIsAssignableTo().stream()
+            .filter(supertype -> !supertype.equals(javaClass))
+            .forEach(supertype -> graph.addSupertype(javaClass.getName(), supertype.getName()));
+    }
+
+    public CodeUnitFacts extract(JavaCodeUnit codeUnit) {
+        Set<JavaMethodCall> calls = codeUnit.getMethodCallsFromSelf();
+        Set<String> internalInstantiations = codeUnit.getConstructorCallsFromSelf().stream()
+            .map(constructorCall -> constructorCall.getTarget().getOwner().getName())
+            .collect(Collectors.toSet());
+
+        Set<String> lambdaImplementations = lambdaLinks.implementationsOf(codeUnit.getFullName());
+        int callCount = calls.size() + lambdaImplementations.size();
+        int[] declaredTargets = new int[callCount];
+        int[][] resolvedTargets = new int[callCount][];
+        boolean[] visibleToOuterScope = new boolean[callCount];
+        int index = 0;
+        for (JavaMethodCall call : calls) {
+            declaredTargets[index] = graph.idOf(call.getTarget().getFullName());
+            int[] resolved = call.getTarget().resolve().stream()
+                .map(JavaMethod::getFullName)
+                .mapToInt(graph::idOf)
+                .toArray();
+            // Targets in classes that are not imported together with the caller, e.g. streamed libraries, are resolved by the graph
+            resolvedTargets[index] = resolved.length == 0 ? null : resolved;
+            visibleToOuterScope[index] = !internalInstantiations.contains(call.getTarget().getOwner().getName());
+            index++;
+        }
+        for (String implementation : lambdaImplementations) {
+            declaredTargets[index] = graph.idOf(implementation);
+            resolvedTargets[index] = new int[]{declaredTargets[index]};
+            visibleToOuterScope[index] = true;
+            index++;
+        }
+
+        CodeUnitFacts facts = new CodeUnitFacts(graph.idOf(codeUnit.getFullName()), graph.idOf(codeUnit.getOwner().getName()),
+            flagsOf(codeUnit), declaredTargets, resolvedTargets, visibleToOuterScope);
+        graph.add(facts);
+        return facts;
+    }
+
+    private int flagsOf(JavaCodeUnit codeUnit) {
+        int flags = 0;
+        if (codeUnit.isConstructor()) {
+            flags |= CodeUnitFacts.CONSTRUCTOR;
+        }
+        if (codeUnit.getRawReturnType().getFullName().equals("void")) {
+            flags |= CodeUnitFacts.VOID;
+        }
+        if (codeUnit.getModifiers().contains(JavaModifier.NATIVE)) {
+            flags |= CodeUnitFacts.NATIVE;
+        }
+        if (codeUnit.getOwner().isInterface() || codeUnit.getModifiers().contains(JavaModifier.ABSTRACT)) {
+            flags |= CodeUnitFacts.ABSTRACT;
+        }
+        if (!codeUnit.getFieldAccesses().isEmpty()) {
+            flags |= CodeUnitFacts.ACCESSES_FIELDS;
+        }
+        Set<JavaField> modifiedFields = codeUnit.getFieldAccesses().stream()
+            .filter(fa -> fa.getAccessType().equals(JavaFieldAccess.AccessType.SET))
+            .map(m -> m.getTarget().resolveField().orElse(null)).filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (!modifiedFields.isEmpty()) {
+            flags |= CodeUnitFacts.WRITES_FIELDS;
+            if (modifiedFields.stream().allMatch(field -> field.getAccessesToSelf().stream().allMatch(access -> access.getOrigin().equals(codeUnit)))) {
+                flags |= CodeUnitFacts.WRITES_ONLY_INTERNAL_FIELDS;
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,229 @@
+package playground.facts;
+
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassReader;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.FieldVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Handle;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.MethodVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Opcodes;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.callgraph.LambdaLinks;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts {@link CodeUnitFacts} directly from the bytecode of the runtime image (<code>jrt:/</code>) and the class path,
+ * without building the ArchUnit domain model. It only reads modifiers, method calls, constructor calls and field
+ * accesses, which makes it suitable for library and JDK classes. Calls are resolved by means of the class hierarchy of
+ * the {@link FactGraph} later on. Lambda call sites are recorded as calls to their implementation methods, see
+ * {@link LambdaLinks}.
+ */
+public final class AsmFactExtractor {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    /**
+     * Pseudo owner of the calls to lambda implementations, which are always visible to the outer scope
+     */
+    private static final String LAMBDA_CALL_SITE = "";
+
+    private final Logger log = LoggerFactory.getLogger(AsmFactExtractor.class);
+
+    private final FactGraph graph;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    public AsmFactExtractor(FactGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Field accesses are only known once all classes are read, so the facts are completed after reading all packages.
+     *
+     * @param packageFilter selects the packages to extract by name
+     */
+    public void extract(Predicate<String> packageFilter) {
+        Extraction extraction = new Extraction();
+        PackageDiscovery.visitClassFiles(packageFilter, (packageName, size, content) -> {
+            ByteBuffer classFile = content.read(buffer);
+            buffer = classFile.array();
+            new ClassReader(buffer, 0, classFile.limit()).accept(extraction, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        });
+        extraction.addFactsTo(graph);
+        log.info("Extracted " + extraction.codeUnits.size() + " code units from bytecode into " + graph);
+    }
+
+    static String classNameOf(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * Uses the same notation as {@link com.tngtech.archunit.core.domain.JavaCodeUnit#getFullName()}, e.g.
+     * <code>java.lang.String.format(java.lang.String, [Ljava.lang.Object;)</code>
+     */
+    public static String codeUnitNameOf(String ownerInternalName, String name, String descriptor) {
+        return classNameOf(ownerInternalName) + "." + name + "(" + Arrays.stream(Type.getArgumentTypes(descriptor))
+            .map(AsmFactExtractor::typeNameOf)
+            .collect(Collectors.joining(", ")) + ")";
+    }
+
+    private static String typeNameOf(Type type) {
+        return type.getSort() == Type.ARRAY ? type.getDescriptor().replace('/', '.') : type.getClassName();
+    }
+
+    private final class Extraction extends ClassVisitor {
+
+        private final List<RawCodeUnit> codeUnits = new ArrayList<>();
+        private final Set<String> declaredFields = new HashSet<>();
+        private final Map<String, Set<Integer>> fieldAccessors = new HashMap<>();
+
+        private String currentInternalName;
+        private String currentClass;
+        private boolean currentClassIsInterface;
+        private boolean skipCurrentClass;
+
+        Extraction() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            currentInternalName = name;
+            currentClass = classNameOf(name);
+            currentClassIsInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+            skipCurrentClass = graph.containsType(currentClass);
+            if (superName != null) {
+                graph.addSupertype(currentClass, classNameOf(superName));
+            }
+            if (interfaces != null) {
+                Arrays.stream(interfaces).forEach(anInterface -> graph.addSupertype(currentClass, classNameOf(anInterface)));
+            }
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            if (!skipCurrentClass) {
+                declaredFields.add(currentClass + "." + name);
+            }
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if (skipCurrentClass) {
+                return null;
+            }
+            RawCodeUnit codeUnit = new RawCodeUnit(graph.idOf(codeUnitNameOf(currentInternalName, name, descriptor)),
+                graph.idOf(currentClass), flagsOf(access, name, descriptor));
+            codeUnits.add(codeUnit);
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String calledName, String calledDescriptor, boolean isInterface) {
+                    if (CONSTRUCTOR_NAME.equals(calledName)) {
+                        codeUnit.instantiations.add(classNameOf(owner));
+                    } else {
+                        codeUnit.calledOwners.add(classNameOf(owner));
+                        codeUnit.declaredTargets.add(graph.idOf(codeUnitNameOf(owner, calledName, calledDescriptor)));
+                    }
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String indyName, String indyDescriptor, Handle bootstrapMethod, Object... bootstrapArguments) {
+                    Handle implementation = LambdaLinks.implementationOf(bootstrapMethod, bootstrapArguments);
+                    if (implementation != null) {
+                        codeUnit.calledOwners.add(LAMBDA_CALL_SITE);
+                        codeUnit.declaredTargets.add(graph.idOf(codeUnitNameOf(implementation.getOwner(), implementation.getName(), implementation.getDesc())));
+                    }
+                }
+
+                @Override
+                public void visitFieldInsn(int opcode, String owner, String fieldName, String fieldDescriptor) {
+                    String field = classNameOf(owner) + "." + fieldName;
+                    fieldAccessors.computeIfAbsent(field, f -> new HashSet<>()).add(codeUnit.id);
+                    codeUnit.accessesFields = true;
+                    if (opcode == Opcodes.PUTFIELD || opcode == Opcodes.PUTSTATIC) {
+                        codeUnit.modifiedFields.add(field);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void visitEnd() {
+            if (!skipCurrentClass) {
+                graph.addExtractedType(currentClass);
+            }
+        }
+
+        private int flagsOf(int access, String name, String descriptor) {
+            int flags = 0;
+            if (CONSTRUCTOR_NAME.equals(name)) {
+                flags |= CodeUnitFacts.CONSTRUCTOR;
+            }
+            // Like for ArchUnit, constructors and static initializers have the return type void as well
+            if (Type.getReturnType(descriptor).getSort() == Type.VOID) {
+                flags |= CodeUnitFacts.VOID;
+            }
+            if ((access & Opcodes.ACC_NATIVE) != 0) {
+                flags |= CodeUnitFacts.NATIVE;
+            }
+            if (currentClassIsInterface || (access & Opcodes.ACC_ABSTRACT) != 0) {
+                flags |= CodeUnitFacts.ABSTRACT;
+            }
+            return flags;
+        }
+
+        void addFactsTo(FactGraph graph) {
+            for (RawCodeUnit codeUnit : codeUnits) {
+                graph.add(codeUnit.toFacts(declaredFields, fieldAccessors));
+            }
+        }
+    }
+
+    private static final class RawCodeUnit {
+        private final int id;
+        private final int ownerId;
+        private final int flags;
+        private final List<Integer> declaredTargets = new ArrayList<>();
+        private final List<String> calledOwners = new ArrayList<>();
+        private final Set<String> instantiations = new HashSet<>();
+        private final Set<String> modifiedFields = new HashSet<>();
+        private boolean accessesFields;
+
+        RawCodeUnit(int id, int ownerId, int flags) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.flags = flags;
+        }
+
+        /**
+         * Like the ArchUnit based analysis, writes to fields that are not declared in any extracted class are ignored
+         */
+        CodeUnitFacts toFacts(Set<String> declaredFields, Map<String, Set<Integer>> fieldAccessors) {
+            int allFlags = accessesFields ? flags | CodeUnitFacts.ACCESSES_FIELDS : flags;
+            Set<String> knownModifiedFields = modifiedFields.stream().filter(declaredFields::contains).collect(Collectors.toSet());
+            if (!knownModifiedFields.isEmpty()) {
+                allFlags |= CodeUnitFacts.WRITES_FIELDS;
+                if (knownModifiedFields.stream().allMatch(field -> fieldAccessors.get(field).equals(Set.of(id)))) {
+                    allFlags |= CodeUnitFacts.WRITES_ONLY_INTERNAL_FIELDS;
+                }
+            }
+            int[] targets = declaredTargets.stream().mapToInt(Integer::intValue).toArray();
+            boolean[] visibleToOuterScope = new boolean[targets.length];
+            for (int call = 0; call < targets.length; call++) {
+                visibleToOuterScope[call] = !instantiations.contains(calledOwners.get(call));
+            }
+            return new CodeUnitFacts(id, ownerId, allFlags, targets, null, visibleToOuterScope);
+        }
+    }
+}
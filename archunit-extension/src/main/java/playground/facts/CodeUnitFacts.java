@@ -0,0 +1,95 @@
+package playground.facts;
+
+/**
+ * The minimal facts about a code unit the pureness rules are based on. Names are stored as ids of the
+ * {@link FactGraph} the facts belong to, so the facts stay small and independent of the ArchUnit domain model.
+ */
+public final class CodeUnitFacts {
+
+    static final int CONSTRUCTOR = 1;
+    static final int VOID = 1 << 1;
+    static final int NATIVE = 1 << 2;
+    static final int ABSTRACT = 1 << 3;
+    static final int WRITES_FIELDS = 1 << 4;
+    static final int WRITES_ONLY_INTERNAL_FIELDS = 1 << 5;
+    static final int ACCESSES_FIELDS = 1 << 6;
+
+    private final int id;
+    private final int ownerId;
+    private final int flags;
+    private final int[] declaredTargets;
+    private final int[][] resolvedTargets;
+    private final boolean[] visibleToOuterScope;
+
+    /**
+     * @param id                  id of the full name of the code unit
+     * @param ownerId             id of the name of the owning class
+     * @param flags               combination of the flag constants
+     * @param declaredTargets     per method call the id of the full name of the called method as declared in the bytecode
+     * @param resolvedTargets     per method call the ids of the methods the call resolves to, <code>null</code> for all
+     *                            or single calls that have to be resolved by means of the class hierarchy of the
+     *                            {@link FactGraph}
+     * @param visibleToOuterScope per method call whether the owner of the called method is not instantiated by the
+     *                            code unit itself
+     */
+    CodeUnitFacts(int id, int ownerId, int flags, int[] declaredTargets, int[][] resolvedTargets, boolean[] visibleToOuterScope) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.flags = flags;
+        this.declaredTargets = declaredTargets;
+        this.resolvedTargets = resolvedTargets;
+        this.visibleToOuterScope = visibleToOuterScope;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    public boolean isConstructor() {
+        return (flags & CONSTRUCTOR) != 0;
+    }
+
+    public boolean isVoid() {
+        return (flags & VOID) != 0;
+    }
+
+    public boolean isNative() {
+        return (flags & NATIVE) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (flags & ABSTRACT) != 0;
+    }
+
+    public boolean writesFields() {
+        return (flags & WRITES_FIELDS) != 0;
+    }
+
+    public boolean writesOnlyInternalFields() {
+        return (flags & WRITES_ONLY_INTERNAL_FIELDS) != 0;
+    }
+
+    public boolean accessesFields() {
+        return (flags & ACCESSES_FIELDS) != 0;
+    }
+
+    public int getCallCount() {
+        return declaredTargets.length;
+    }
+
+    public int getDeclaredTarget(int call) {
+        return declaredTargets[call];
+    }
+
+    int[] getResolvedTargets(int call) {
+        return resolvedTargets == null ? null : resolvedTargets[call];
+    }
+
+    public boolean isVisibleToOuterScope(int call) {
+        return visibleToOuterScope[call];
+    }
+}
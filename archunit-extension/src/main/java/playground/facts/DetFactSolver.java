@@ -0,0 +1,197 @@
+package playground.facts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.deterministic.DetDataStore;
+import playground.deterministic.DeterministicClassification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Applies the rules of {@link playground.deterministic.DeterministicArchCondition} to a {@link FactGraph}, so the
+ * determinism of the core can be decided in the streaming mode as well.
+ */
+public final class DetFactSolver {
+
+    private final Logger log = LoggerFactory.getLogger(DetFactSolver.class);
+
+    private final FactGraph graph;
+    private final DetDataStore catalog;
+    private final Predicate<String> reportedOwners;
+
+    private DeterministicClassification[] classification;
+    private final List<Integer> touched = new ArrayList<>();
+    private final List<FactViolation> violations = new ArrayList<>();
+
+    /**
+     * @param graph          the facts to classify
+     * @param catalog        provides the preconfigured classifications
+     * @param reportedOwners selects the classes whose unsure verdicts are reported
+     */
+    public DetFactSolver(FactGraph graph, DetDataStore catalog, Predicate<String> reportedOwners) {
+        this.graph = graph;
+        this.catalog = catalog;
+        this.reportedOwners = reportedOwners;
+        this.classification = new DeterministicClassification[graph.getSymbolCount()];
+    }
+
+    /**
+     * Classifies the given code units and everything they depend on.
+     *
+     * @param roots names of the code units to start with, usually all code units of the core
+     */
+    public void solve(Iterable<String> roots) {
+        for (String root : roots) {
+            int id = graph.find(root);
+            if (id >= 0 && graph.contains(id)) {
+                collectAndPreClassify(id);
+            }
+        }
+        boolean rerun = true;
+        while (rerun) {
+            List<Integer> unchecked = idsOfClassification(DeterministicClassification.UNCHECKED);
+            rerun = !unchecked.isEmpty();
+            for (Integer id : unchecked) {
+                collectAndPreClassify(id);
+            }
+            for (Integer id : idsOfClassification(DeterministicClassification.UNSURE)) {
+                rerun |= validateMethodCalls(id);
+            }
+            log.info(countCategories());
+        }
+        idsOfClassification(DeterministicClassification.UNSURE).forEach(this::logUnsure);
+    }
+
+    public DeterministicClassification getClassificationFor(String fullName) {
+        int id = graph.find(fullName);
+        if (id < 0 || id >= classification.length || classification[id] == null) {
+            return DeterministicClassification.UNCHECKED;
+        }
+        return classification[id];
+    }
+
+    public List<FactViolation> getViolations() {
+        return violations;
+    }
+
+    private void collectAndPreClassify(int id) {
+        if (getClassification(id) != DeterministicClassification.UNCHECKED) {
+            return;
+        }
+        CodeUnitFacts codeUnit = graph.get(id);
+        if (codeUnit == null) {
+            classify(id, DeterministicClassification.UNSURE);
+            return;
+        }
+        if (codeUnit.getCallCount() == 0 && !codeUnit.accessesFields()) {
+            classify(id, DeterministicClassification.SDET);
+        } else if (codeUnit.isVoid()) {
+            classify(id, DeterministicClassification.SDET);
+        } else if (codeUnit.isNative()) {
+            classify(id, DeterministicClassification.NOT_DET);
+        } else {
+            classify(id, DeterministicClassification.UNSURE);
+        }
+    }
+
+    /**
+     * Like the ArchUnit based analysis, a call without any known target keeps the code unit unsure.
+     */
+    private boolean validateMethodCalls(int id) {
+        CodeUnitFacts codeUnit = graph.get(id);
+        if (codeUnit == null) {
+            return false;
+        }
+        if (codeUnit.getCallCount() == 0) {
+            classify(id, DeterministicClassification.SDET);
+            return true;
+        }
+        for (int call = 0; call < codeUnit.getCallCount(); call++) {
+            int[] targets = graph.resolve(codeUnit, call);
+            if (targets.length == 0 || containsAny(targets, this::isUnsure)) {
+                return false;
+            }
+            if (containsAny(targets, target -> getClassification(target) == DeterministicClassification.NOT_DET)) {
+                classify(id, DeterministicClassification.NOT_DET);
+                return true;
+            }
+        }
+        classify(id, DeterministicClassification.SDET);
+        return true;
+    }
+
+    private void logUnsure(int id) {
+        CodeUnitFacts codeUnit = graph.get(id);
+        if (codeUnit == null || !reportedOwners.test(graph.nameOf(codeUnit.getOwnerId()))) {
+            return;
+        }
+        List<String> unsure = new ArrayList<>();
+        for (int call = 0; call < codeUnit.getCallCount(); call++) {
+            int[] targets = graph.resolve(codeUnit, call);
+            if (!containsAny(targets, target -> getClassification(target) == DeterministicClassification.NOT_DET
+                || getClassification(target) == DeterministicClassification.DDET)) {
+                unsure.add("target{" + graph.nameOf(codeUnit.getDeclaredTarget(call)) + "}");
+            }
+        }
+        String ownerName = graph.nameOf(codeUnit.getOwnerId());
+        violations.add(new FactViolation(ownerName, graph.nameOf(id), "unsure about " + graph.nameOf(id) + " because of " + unsure));
+    }
+
+    private boolean isUnsure(int id) {
+        DeterministicClassification cl = getClassification(id);
+        return cl == DeterministicClassification.UNSURE || cl == DeterministicClassification.UNCHECKED;
+    }
+
+    private static boolean containsAny(int[] targets, IntPredicate predicate) {
+        for (int target : targets) {
+            if (predicate.test(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DeterministicClassification getClassification(int id) {
+        ensureCapacity(id);
+        if (classification[id] == null) {
+            classification[id] = catalog.getPreconfiguredClassification(graph.nameOf(id));
+            touched.add(id);
+        }
+        return classification[id];
+    }
+
+    private void classify(int id, DeterministicClassification cl) {
+        getClassification(id);
+        classification[id] = cl;
+    }
+
+    private List<Integer> idsOfClassification(DeterministicClassification cl) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer id : touched) {
+            if (classification[id] == cl) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= classification.length) {
+            DeterministicClassification[] grown = new DeterministicClassification[Math.max(id + 1, graph.getSymbolCount())];
+            System.arraycopy(classification, 0, grown, 0, classification.length);
+            classification = grown;
+        }
+    }
+
+    private String countCategories() {
+        int[] counts = new int[DeterministicClassification.values().length];
+        touched.forEach(id -> counts[classification[id].ordinal()]++);
+        return String.format("Gesamt %d Anzahl SDET: %d  Anzahl DDET: %d  Anzahl unsure: %d  Anzahl NotDET: %d  Anzahl UNKOWN: %d",
+            touched.size(), counts[DeterministicClassification.SDET.ordinal()], counts[DeterministicClassification.DDET.ordinal()],
+            counts[DeterministicClassification.UNSURE.ordinal()], counts[DeterministicClassification.NOT_DET.ordinal()],
+            counts[DeterministicClassification.UNCHECKED.ordinal()]);
+    }
+}
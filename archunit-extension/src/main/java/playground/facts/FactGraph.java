@@ -0,0 +1,232 @@
+package playground.facts;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact call graph of all code units extracted so far. In contrast to {@link com.tngtech.archunit.core.domain.JavaClasses}
+ * it only holds what the pureness rules need, so it can outlive the imported domain model and grow package by package.
+ */
+public final class FactGraph {
+
+    private static final int[] NO_TARGETS = new int[0];
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<Integer, CodeUnitFacts> facts = new HashMap<>();
+    private final Map<Integer, Set<Integer>> supertypes = new HashMap<>();
+    private final Set<Integer> extractedTypes = new HashSet<>();
+
+    private final Map<Integer, int[]> resolvedCalls = new HashMap<>();
+    private Map<Integer, List<Integer>> subtypes;
+    private Map<String, List<Integer>> unitsBySignature;
+
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of the given name or -1 if the name is unknown to this graph
+     */
+    public int find(String name) {
+        return ids.getOrDefault(name, -1);
+    }
+
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    public int getSymbolCount() {
+        return names.size();
+    }
+
+    void add(CodeUnitFacts codeUnitFacts) {
+        facts.put(codeUnitFacts.getId(), codeUnitFacts);
+        invalidateIndexes();
+    }
+
+    void addExtractedType(String className) {
+        extractedTypes.add(idOf(className));
+    }
+
+    void addSupertype(String className, String supertypeName) {
+        supertypes.computeIfAbsent(idOf(className), id -> new HashSet<>()).add(idOf(supertypeName));
+        invalidateIndexes();
+    }
+
+    /**
+     * Drops the code units and the recorded supertypes of the given class, e.g. because it has been changed and needs to
+     * be extracted again.
+     */
+    public void removeType(String className) {
+        int typeId = find(className);
+        if (typeId < 0) {
+            return;
+        }
+        extractedTypes.remove(typeId);
+        supertypes.remove(typeId);
+        facts.values().removeIf(codeUnit -> codeUnit.getOwnerId() == typeId);
+        invalidateIndexes();
+    }
+
+    /**
+     * Drops the facts of a single code unit, e.g. because the classes its calls were resolved against have changed.
+     */
+    public void removeCodeUnit(String codeUnitName) {
+        int id = find(codeUnitName);
+        if (id >= 0 && facts.remove(id) != null) {
+            invalidateIndexes();
+        }
+    }
+
+    public boolean containsType(String className) {
+        int id = find(className);
+        return id >= 0 && extractedTypes.contains(id);
+    }
+
+    public CodeUnitFacts get(int id) {
+        return facts.get(id);
+    }
+
+    public boolean contains(int id) {
+        return facts.containsKey(id);
+    }
+
+    public Collection<CodeUnitFacts> getAll() {
+        return Collections.unmodifiableCollection(facts.values());
+    }
+
+    public int size() {
+        return facts.size();
+    }
+
+    /**
+     * Resolves a method call to the code units of this graph it may end up in. Calls without pre resolved targets are
+     * resolved by looking up the declared method in the called class and its supertypes.
+     */
+    public int[] resolve(CodeUnitFacts codeUnit, int call) {
+        int[] resolved = codeUnit.getResolvedTargets(call);
+        if (resolved != null) {
+            return retainKnown(resolved);
+        }
+        return resolvedCalls.computeIfAbsent(codeUnit.getDeclaredTarget(call), this::resolveByHierarchy);
+    }
+
+    /**
+     * @return the ids of all code units with the signature of the given abstract code unit declared in a subtype of its owner
+     */
+    public List<Integer> implementationsOf(CodeUnitFacts abstractCodeUnit) {
+        ensureIndexes();
+        List<Integer> candidates = unitsBySignature.getOrDefault(signatureOf(nameOf(abstractCodeUnit.getId())), List.of());
+        Set<Integer> subtypesOfOwner = new HashSet<>(subtypes.getOrDefault(abstractCodeUnit.getOwnerId(), List.of()));
+        List<Integer> implementations = new ArrayList<>();
+        for (Integer candidate : candidates) {
+            if (subtypesOfOwner.contains(facts.get(candidate).getOwnerId())) {
+                implementations.add(candidate);
+            }
+        }
+        return implementations;
+    }
+
+    private int[] retainKnown(int[] targets) {
+        int known = 0;
+        for (int target : targets) {
+            if (facts.containsKey(target)) {
+                known++;
+            }
+        }
+        if (known == targets.length) {
+            return targets;
+        }
+        int[] result = new int[known];
+        int index = 0;
+        for (int target : targets) {
+            if (facts.containsKey(target)) {
+                result[index++] = target;
+            }
+        }
+        return result;
+    }
+
+    private int[] resolveByHierarchy(int declaredTarget) {
+        if (facts.containsKey(declaredTarget)) {
+            return new int[]{declaredTarget};
+        }
+        String declaredName = nameOf(declaredTarget);
+        int ownerId = find(ownerOf(declaredName));
+        if (ownerId < 0) {
+            return NO_TARGETS;
+        }
+        String signature = signatureOf(declaredName);
+        int[] result = allSupertypesOf(ownerId).stream()
+            .mapToInt(supertype -> find(nameOf(supertype) + "." + signature))
+            .filter(facts::containsKey)
+            .toArray();
+        return result.length == 0 ? NO_TARGETS : result;
+    }
+
+    /**
+     * Supertypes may be recorded directly, e.g. by the {@link AsmFactExtractor}, or transitively, e.g. by the
+     * {@link ArchUnitFactExtractor}, so the closure is computed here.
+     */
+    private Set<Integer> allSupertypesOf(int type) {
+        Set<Integer> result = new HashSet<>();
+        Deque<Integer> toVisit = new ArrayDeque<>(supertypes.getOrDefault(type, Set.of()));
+        while (!toVisit.isEmpty()) {
+            Integer supertype = toVisit.pop();
+            if (result.add(supertype)) {
+                toVisit.addAll(supertypes.getOrDefault(supertype, Set.of()));
+            }
+        }
+        return result;
+    }
+
+    private void ensureIndexes() {
+        if (subtypes != null) {
+            return;
+        }
+        subtypes = new HashMap<>();
+        supertypes.keySet().forEach(type -> allSupertypesOf(type)
+            .forEach(supertype -> subtypes.computeIfAbsent(supertype, id -> new ArrayList<>()).add(type)));
+        unitsBySignature = new HashMap<>();
+        facts.keySet().forEach(id -> unitsBySignature.computeIfAbsent(signatureOf(nameOf(id)), s -> new ArrayList<>()).add(id));
+    }
+
+    private void invalidateIndexes() {
+        subtypes = null;
+        unitsBySignature = null;
+        resolvedCalls.clear();
+    }
+
+    public static String ownerOf(String codeUnitName) {
+        return codeUnitName.substring(0, nameSeparator(codeUnitName));
+    }
+
+    static String signatureOf(String codeUnitName) {
+        return codeUnitName.substring(nameSeparator(codeUnitName) + 1);
+    }
+
+    private static int nameSeparator(String codeUnitName) {
+        int parameters = codeUnitName.indexOf('(');
+        return codeUnitName.lastIndexOf('.', parameters < 0 ? codeUnitName.length() : parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "FactGraph{codeUnits=" + facts.size() + ", types=" + extractedTypes.size() + ", symbols=" + names.size() + "}";
+    }
+}
@@ -0,0 +1,293 @@
+package playground.facts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+import playground.report.FindingKind;
+import playground.report.ViolationSink;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Applies the rules of {@link playground.pureness.PurenessArchCondition} to a {@link FactGraph}, so the classification
+ * can be finished without keeping the ArchUnit domain model in memory.
+ */
+public final class FactSolver {
+
+    private final Logger log = LoggerFactory.getLogger(FactSolver.class);
+
+    private final FactGraph graph;
+    private final PureDataStore catalog;
+    private final Predicate<String> reportedOwners;
+    private Map<String, PurenessClassification> fixedClassifications = Map.of();
+    private ViolationSink violationSink;
+
+    private PurenessClassification[] classification;
+    private final List<Integer> touched = new ArrayList<>();
+    private final Set<Integer> abstractCodeUnits = new HashSet<>();
+    private final List<FactViolation> violations = new ArrayList<>();
+
+    /**
+     * @param graph          the facts to classify
+     * @param catalog        provides the preconfigured classifications
+     * @param reportedOwners selects the classes whose violations are reported
+     */
+    public FactSolver(FactGraph graph, PureDataStore catalog, Predicate<String> reportedOwners) {
+        this.graph = graph;
+        this.catalog = catalog;
+        this.reportedOwners = reportedOwners;
+        this.classification = new PurenessClassification[graph.getSymbolCount()];
+    }
+
+    /**
+     * Code units with a fixed classification are taken as they are, their calls are not looked at again. This allows to
+     * continue with results of an earlier run, e.g. memoized by the {@link playground.query.PurenessQueryEngine}.
+     */
+    public FactSolver withFixedClassifications(Map<String, PurenessClassification> fixedClassifications) {
+        this.fixedClassifications = fixedClassifications;
+        return this;
+    }
+
+    /**
+     * Streams the violations to the given sink as soon as they are decided instead of collecting them for
+     * {@link #getViolations()}.
+     */
+    public FactSolver withViolationSink(ViolationSink violationSink) {
+        this.violationSink = violationSink;
+        return this;
+    }
+
+    /**
+     * Classifies the given code units and everything they depend on.
+     *
+     * @param roots names of the code units to start with, usually all code units of the core
+     */
+    public void solve(Iterable<String> roots) {
+        for (String root : roots) {
+            int id = graph.find(root);
+            if (id >= 0 && graph.contains(id)) {
+                collectAndPreClassify(id);
+            }
+        }
+        log.info(countCategories());
+        boolean hasChanged = true;
+        while (hasChanged) {
+            hasChanged = applyPropagationRules();
+            log.info(countCategories());
+        }
+    }
+
+    public PurenessClassification getClassificationFor(String fullName) {
+        int id = graph.find(fullName);
+        if (id < 0 || id >= classification.length || classification[id] == null) {
+            return PurenessClassification.UNCHECKED;
+        }
+        return classification[id];
+    }
+
+    public List<String> getAllOfClassification(PurenessClassification cl) {
+        List<String> result = new ArrayList<>();
+        for (Integer id : touched) {
+            if (classification[id] == cl) {
+                result.add(graph.nameOf(id));
+            }
+        }
+        return result;
+    }
+
+    public List<FactViolation> getViolations() {
+        return violations;
+    }
+
+    private void collectAndPreClassify(int id) {
+        if (!getClassification(id).isTemporaryClassification() || isFixed(id)) {
+            return;
+        }
+        CodeUnitFacts codeUnit = graph.get(id);
+
+        if (!codeUnit.isConstructor() && codeUnit.isVoid()) {
+            classify(id, PurenessClassification.NOT_SEF);
+            return;
+        }
+
+        if (codeUnit.isNative()) {
+            classify(id, PurenessClassification.NOT_SEF);
+            logViolation(codeUnit, FindingKind.NATIVE_METHOD, () -> graph.nameOf(id) + " is a native method");
+            return;
+        }
+
+        if (codeUnit.isAbstract()) {
+            abstractCodeUnits.add(id);
+            classify(id, PurenessClassification.UNSURE);
+            return;
+        }
+
+        if (codeUnit.getCallCount() == 0) {
+            if (codeUnit.isConstructor() || !codeUnit.writesFields()) {
+                classify(id, PurenessClassification.SSEF);
+            } else if (codeUnit.writesOnlyInternalFields()) {
+                classify(id, PurenessClassification.DSEF);
+            } else {
+                classify(id, PurenessClassification.NOT_SEF);
+                logViolation(codeUnit, FindingKind.WRITES_PROPERTY, () -> graph.nameOf(id) + " is writing to at least one property");
+            }
+            return;
+        }
+
+        classify(id, PurenessClassification.UNSURE);
+        classifyBasedOnMethodCalls(id);
+    }
+
+    private boolean applyPropagationRules() {
+        List<Integer> unchecked = idsOfClassification(PurenessClassification.UNCHECKED);
+        boolean hasChanged = !unchecked.isEmpty();
+        for (Integer id : unchecked) {
+            collectAndPreClassify(id);
+        }
+        for (Integer id : idsOfClassification(PurenessClassification.UNSURE)) {
+            hasChanged |= classifyBasedOnMethodCalls(id);
+        }
+        hasChanged |= checkAbstractCodeUnits();
+        return hasChanged;
+    }
+
+    private boolean classifyBasedOnMethodCalls(int id) {
+        if (isFixed(id)) {
+            return false;
+        }
+        CodeUnitFacts codeUnit = graph.get(id);
+        boolean specificCategorizationApplied = classification[id] != PurenessClassification.UNSURE;
+        for (int call = 0; call < codeUnit.getCallCount(); call++) {
+            int[] targets = graph.resolve(codeUnit, call);
+            if (containsAny(targets, this::isNotSef) && codeUnit.isVisibleToOuterScope(call)) {
+                int declaredTarget = codeUnit.getDeclaredTarget(call);
+                logViolation(codeUnit, FindingKind.CALLS_NOT_SEF,
+                    () -> graph.nameOf(id) + "  calls not SEF method ( one of target{" + graph.nameOf(declaredTarget) + "})");
+                classify(id, PurenessClassification.NOT_SEF);
+                return true;
+            }
+            if (containsAny(targets, this::isUnsure)) {
+                classify(id, PurenessClassification.UNSURE);
+                specificCategorizationApplied = false;
+            }
+            if (!isUnsure(id) && containsAny(targets, target -> getClassification(target) == PurenessClassification.DSEF)) {
+                classify(id, PurenessClassification.DSEF);
+                specificCategorizationApplied = true;
+            }
+            if (!isUnsure(id) && classification[id] != PurenessClassification.DSEF
+                && containsAny(targets, target -> getClassification(target) == PurenessClassification.SSEF)) {
+                classify(id, PurenessClassification.SSEF);
+                specificCategorizationApplied = true;
+            }
+        }
+        return specificCategorizationApplied;
+    }
+
+    /**
+     * Mirrors the handling of interfaces and abstract classes, approximating the implementations by the code units with
+     * the same signature in any subtype.
+     */
+    private boolean checkAbstractCodeUnits() {
+        Set<Integer> toRemove = new HashSet<>();
+        for (Integer id : abstractCodeUnits) {
+            List<Integer> implementations = graph.implementationsOf(graph.get(id));
+            if (implementations.isEmpty()) {
+                // Without any known implementation the code unit stays unsure instead of being vacuously SSEF
+                continue;
+            }
+            if (implementations.stream().allMatch(target -> getClassification(target) == PurenessClassification.SSEF)) {
+                classify(id, PurenessClassification.SSEF);
+                toRemove.add(id);
+            } else if (implementations.stream().allMatch(target -> getClassification(target).isAtLeast(PurenessClassification.DSEF))) {
+                classify(id, PurenessClassification.DSEF);
+                toRemove.add(id);
+            } else if (implementations.stream().anyMatch(this::isNotSef)) {
+                toRemove.add(id);
+            }
+        }
+        return abstractCodeUnits.removeAll(toRemove);
+    }
+
+    private boolean isNotSef(int id) {
+        return getClassification(id) == PurenessClassification.NOT_SEF;
+    }
+
+    private boolean isUnsure(int id) {
+        return PurenessClassification.UNSURE.isAtLeast(getClassification(id));
+    }
+
+    private boolean isFixed(int id) {
+        return fixedClassifications.containsKey(graph.nameOf(id));
+    }
+
+    private static boolean containsAny(int[] targets, IntPredicate predicate) {
+        for (int target : targets) {
+            if (predicate.test(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PurenessClassification getClassification(int id) {
+        ensureCapacity(id);
+        if (classification[id] == null) {
+            PurenessClassification fixed = fixedClassifications.get(graph.nameOf(id));
+            classification[id] = fixed != null ? fixed : catalog.getPreconfiguredClassification(graph.nameOf(id));
+            touched.add(id);
+        }
+        return classification[id];
+    }
+
+    private void classify(int id, PurenessClassification cl) {
+        getClassification(id);
+        classification[id] = cl;
+    }
+
+    private List<Integer> idsOfClassification(PurenessClassification cl) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer id : touched) {
+            if (classification[id] == cl) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= classification.length) {
+            PurenessClassification[] grown = new PurenessClassification[Math.max(id + 1, graph.getSymbolCount())];
+            System.arraycopy(classification, 0, grown, 0, classification.length);
+            classification = grown;
+        }
+    }
+
+    private void logViolation(CodeUnitFacts codeUnit, FindingKind kind, Supplier<String> message) {
+        String ownerName = graph.nameOf(codeUnit.getOwnerId());
+        if (!reportedOwners.test(ownerName)) {
+            return;
+        }
+        if (violationSink != null) {
+            violationSink.report(kind, ownerName, graph.nameOf(codeUnit.getId()), message);
+        } else {
+            violations.add(new FactViolation(ownerName, graph.nameOf(codeUnit.getId()), message.get()));
+        }
+    }
+
+    private String countCategories() {
+        int[] counts = new int[PurenessClassification.values().length];
+        touched.forEach(id -> counts[classification[id].ordinal()]++);
+        return String.format("Gesamt %d Anzahl SSEF:  %d  Anzahl DSEF: %d  Anzahl unsure: %d  Anzahl NotSEF:  %d  Anzahl UNKOWN: %d",
+            touched.size(), counts[PurenessClassification.SSEF.ordinal()], counts[PurenessClassification.DSEF.ordinal()],
+            counts[PurenessClassification.UNSURE.ordinal()], counts[PurenessClassification.NOT_SEF.ordinal()],
+            counts[PurenessClassification.UNCHECKED.ordinal()]);
+    }
+}
@@ -0,0 +1,34 @@
+package playground.facts;
+
+/**
+ * A violation found by the {@link FactSolver}, referring to the code unit and its owner by name.
+ */
+public final class FactViolation {
+
+    private final String ownerName;
+    private final String codeUnitName;
+    private final String message;
+
+    FactViolation(String ownerName, String codeUnitName, String message) {
+        this.ownerName = ownerName;
+        this.codeUnitName = codeUnitName;
+        this.message = message;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getCodeUnitName() {
+        return codeUnitName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
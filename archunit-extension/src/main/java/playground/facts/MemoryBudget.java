@@ -0,0 +1,46 @@
+package playground.facts;
+
+/**
+ * Upper bound of heap the streaming analysis may spend on imported ArchUnit domain models at once. Half of the budget
+ * is reserved for the {@link FactGraph} and the solver, the other half limits the size of each import batch.
+ */
+public final class MemoryBudget {
+
+    /**
+     * Rough factor between the size of the class files and the heap needed by the ArchUnit domain model built from them
+     */
+    private static final long DOMAIN_MODEL_BYTES_PER_CLASS_FILE_BYTE = 25;
+
+    private final long bytes;
+
+    private MemoryBudget(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive but was " + bytes);
+        }
+        this.bytes = bytes;
+    }
+
+    public static MemoryBudget ofMegabytes(long megabytes) {
+        return new MemoryBudget(megabytes * 1024 * 1024);
+    }
+
+    /**
+     * @return a budget of half of the maximum heap of the running JVM
+     */
+    public static MemoryBudget halfOfMaxHeap() {
+        return new MemoryBudget(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    long getMaxClassFileBytesPerImport() {
+        return bytes / 2 / DOMAIN_MODEL_BYTES_PER_CLASS_FILE_BYTE;
+    }
+
+    @Override
+    public String toString() {
+        return bytes / (1024 * 1024) + " MB";
+    }
+}
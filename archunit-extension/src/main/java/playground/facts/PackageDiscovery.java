@@ -0,0 +1,165 @@
+package playground.facts;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Lists the packages of the runtime image and the class path together with the size of their class files, without
+ * loading or parsing any class.
+ */
+public final class PackageDiscovery {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private PackageDiscovery() {
+    }
+
+    /**
+     * Visits a single class file. The content is only read on demand via {@link ClassFileContent#read(byte[])}.
+     */
+    interface ClassFileVisitor {
+        void visit(String packageName, long size, ClassFileContent content) throws IOException;
+    }
+
+    interface ClassFileContent {
+        /**
+         * @param buffer buffer to read the class file into, a larger one is allocated if the class file does not fit
+         * @return the content of the class file from position 0 to the limit, backed by the given or the larger buffer
+         */
+        ByteBuffer read(byte[] buffer) throws IOException;
+    }
+
+    /**
+     * @param packageFilter selects the packages of interest by name
+     * @return the accumulated size of the class files per package, ordered by package name
+     */
+    public static Map<String, Long> discover(Predicate<String> packageFilter) {
+        Map<String, Long> packages = new TreeMap<>();
+        visitClassFiles(packageFilter, (packageName, size, content) -> packages.merge(packageName, size, Long::sum));
+        return packages;
+    }
+
+    static void visitClassFiles(Predicate<String> packageFilter, ClassFileVisitor visitor) {
+        FileSystem runtimeImage = FileSystems.getFileSystem(URI.create("jrt:/"));
+        try (Stream<Path> modules = Files.list(runtimeImage.getPath("/modules"))) {
+            modules.forEach(module -> visitDirectory(module, packageFilter, visitor));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list modules of the runtime image", e);
+        }
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                visitDirectory(path, packageFilter, visitor);
+            } else if (entry.endsWith(".jar") && Files.isRegularFile(path)) {
+                visitJar(path, packageFilter, visitor);
+            }
+        }
+    }
+
+    private static void visitDirectory(Path root, Predicate<String> packageFilter, ClassFileVisitor visitor) {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(file -> file.toString().endsWith(CLASS_FILE_EXTENSION)).forEach(file -> {
+                String packageName = packageOf(root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"));
+                if (isRegularPackage(packageName) && packageFilter.test(packageName)) {
+                    visit(visitor, packageName, sizeOf(file), buffer -> readFile(file, buffer));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list class files of " + root, e);
+        }
+    }
+
+    private static void visitJar(Path jar, Predicate<String> packageFilter, ClassFileVisitor visitor) {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            jarFile.stream()
+                .filter(entry -> entry.getName().endsWith(CLASS_FILE_EXTENSION))
+                .forEach(entry -> {
+                    String packageName = packageOf(entry.getName());
+                    if (isRegularPackage(packageName) && packageFilter.test(packageName)) {
+                        visit(visitor, packageName, sizeOf(entry), buffer -> readEntry(jarFile, entry, buffer));
+                    }
+                });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list class files of " + jar, e);
+        }
+    }
+
+    private static void visit(ClassFileVisitor visitor, String packageName, long size, ClassFileContent content) {
+        try {
+            visitor.visit(packageName, size, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read class file of package " + packageName, e);
+        }
+    }
+
+    private static ByteBuffer readFile(Path file, byte[] buffer) throws IOException {
+        try (ReadableByteChannel channel = Files.newByteChannel(file)) {
+            return readFully(channel, buffer);
+        }
+    }
+
+    private static ByteBuffer readEntry(JarFile jarFile, JarEntry entry, byte[] buffer) throws IOException {
+        try (ReadableByteChannel channel = Channels.newChannel(jarFile.getInputStream(entry))) {
+            return readFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads through the channel directly into the given buffer, so no intermediate array is allocated per class file
+     */
+    private static ByteBuffer readFully(ReadableByteChannel channel, byte[] buffer) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(buffer);
+        while (true) {
+            if (!target.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.wrap(new byte[Math.max(target.capacity() * 2, 1024)]);
+                target.flip();
+                larger.put(target);
+                target = larger;
+            }
+            if (channel.read(target) < 0) {
+                break;
+            }
+        }
+        target.flip();
+        return target;
+    }
+
+    private static boolean isRegularPackage(String packageName) {
+        return !packageName.isEmpty() && !packageName.startsWith("META-INF");
+    }
+
+    static String packageOf(String classFilePath) {
+        int lastSlash = classFilePath.lastIndexOf('/');
+        return lastSlash < 0 ? "" : classFilePath.substring(0, lastSlash).replace('/', '.');
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long sizeOf(JarEntry entry) {
+        return Math.max(entry.getSize(), 0);
+    }
+}
@@ -0,0 +1,85 @@
+package playground.facts;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.PackageMatchers;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports classes batch by batch of packages, extracts their {@link CodeUnitFacts} and drops the ArchUnit domain model
+ * before the next batch is imported. The size of each batch is limited by a {@link MemoryBudget}.
+ */
+public final class StreamingImporter {
+
+    private final Logger log = LoggerFactory.getLogger(StreamingImporter.class);
+
+    private final MemoryBudget memoryBudget;
+
+    public StreamingImporter(MemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * @param graph              the graph the extracted facts are added to
+     * @param packageIdentifiers packages to import in ArchUnit syntax, e.g. <code>java..</code>
+     */
+    public void importInto(FactGraph graph, String... packageIdentifiers) {
+        Map<String, Long> packages = PackageDiscovery.discover(PackageMatchers.of(packageIdentifiers)::apply);
+        List<Set<String>> batches = createBatches(packages);
+        log.info("Streaming " + packages.size() + " packages in " + batches.size() + " batches with memory budget " + memoryBudget);
+        ArchUnitFactExtractor extractor = new ArchUnitFactExtractor(graph);
+        for (Set<String> batch : batches) {
+            importBatch(batch, extractor);
+            log.debug("Imported batch " + batch + " into " + graph);
+        }
+    }
+
+    private void importBatch(Set<String> batch, ArchUnitFactExtractor extractor) {
+        JavaClasses classes = new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+            .withImportOption(location -> residesDirectlyInAnyOf(location, batch))
+            .importPackages(batch);
+        extractor.extract(classes, javaClass -> batch.contains(javaClass.getPackageName()));
+    }
+
+    private List<Set<String>> createBatches(Map<String, Long> packages) {
+        List<Set<String>> batches = new ArrayList<>();
+        Set<String> batch = new HashSet<>();
+        long batchSize = 0;
+        for (Map.Entry<String, Long> aPackage : packages.entrySet()) {
+            if (!batch.isEmpty() && batchSize + aPackage.getValue() > memoryBudget.getMaxClassFileBytesPerImport()) {
+                batches.add(batch);
+                batch = new HashSet<>();
+                batchSize = 0;
+            }
+            batch.add(aPackage.getKey());
+            batchSize += aPackage.getValue();
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * {@link ClassFileImporter#importPackages(Collection)} includes subpackages, which belong to other batches
+     */
+    private static boolean residesDirectlyInAnyOf(Location location, Set<String> packages) {
+        String uri = location.asURI().toString();
+        if (!uri.endsWith(".class")) {
+            return true;
+        }
+        String directory = uri.substring(0, uri.lastIndexOf('/'));
+        return packages.stream().anyMatch(aPackage -> directory.endsWith("/" + aPackage.replace('.', '/')));
+    }
+}
@@ -0,0 +1,70 @@
+package playground.pureness;
+
+import java.time.Duration;
+
+/**
+ * Limits of the pureness analysis. Once a limit is hit, the remaining callees are not explored any more but classified
+ * as {@link PurenessClassification#UNSURE}, so the analysis gives a fast but conservative answer.
+ */
+public final class AnalysisBudget {
+
+    private static final AnalysisBudget UNLIMITED = new AnalysisBudget(null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final Duration timeLimit;
+    private final int maxCallDepth;
+    private final int maxAnalyzedCodeUnits;
+
+    private AnalysisBudget(Duration timeLimit, int maxCallDepth, int maxAnalyzedCodeUnits) {
+        this.timeLimit = timeLimit;
+        this.maxCallDepth = maxCallDepth;
+        this.maxAnalyzedCodeUnits = maxAnalyzedCodeUnits;
+    }
+
+    public static AnalysisBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public AnalysisBudget withTimeLimit(Duration timeLimit) {
+        return new AnalysisBudget(timeLimit, maxCallDepth, maxAnalyzedCodeUnits);
+    }
+
+    /**
+     * @param maxCallDepth number of calls between a checked code unit and the deepest callee that is analyzed
+     */
+    public AnalysisBudget withMaxCallDepth(int maxCallDepth) {
+        return new AnalysisBudget(timeLimit, maxCallDepth, maxAnalyzedCodeUnits);
+    }
+
+    /**
+     * @param maxAnalyzedCodeUnits number of callees whose method calls are analyzed, in addition to the checked code units
+     */
+    public AnalysisBudget withMaxAnalyzedCodeUnits(int maxAnalyzedCodeUnits) {
+        return new AnalysisBudget(timeLimit, maxCallDepth, maxAnalyzedCodeUnits);
+    }
+
+    public boolean isUnlimited() {
+        return timeLimit == null && maxCallDepth == Integer.MAX_VALUE && maxAnalyzedCodeUnits == Integer.MAX_VALUE;
+    }
+
+    boolean isTimeExceeded(long startNanos) {
+        return timeLimit != null && System.nanoTime() - startNanos > timeLimit.toNanos();
+    }
+
+    boolean isDepthExceeded(int callDepth) {
+        return callDepth > maxCallDepth;
+    }
+
+    boolean isCodeUnitCountExceeded(int analyzedCodeUnits) {
+        return analyzedCodeUnits >= maxAnalyzedCodeUnits;
+    }
+
+    @Override
+    public String toString() {
+        if (isUnlimited()) {
+            return "unlimited";
+        }
+        return "time limit " + (timeLimit == null ? "none" : timeLimit.toMillis() + " ms")
+            + ", max call depth " + (maxCallDepth == Integer.MAX_VALUE ? "none" : maxCallDepth)
+            + ", max analyzed code units " + (maxAnalyzedCodeUnits == Integer.MAX_VALUE ? "none" : maxAnalyzedCodeUnits);
+    }
+}
@@ -0,0 +1,178 @@
+package playground.pureness;
+
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import playground.callgraph.CallTargetResolver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks the code units that remained unsure by the work they block: how many checked code units only stay unsure because
+ * they (transitively) call them, and over how many propagation rounds this unsureness is passed on. Adding the top
+ * entries to the catalog, e.g. by <code>wherePackage(...).isConsideredStrictlySideEffectFree()</code>, resolves the
+ * most unsure verdicts at once.
+ */
+public final class CatalogImpactRanking {
+
+    static final String CSV_HEADER = "timestamp,code unit,blocked core code units,blocked rounds";
+
+    public static final class Entry {
+
+        private final String codeUnitName;
+        private final int blockedCoreCodeUnits;
+        private final int blockedRounds;
+
+        Entry(String codeUnitName, int blockedCoreCodeUnits, int blockedRounds) {
+            this.codeUnitName = codeUnitName;
+            this.blockedCoreCodeUnits = blockedCoreCodeUnits;
+            this.blockedRounds = blockedRounds;
+        }
+
+        public String getCodeUnitName() {
+            return codeUnitName;
+        }
+
+        public int getBlockedCoreCodeUnits() {
+            return blockedCoreCodeUnits;
+        }
+
+        /**
+         * @return the length of the longest call chain from a blocked core code unit to this one
+         */
+        public int getBlockedRounds() {
+            return blockedRounds;
+        }
+
+        @Override
+        public String toString() {
+            return codeUnitName + " blocks " + blockedCoreCodeUnits + " core code units over " + blockedRounds + " rounds";
+        }
+    }
+
+    private final List<Entry> entries;
+
+    private CatalogImpactRanking(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @param dataStore        the classifications after the propagation finished
+     * @param coreCodeUnits    the checked code units
+     * @param callTargets      the call graph the propagation was based on
+     */
+    static CatalogImpactRanking of(PureDataStore dataStore, Set<JavaCodeUnit> coreCodeUnits, CallTargetResolver callTargets) {
+        Set<JavaCodeUnit> unsure = dataStore.getAllMethodsOfClassification(PurenessClassification.UNSURE);
+        Map<JavaCodeUnit, Set<JavaCodeUnit>> callers = new HashMap<>();
+        for (JavaCodeUnit codeUnit : unsure) {
+            dependenciesOf(codeUnit, callTargets).stream()
+                .filter(unsure::contains)
+                .forEach(dependency -> callers.computeIfAbsent(dependency, d -> new HashSet<>()).add(codeUnit));
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (JavaCodeUnit candidate : unsure) {
+            if (coreCodeUnits.contains(candidate)) {
+                continue;
+            }
+            Entry entry = blockedBy(candidate, callers, coreCodeUnits);
+            if (entry.getBlockedCoreCodeUnits() > 0) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingInt(Entry::getBlockedCoreCodeUnits).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::getBlockedRounds).reversed())
+            .thenComparing(Entry::getCodeUnitName));
+        return new CatalogImpactRanking(entries);
+    }
+
+    private static Set<JavaCodeUnit> dependenciesOf(JavaCodeUnit codeUnit, CallTargetResolver callTargets) {
+        if (codeUnit.getOwner().isInterface() || codeUnit.getModifiers().contains(JavaModifier.ABSTRACT)) {
+            return callTargets.subclassesOf(codeUnit.getOwner()).stream()
+                .flatMap(subclass -> subclass.getAllMethods().stream())
+                .filter(method -> method.getName().equals(codeUnit.getName())
+                    && method.getRawParameterTypes().equals(codeUnit.getRawParameterTypes()))
+                .collect(Collectors.toSet());
+        }
+        Set<JavaCodeUnit> dependencies = new HashSet<>();
+        for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+            dependencies.addAll(callTargets.resolve(call));
+        }
+        return dependencies;
+    }
+
+    private static Entry blockedBy(JavaCodeUnit candidate, Map<JavaCodeUnit, Set<JavaCodeUnit>> callers, Set<JavaCodeUnit> coreCodeUnits) {
+        Set<JavaCodeUnit> visited = new HashSet<>(List.of(candidate));
+        Deque<JavaCodeUnit> currentRound = new ArrayDeque<>(List.of(candidate));
+        int blockedCoreCodeUnits = 0;
+        int blockedRounds = 0;
+        for (int round = 1; !currentRound.isEmpty(); round++) {
+            Deque<JavaCodeUnit> nextRound = new ArrayDeque<>();
+            for (JavaCodeUnit codeUnit : currentRound) {
+                for (JavaCodeUnit caller : callers.getOrDefault(codeUnit, Set.of())) {
+                    if (visited.add(caller)) {
+                        nextRound.add(caller);
+                        if (coreCodeUnits.contains(caller)) {
+                            blockedCoreCodeUnits++;
+                            blockedRounds = round;
+                        }
+                    }
+                }
+            }
+            currentRound = nextRound;
+        }
+        return new Entry(candidate.getFullName(), blockedCoreCodeUnits, blockedRounds);
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public List<Entry> getTop(int count) {
+        return entries.subList(0, Math.min(count, entries.size()));
+    }
+
+    /**
+     * Appends the ranking to a CSV file, so the numbers of several runs can be tracked in one file. The header is only
+     * written if the file doesn't exist yet.
+     */
+    public void appendTo(Path csv, Instant timestamp) {
+        try {
+            boolean isNew = !Files.exists(csv);
+            if (csv.getParent() != null) {
+                Files.createDirectories(csv.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (isNew) {
+                    writer.write(CSV_HEADER);
+                    writer.newLine();
+                }
+                for (Entry entry : entries) {
+                    writer.write(timestamp + ",\"" + entry.getCodeUnitName().replace("\"", "\"\"") + "\","
+                        + entry.getBlockedCoreCodeUnits() + "," + entry.getBlockedRounds());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog impact ranking to " + csv, e);
+        }
+    }
+}
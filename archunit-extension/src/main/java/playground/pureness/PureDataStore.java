@@ -3,6 +3,7 @@ package playground.pureness;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Formatter;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -17,6 +18,10 @@ public class PureDataStore {
   private final Set<String> SSEF_PREFIXES = new HashSet<>();
   private final Set<String> DSEF_PREFIXES = new HashSet<>();
   private final Set<String> NOT_SEF_PREFIXES = new HashSet<>();
+  private final Set<String> DECLARED_SSEF_PREFIXES = new HashSet<>();
+  private final Set<String> DECLARED_DSEF_PREFIXES = new HashSet<>();
+  private final Set<String> DECLARED_NOT_SEF_PREFIXES = new HashSet<>();
+  private final Map<String, PurenessClassification> KNOWN_CLASSIFICATIONS = new HashMap<>();
 
   public void addPrefixesForSideEffectFree(Set<String> prefixes) {
     SSEF_PREFIXES.addAll(prefixes);
@@ -30,6 +35,35 @@ public class PureDataStore {
     NOT_SEF_PREFIXES.addAll(prefixes);
   }
 
+  /**
+   * Registers prefixes declared by the user of the rule, e.g. by <code>wherePackage(...)</code>. In contrast to the
+   * prefixes of the catalog, these take precedence over the known classifications, so a published summary can be
+   * overruled.
+   *
+   * @param prefixes prefixes of full names considered strictly side effect free
+   */
+  public void addDeclaredPrefixesForSideEffectFree(Set<String> prefixes) {
+    DECLARED_SSEF_PREFIXES.addAll(prefixes);
+  }
+
+  public void addDeclaredPrefixesForDomainSpecificSideEffectFree(Set<String> prefixes) {
+    DECLARED_DSEF_PREFIXES.addAll(prefixes);
+  }
+
+  public void addDeclaredPrefixesForNotSideEffectFree(Set<String> prefixes) {
+    DECLARED_NOT_SEF_PREFIXES.addAll(prefixes);
+  }
+
+  /**
+   * Registers final classifications for single code units identified by their full name, e.g. taken from the method
+   * summaries of a library. These take precedence over the prefixes of the catalog, but not over the declared ones.
+   *
+   * @param classifications classification per full name of a code unit
+   */
+  public void addKnownClassifications(Map<String, PurenessClassification> classifications) {
+    KNOWN_CLASSIFICATIONS.putAll(classifications);
+  }
+
   public PurenessClassification getClassificationFor(JavaCodeUnit javaCodeUnit) {
     return classification.getOrDefault(javaCodeUnit, PurenessClassification.UNCHECKED);
   }
@@ -109,6 +143,10 @@ public class PureDataStore {
         .collect(Collectors.toSet());
   }
 
+  public Map<JavaCodeUnit, PurenessClassification> getAllClassifications() {
+    return Collections.unmodifiableMap(classification);
+  }
+
    private PurenessClassification getClassification(JavaCodeUnit codeUnit) {
     return classification.computeIfAbsent(codeUnit, this::tryToApplyPreconfiguredClassication);
   }
@@ -154,11 +192,35 @@ public class PureDataStore {
    * @return the current classification of the codeunit
    */
   private PurenessClassification tryToApplyPreconfiguredClassication(JavaCodeUnit codeUnit) {
-    if (isPrefixOf(codeUnit, SSEF_PREFIXES)) {
+    return getPreconfiguredClassification(codeUnit.getFullName());
+  }
+
+  /**
+   * Calculate the default classification of a code unit given by its full name, so that analyses working without the
+   * ArchUnit domain model share the configured catalog.
+   *
+   * @param fullName full name of the code unit, e.g. <code>java.lang.Object.toString()</code>
+   * @return the configured classification or {@link PurenessClassification#UNCHECKED} if there is none
+   */
+  public PurenessClassification getPreconfiguredClassification(String fullName) {
+    PurenessClassification declared = classifyByPrefixes(fullName, DECLARED_SSEF_PREFIXES, DECLARED_DSEF_PREFIXES, DECLARED_NOT_SEF_PREFIXES);
+    if (declared != PurenessClassification.UNCHECKED) {
+      return declared;
+    }
+    PurenessClassification known = KNOWN_CLASSIFICATIONS.get(fullName);
+    if (known != null) {
+      return known;
+    }
+    return classifyByPrefixes(fullName, SSEF_PREFIXES, DSEF_PREFIXES, NOT_SEF_PREFIXES);
+  }
+
+  private PurenessClassification classifyByPrefixes(String fullName, Set<String> ssefPrefixes, Set<String> dsefPrefixes,
+      Set<String> notSefPrefixes) {
+    if (isPrefixOf(fullName, ssefPrefixes)) {
       return PurenessClassification.SSEF;
-    } else if (isPrefixOf(codeUnit, DSEF_PREFIXES)) {
+    } else if (isPrefixOf(fullName, dsefPrefixes)) {
       return PurenessClassification.DSEF;
-    } else if (isPrefixOf(codeUnit, NOT_SEF_PREFIXES)) {
+    } else if (isPrefixOf(fullName, notSefPrefixes)) {
       return PurenessClassification.NOT_SEF;
     } else {
       return PurenessClassification.UNCHECKED;
@@ -166,7 +228,7 @@ public class PureDataStore {
   }
 
   //TODO KSC 11.03.22: Support AspectJ oriented syntax instead of prefixes
-  private boolean isPrefixOf(JavaCodeUnit codeUnit, Set<String> SSEF_API_PREFIXES) {
-    return SSEF_API_PREFIXES.stream().anyMatch(a -> codeUnit.getFullName().startsWith(a));
+  private boolean isPrefixOf(String fullName, Set<String> SSEF_API_PREFIXES) {
+    return SSEF_API_PREFIXES.stream().anyMatch(fullName::startsWith);
   }
 }
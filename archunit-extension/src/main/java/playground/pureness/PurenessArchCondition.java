@@ -1,6 +1,7 @@
 package playground.pureness;
 
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaField;
 import com.tngtech.archunit.core.domain.JavaFieldAccess;
@@ -12,13 +13,25 @@ import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.SimpleConditionEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
+import playground.callgraph.CallTargetResolver;
+import playground.callgraph.LambdaLinks;
+import playground.callgraph.RapidTypeAnalysis;
+import playground.report.FindingKind;
+import playground.report.ViolationSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class PurenessArchCondition extends ArchCondition<JavaClass> {
 
@@ -29,15 +42,81 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
     private final HashMap<String, JavaCodeUnit> ANALYSE_HELPER;
     private final Set<JavaCodeUnit> abstractMethods = new HashSet<>();
 
+    private AnalysisBudget budget = AnalysisBudget.unlimited();
+    private boolean useRapidTypeAnalysis;
+    private CallTargetResolver callTargets = CallTargetResolver.declaredTargets();
+    private LambdaLinks lambdaLinks = new LambdaLinks();
+    private JavaClasses importedClasses;
+    private final Map<String, JavaClass> classesToTestByName = new HashMap<>();
+    private long startNanos;
+    private int analyzedCodeUnits;
+    private final Set<JavaCodeUnit> checkedCodeUnits = new HashSet<>();
+    private final Map<JavaCodeUnit, Integer> callDepths = new HashMap<>();
+    private final Map<JavaCodeUnit, String> truncatedCodeUnits = new HashMap<>();
+    private ViolationSink violationSink;
+    private long streamedFindings;
+
     public PurenessArchCondition(Object... args) {
         super("side effect free", args);
         ANALYSE_HELPER = new HashMap<>();
         dataStore = new PureDataStore();
     }
 
+    /**
+     * Limits the exploration of callees, see {@link AnalysisBudget}. The simple prechecks of the checked classes, like
+     * {@link #checkVoidMethodAsNotSef(JavaCodeUnit)}, are applied regardless of the budget.
+     */
+    public PurenessArchCondition withAnalysisBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    /**
+     * Limits virtual calls and implementations of abstract methods to classes instantiated in the analyzed scope, see
+     * {@link RapidTypeAnalysis}. This assumes a closed world: implementations of objects passed in from outside the
+     * analyzed scope are not considered, unless they are instantiated within the scope as well.
+     */
+    public PurenessArchCondition withRapidTypeAnalysis() {
+        this.useRapidTypeAnalysis = true;
+        return this;
+    }
+
+    /**
+     * Resolves the implementations of lambdas and method references within all imported classes instead of only the
+     * classes to check, e.g. <code>list::add</code> if <code>java.util</code> is imported, but only the core is checked.
+     */
+    public PurenessArchCondition withImportedClasses(JavaClasses importedClasses) {
+        this.importedClasses = importedClasses;
+        return this;
+    }
+
+    /**
+     * Streams violations and unsure verdicts to the given sink as soon as they are decided. The condition events then
+     * only contain a single summary, so neither the findings nor their messages are kept in memory.
+     */
+    public PurenessArchCondition withViolationSink(ViolationSink violationSink) {
+        this.violationSink = violationSink;
+        return this;
+    }
+
+    @Override
+    public void init(Iterable<JavaClass> allObjectsToTest) {
+        startNanos = System.nanoTime();
+        if (useRapidTypeAnalysis) {
+            callTargets = RapidTypeAnalysis.of(allObjectsToTest);
+        }
+        lambdaLinks = LambdaLinks.of(allObjectsToTest);
+        allObjectsToTest.forEach(javaClass -> classesToTestByName.put(javaClass.getName(), javaClass));
+        log.info("linked " + lambdaLinks.size() + " lambdas and method references");
+    }
+
     @Override
     public void check(JavaClass javaClass, ConditionEvents conditionEvents) {
         log.info("checking java class: " + javaClass.getFullName());
+        javaClass.getCodeUnits().forEach(codeUnit -> {
+            checkedCodeUnits.add(codeUnit);
+            callDepths.put(codeUnit, 0);
+        });
         javaClass.getCodeUnits().forEach(javaConstructor -> collectAndPreClassify(javaConstructor, conditionEvents));
     }
 
@@ -45,11 +124,18 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
     public void finish(ConditionEvents conditionEvents) {
         log.info(dataStore.countCategories() + " Anzahl offene Interfaces: " + abstractMethods.size());
         boolean hasChanged = true;
-        while (hasChanged) {
+        while (hasChanged && !budget.isTimeExceeded(startNanos)) {
             hasChanged = applyPropagationRules(conditionEvents);
             log.info(dataStore.countCategories() + " Anzahl offene Interfaces: " + abstractMethods.size());
         }
+        if (hasChanged) {
+            truncateRemainingCodeUnits();
+        }
         dataStore.getAllMethodsOfClassification(PurenessClassification.UNSURE).forEach(un -> logUnsure(conditionEvents, un.getOwner(), un));
+        logTruncatedVerdicts(conditionEvents);
+        if (streamedFindings > 0) {
+            conditionEvents.add(SimpleConditionEvent.violated(violationSink, streamedFindings + " findings were reported to the violation sink"));
+        }
     }
 
     /**
@@ -78,22 +164,30 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
         // Native Operations can not be analyzed, so consider them as NotSEF and perhaps classify as SEF by configuration
         if (codeUnit.getModifiers().contains(JavaModifier.NATIVE)) {
             dataStore.classifyNotSEF(codeUnit);
-            logViolation(conditionEvents, codeUnit.getOwner(),
-                codeUnit.getFullName() + " is a native method");
+            logViolation(conditionEvents, FindingKind.NATIVE_METHOD, codeUnit,
+                () -> codeUnit.getFullName() + " is a native method");
+            return;
+        }
+
+        // Once the budget is exhausted, callees are not explored any more but conservatively considered as unsure
+        String exceededLimit = exceededLimitOf(codeUnit);
+        if (exceededLimit != null) {
+            truncate(codeUnit, exceededLimit);
             return;
         }
 
         // Interfaces and abstract classes need special handling, because all its implementation needs to be SEF, so collect separately
-        if (codeUnit.getOwner().isInterface() || codeUnit.getModifiers().contains(JavaModifier.ABSTRACT)) {
+        if (isAbstract(codeUnit)) {
             abstractMethods.add(codeUnit);
             dataStore.classifyUnsure(codeUnit);
+            recordCallDepth(codeUnit, implementationsOf(codeUnit));
             return;
         }
 
-        // All next investigations are dependent from method calls
+        // All next investigations are dependent from method calls, creating a lambda counts as calling its implementation
         Set<JavaMethodCall> calledMethods = codeUnit.getMethodCallsFromSelf();
 
-        if (calledMethods.isEmpty()) {
+        if (calledMethods.isEmpty() && lambdaLinks.implementationsOf(codeUnit.getFullName()).isEmpty()) {
             // constructors without any further method calls are side effect free
             if (codeUnit.isConstructor()) {
                 dataStore.classifySSEF(codeUnit);
@@ -112,14 +206,17 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
                 dataStore.classifyDSEF(codeUnit);
             } else { // If there are field modifications that can accessed from the outside, the method is not side effect free
                 dataStore.classifyNotSEF(codeUnit);
-                logViolation(conditionEvents, codeUnit.getOwner(),
-                    codeUnit.getFullName() + " is writing to at least one property");
+                logViolation(conditionEvents, FindingKind.WRITES_PROPERTY, codeUnit,
+                    () -> codeUnit.getFullName() + " is writing to at least one property");
             }
             return;
         }
 
         //If there are methods that are classified already, the current method may be derived from that
         log.debug("checking method calls of " + codeUnit + " during preclassification");
+        if (!checkedCodeUnits.contains(codeUnit)) {
+            analyzedCodeUnits++;
+        }
         dataStore.classifyUnsure(codeUnit);
         classifyBasedOnMethodCalls(codeUnit, conditionEvents);
     }
@@ -143,10 +240,19 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
             codeUnit.getRawReturnType().getFullName().equals("void");
     }
 
-    private void logViolation(ConditionEvents conditionEvents, JavaClass owner, String message) {
+    private void logViolation(ConditionEvents conditionEvents, FindingKind kind, JavaCodeUnit codeUnit, Supplier<String> message) {
         // TODO KSC 09.03.22:  Should check for core package (if really needed?) and not for fixed string
-        if (owner.getFullName().startsWith("hamburg.")) {
-            conditionEvents.add(SimpleConditionEvent.violated(owner, message));
+        if (codeUnit.getOwner().getFullName().startsWith("hamburg.")) {
+            report(conditionEvents, kind, codeUnit, message);
+        }
+    }
+
+    private void report(ConditionEvents conditionEvents, FindingKind kind, JavaCodeUnit codeUnit, Supplier<String> message) {
+        if (violationSink != null) {
+            violationSink.report(kind, codeUnit.getOwner().getFullName(), codeUnit.getFullName(), message);
+            streamedFindings++;
+        } else {
+            conditionEvents.add(SimpleConditionEvent.violated(codeUnit.getOwner(), message.get()));
         }
     }
 
@@ -184,34 +290,214 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
 
     private boolean classifyBasedOnMethodCalls(JavaCodeUnit codeUnit, ConditionEvents conditionEvents) {
         ensurePreclassification(codeUnit);
+        if (truncatedCodeUnits.containsKey(codeUnit)) {
+            return false;
+        }
         boolean specificCategorizationApplied = !(dataStore.getClassificationFor(codeUnit) == PurenessClassification.UNSURE);
         Set<JavaMethodCall> callsToCheck = codeUnit.getMethodCallsFromSelf();
 
         for (JavaMethodCall call : callsToCheck) {
-            Set<JavaMethod> resolvedTarget = call.getTarget().resolve();
+            Set<JavaMethod> resolvedTarget = callTargets.resolve(call);
             log.debug("checking call " + call);
+            recordCallDepth(codeUnit, resolvedTarget);
             if (dataStore.checkContainNotSEF(resolvedTarget) && isVisibleToOuterScope(call, codeUnit)) {
-                logViolation(conditionEvents, codeUnit.getOwner(), codeUnit.getFullName() + "  calls not SEF method ( one of " + call.getTarget() + ")");
+                logViolation(conditionEvents, FindingKind.CALLS_NOT_SEF, codeUnit,
+                    () -> codeUnit.getFullName() + "  calls not SEF method ( one of " + call.getTarget() + ")");
                 dataStore.classifyNotSEF(codeUnit);
                 return true; //NotSEF is the hardest criteria, so we can stop here
             }
-            if (dataStore.checkContainUnsure(resolvedTarget)) {
-                dataStore.classifyUnsure(codeUnit);
-                specificCategorizationApplied = false;
-            }
-            if (!dataStore.checkToBeUnsure(codeUnit) && dataStore.checkContainDSEF(resolvedTarget)) {
-                dataStore.classifyDSEF(codeUnit);
-                specificCategorizationApplied = true;
+            specificCategorizationApplied = classifyBasedOnTargets(codeUnit, resolvedTarget, specificCategorizationApplied);
+        }
+
+        // Lambdas and method references are considered to be called by the code unit creating them
+        for (JavaCodeUnit implementation : lambdaImplementationsOf(codeUnit)) {
+            Set<JavaCodeUnit> resolvedTarget = Set.of(implementation);
+            recordCallDepth(codeUnit, resolvedTarget);
+            if (dataStore.checkContainNotSEF(resolvedTarget)) {
+                logViolation(conditionEvents, FindingKind.CALLS_NOT_SEF, codeUnit,
+                    () -> codeUnit.getFullName() + "  creates lambda implemented by not SEF method " + implementation.getFullName());
+                dataStore.classifyNotSEF(codeUnit);
+                return true;
             }
-            if (!dataStore.checkToBeUnsure(codeUnit) && !dataStore.checkToBeDSEF(codeUnit) && dataStore.checkContainSSEF(resolvedTarget)) {
-                dataStore.classifySSEF(codeUnit);
-                specificCategorizationApplied = true;
+            specificCategorizationApplied = classifyBasedOnTargets(codeUnit, resolvedTarget, specificCategorizationApplied);
+        }
+        for (String implementationName : lambdaImplementationsOutsideOf(codeUnit)) {
+            PurenessClassification preconfigured = dataStore.getPreconfiguredClassification(implementationName);
+            if (preconfigured == PurenessClassification.NOT_SEF) {
+                logViolation(conditionEvents, FindingKind.CALLS_NOT_SEF, codeUnit,
+                    () -> codeUnit.getFullName() + "  creates lambda implemented by not SEF method " + implementationName);
+                dataStore.classifyNotSEF(codeUnit);
+                return true;
             }
+            specificCategorizationApplied = classifyBasedOnPreconfigured(codeUnit, preconfigured, specificCategorizationApplied);
+        }
+
+        return specificCategorizationApplied;
+    }
+
+    private boolean classifyBasedOnTargets(JavaCodeUnit codeUnit, Set<? extends JavaCodeUnit> resolvedTarget, boolean specificCategorizationApplied) {
+        if (dataStore.checkContainUnsure(resolvedTarget)) {
+            dataStore.classifyUnsure(codeUnit);
+            specificCategorizationApplied = false;
+        }
+        if (!dataStore.checkToBeUnsure(codeUnit) && dataStore.checkContainDSEF(resolvedTarget)) {
+            dataStore.classifyDSEF(codeUnit);
+            specificCategorizationApplied = true;
         }
+        if (!dataStore.checkToBeUnsure(codeUnit) && !dataStore.checkToBeDSEF(codeUnit) && dataStore.checkContainSSEF(resolvedTarget)) {
+            dataStore.classifySSEF(codeUnit);
+            specificCategorizationApplied = true;
+        }
+        return specificCategorizationApplied;
+    }
 
+    /**
+     * An implementation outside of the imported classes is only known by the catalog. If the catalog doesn't know it
+     * either, it is treated like a call without a resolved target.
+     */
+    private boolean classifyBasedOnPreconfigured(JavaCodeUnit codeUnit, PurenessClassification preconfigured, boolean specificCategorizationApplied) {
+        if (PurenessClassification.UNSURE.isAtLeast(preconfigured)) {
+            return specificCategorizationApplied;
+        }
+        if (!dataStore.checkToBeUnsure(codeUnit) && preconfigured == PurenessClassification.DSEF) {
+            dataStore.classifyDSEF(codeUnit);
+            return true;
+        }
+        if (!dataStore.checkToBeUnsure(codeUnit) && !dataStore.checkToBeDSEF(codeUnit) && preconfigured.isAtLeast(PurenessClassification.SSEF)) {
+            dataStore.classifySSEF(codeUnit);
+            return true;
+        }
         return specificCategorizationApplied;
     }
 
+    /**
+     * @return the methods and constructors implementing the lambdas and method references created by the code unit
+     * within the imported classes, see {@link #withImportedClasses(JavaClasses)}
+     */
+    private Set<JavaCodeUnit> lambdaImplementationsOf(JavaCodeUnit codeUnit) {
+        return lambdaLinks.implementationsOf(codeUnit.getFullName()).stream()
+            .map(this::findImportedCodeUnit)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * @return the full names of the implementations outside of the imported classes, e.g. of <code>LocalTime::now</code>
+     * if <code>java.time</code> isn't imported
+     */
+    private Set<String> lambdaImplementationsOutsideOf(JavaCodeUnit codeUnit) {
+        return lambdaLinks.implementationsOf(codeUnit.getFullName()).stream()
+            .filter(implementationName -> findImportedCodeUnit(implementationName) == null)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @param fullName the full name of a method or constructor, like <code>java.util.List.add(java.lang.Object)</code>
+     * @return the code unit within the imported classes, or null if its owner isn't imported
+     */
+    private JavaCodeUnit findImportedCodeUnit(String fullName) {
+        String ownerName = fullName.substring(0, fullName.lastIndexOf('.', fullName.indexOf('(')));
+        JavaClass owner = importedClasses != null && importedClasses.contain(ownerName)
+            ? importedClasses.get(ownerName)
+            : classesToTestByName.get(ownerName);
+        if (owner == null) {
+            return null;
+        }
+        return owner.getCodeUnits().stream()
+            .filter(candidate -> candidate.getFullName().equals(fullName))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private String exceededLimitOf(JavaCodeUnit codeUnit) {
+        if (budget.isUnlimited()) {
+            return null;
+        }
+        if (budget.isTimeExceeded(startNanos)) {
+            return "time limit exceeded";
+        }
+        if (checkedCodeUnits.contains(codeUnit)) {
+            return null;
+        }
+        if (budget.isDepthExceeded(callDepths.getOrDefault(codeUnit, Integer.MAX_VALUE))) {
+            return "max call depth exceeded";
+        }
+        if (budget.isCodeUnitCountExceeded(analyzedCodeUnits)) {
+            return "max number of analyzed code units exceeded";
+        }
+        return null;
+    }
+
+    private void recordCallDepth(JavaCodeUnit caller, Set<? extends JavaCodeUnit> callees) {
+        if (budget.isUnlimited()) {
+            return;
+        }
+        int calleeDepth = callDepths.getOrDefault(caller, 0) + 1;
+        callees.forEach(callee -> callDepths.merge(callee, calleeDepth, Math::min));
+    }
+
+    private void truncate(JavaCodeUnit codeUnit, String reason) {
+        dataStore.classifyUnsure(codeUnit);
+        truncatedCodeUnits.put(codeUnit, reason);
+    }
+
+    /**
+     * Once the time is up, neither the unchecked code units nor the unsure ones, whose callees may still have been
+     * decided, got their final verdict. Code units truncated by another limit keep their reason.
+     */
+    private void truncateRemainingCodeUnits() {
+        dataStore.getAllMethodsOfClassification(PurenessClassification.UNCHECKED)
+            .forEach(codeUnit -> truncate(codeUnit, "time limit exceeded"));
+        dataStore.getAllMethodsOfClassification(PurenessClassification.UNSURE)
+            .forEach(codeUnit -> truncatedCodeUnits.putIfAbsent(codeUnit, "time limit exceeded"));
+    }
+
+    /**
+     * Reports each checked code unit that remained unsure because a callee it depends on was not explored.
+     */
+    private void logTruncatedVerdicts(ConditionEvents conditionEvents) {
+        if (truncatedCodeUnits.isEmpty()) {
+            return;
+        }
+        for (JavaCodeUnit codeUnit : checkedCodeUnits) {
+            if (!dataStore.checkToBeUnsure(codeUnit)) {
+                continue;
+            }
+            Set<JavaCodeUnit> truncatedCallees = findTruncatedCallees(codeUnit);
+            if (!truncatedCallees.isEmpty()) {
+                report(conditionEvents, FindingKind.TRUNCATED, codeUnit, () -> {
+                    Set<String> reasons = truncatedCallees.stream().map(truncatedCodeUnits::get).collect(Collectors.toCollection(TreeSet::new));
+                    return "verdict for " + codeUnit.getFullName() + " is truncated to unsure (" + String.join(", ", reasons) + ") at "
+                        + truncatedCallees.stream().map(JavaCodeUnit::getFullName).sorted().collect(Collectors.toList());
+                });
+            }
+        }
+    }
+
+    private Set<JavaCodeUnit> findTruncatedCallees(JavaCodeUnit codeUnit) {
+        Set<JavaCodeUnit> truncatedCallees = new HashSet<>();
+        Set<JavaCodeUnit> visited = new HashSet<>();
+        Deque<JavaCodeUnit> toVisit = new ArrayDeque<>(List.of(codeUnit));
+        while (!toVisit.isEmpty()) {
+            JavaCodeUnit current = toVisit.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            if (truncatedCodeUnits.containsKey(current)) {
+                truncatedCallees.add(current);
+                continue;
+            }
+            Stream<JavaMethod> callees = current.getMethodCallsFromSelf().stream()
+                .flatMap(call -> callTargets.resolve(call).stream());
+            if (isAbstract(current)) {
+                callees = Stream.concat(callees, implementationsOf(current).stream());
+            }
+            callees.filter(callee -> PurenessClassification.UNSURE.isAtLeast(dataStore.getClassificationFor(callee)))
+                .forEach(toVisit::push);
+        }
+        return truncatedCallees;
+    }
+
     private void ensurePreclassification(JavaCodeUnit codeUnit) {
         if (dataStore.getClassificationFor(codeUnit) == null || dataStore.getClassificationFor(codeUnit) == PurenessClassification.UNCHECKED) {
             throw new IllegalStateException("Method assumes that code unit is preclassified already");
@@ -229,8 +515,10 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
     private void logUnsure(ConditionEvents conditionEvents, JavaClass owner, JavaCodeUnit codeUnit) {
         //TODO KSC 10.03.22: What is this magic classification for?
         if (owner.getFullName().startsWith("app.")) {
-            Set<JavaMethodCall> unsure = codeUnit.getMethodCallsFromSelf().stream().filter(c -> !dataStore.checkContainNotSEF(c.getTarget().resolve()) && !dataStore.checkContainDSEF(c.getTarget().resolve())).collect(Collectors.toSet());
-            conditionEvents.add(SimpleConditionEvent.violated(owner, "unsure about " + codeUnit.getFullName() + " because of " + unsure));
+            report(conditionEvents, FindingKind.UNSURE, codeUnit, () -> {
+                Set<JavaMethodCall> unsure = codeUnit.getMethodCallsFromSelf().stream().filter(c -> !dataStore.checkContainNotSEF(callTargets.resolve(c)) && !dataStore.checkContainDSEF(callTargets.resolve(c))).collect(Collectors.toSet());
+                return "unsure about " + codeUnit.getFullName() + " because of " + unsure;
+            });
         }
     }
 
@@ -253,17 +541,29 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
 
     private boolean checkAllImplementationsToBe(JavaCodeUnit abstractMethod,
         Predicate<JavaMethod> predicate) {
-        return abstractMethod.getOwner().getAllSubclasses().stream()
-            .allMatch(subclass -> subclass.getAllMethods().stream()
-                .filter(matchMethodSignature(abstractMethod))
-                .allMatch(predicate));
+        return implementationsOf(abstractMethod).stream().allMatch(predicate);
     }
 
     private boolean checkAnyImplementationToBeNotSEF(JavaCodeUnit abstractMethod) {
-        return abstractMethod.getOwner().getAllSubclasses().stream()
-            .anyMatch(cl -> cl.getAllMethods().stream()
-                .filter(matchMethodSignature(abstractMethod))
-                .anyMatch(dataStore::checkToBeNotSEF));
+        return implementationsOf(abstractMethod).stream().anyMatch(dataStore::checkToBeNotSEF);
+    }
+
+    private static boolean isAbstract(JavaCodeUnit codeUnit) {
+        return codeUnit.getOwner().isInterface() || codeUnit.getModifiers().contains(JavaModifier.ABSTRACT);
+    }
+
+    /**
+     * The methods of the subclasses include the inherited abstract ones, which are left out, as they don't implement
+     * anything and would never be decided before the abstract method itself.
+     *
+     * @return the methods implementing the abstract method in the subclasses of its owner
+     */
+    private Set<JavaMethod> implementationsOf(JavaCodeUnit abstractMethod) {
+        return callTargets.subclassesOf(abstractMethod.getOwner()).stream()
+            .flatMap(subclass -> subclass.getAllMethods().stream())
+            .filter(matchMethodSignature(abstractMethod))
+            .filter(method -> !method.getModifiers().contains(JavaModifier.ABSTRACT))
+            .collect(Collectors.toSet());
     }
 
     private Predicate<JavaMethod> matchMethodSignature(JavaCodeUnit abstractMethod) {
@@ -274,5 +574,12 @@ public class PurenessArchCondition extends ArchCondition<JavaClass> {
     public PureDataStore getDataStore() {
         return dataStore;
     }
+
+    /**
+     * @return the unsure code units ranked by the checked code units they keep unsure, see {@link CatalogImpactRanking}
+     */
+    public CatalogImpactRanking getCatalogImpactRanking() {
+        return CatalogImpactRanking.of(dataStore, checkedCodeUnits, callTargets);
+    }
 }
 
@@ -0,0 +1,219 @@
+package playground.query;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import playground.facts.ArchUnitFactExtractor;
+import playground.facts.FactGraph;
+import playground.facts.FactSolver;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers the pureness of single code units on demand, e.g. for an IDE or a review bot, instead of checking a whole
+ * architecture rule. A query only extracts and solves the code units the queried one depends on. Every verdict is
+ * memoized, so later queries stop at code units answered before. Unsure verdicts are not memoized, as they may still be
+ * decided once more is known. When classes change, {@link #update(JavaClasses, String...)} drops their verdicts and
+ * facts together with those of all code units that depended on them, so these are extracted again from the new classes.
+ * <p>
+ * The verdicts are the same as those of {@link playground.pureness.PurenessArchCondition}, as the {@link FactSolver}
+ * applies its rules. The engine is meant to be used by one session at a time and is not thread safe.
+ */
+public class PurenessQueryEngine {
+
+    private final Logger log = LoggerFactory.getLogger(PurenessQueryEngine.class);
+
+    private final PureDataStore catalog;
+    private final FactGraph graph = new FactGraph();
+    private final ArchUnitFactExtractor extractor = new ArchUnitFactExtractor(graph);
+
+    private JavaClasses classes;
+    private final Map<String, PurenessClassification> verdicts = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<String>> codeUnitsByOwner = new HashMap<>();
+    private final Map<String, Set<String>> callersByDeclaringType = new HashMap<>();
+    private final Map<String, Set<String>> abstractCodeUnitsByOwner = new HashMap<>();
+
+    /**
+     * @param classes the classes to answer queries on, including the libraries that should be analyzed
+     * @param catalog provides the preconfigured classifications, see {@link PureDataStore}
+     */
+    public PurenessQueryEngine(JavaClasses classes, PureDataStore catalog) {
+        this.classes = classes;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Takes the given verdicts, e.g. of an earlier run, as they are, until they are invalidated. Their callees are not
+     * looked at again. Unsure and unchecked verdicts are ignored.
+     */
+    public PurenessQueryEngine withMemoizedVerdicts(Map<String, PurenessClassification> memoizedVerdicts) {
+        memoizedVerdicts.forEach(this::memoize);
+        return this;
+    }
+
+    /**
+     * @param codeUnitName the full name of a code unit, e.g. <code>app.Agenda.toggleStatus(java.lang.String)</code>, or
+     *                     without parameters, e.g. <code>app.Agenda.toggleStatus</code>, if the name isn't overloaded
+     */
+    public PurenessClassification classify(String codeUnitName) {
+        return classify(findCodeUnit(codeUnitName));
+    }
+
+    public PurenessClassification classify(JavaCodeUnit codeUnit) {
+        PurenessClassification memoized = verdicts.get(codeUnit.getFullName());
+        if (memoized != null) {
+            return memoized;
+        }
+        long start = System.nanoTime();
+        Set<String> discovered = discover(codeUnit);
+        FactSolver solver = new FactSolver(graph, catalog, ownerName -> false).withFixedClassifications(verdicts);
+        solver.solve(List.of(codeUnit.getFullName()));
+        for (String name : discovered) {
+            memoize(name, solver.getClassificationFor(name));
+        }
+        log.debug("solved " + codeUnit.getFullName() + " with " + discovered.size() + " new code units in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return solver.getClassificationFor(codeUnit.getFullName());
+    }
+
+    /**
+     * Replaces the analyzed classes, e.g. after a recompilation, and invalidates everything derived from the changed ones.
+     *
+     * @param classes          the newly imported classes
+     * @param changedClassNames the fully qualified names of the added, changed or removed classes
+     */
+    public void update(JavaClasses classes, String... changedClassNames) {
+        this.classes = classes;
+        for (String className : changedClassNames) {
+            invalidate(className);
+        }
+    }
+
+    /**
+     * Drops the verdicts and facts of the code units of the given class and of all code units depending on them. Besides
+     * the callers of its code units, this includes the code units whose calls are resolved through the class, i.e. calls
+     * declared on the class or one of its subclasses, and the abstract code units of its supertypes, whose implementations
+     * may have changed. Their facts are extracted again from the current classes by the next query.
+     */
+    public void invalidate(String className) {
+        graph.removeType(className);
+        Deque<String> toInvalidate = new ArrayDeque<>(codeUnitsByOwner.getOrDefault(className, Set.of()));
+        toInvalidate.addAll(callersByDeclaringType.getOrDefault(className, Set.of()));
+        toInvalidate.addAll(abstractCodeUnitsByOwner.getOrDefault(className, Set.of()));
+        if (classes.contain(className)) {
+            JavaClass javaClass = classes.get(className);
+            extractor.extractSupertypes(javaClass);
+            javaClass.getAllSubclasses().forEach(subclass ->
+                toInvalidate.addAll(callersByDeclaringType.getOrDefault(subclass.getName(), Set.of())));
+            javaClass.getAllClassesSelfIsAssignableTo().forEach(supertype ->
+                toInvalidate.addAll(abstractCodeUnitsByOwner.getOrDefault(supertype.getName(), Set.of())));
+        }
+        Set<String> invalidated = new HashSet<>();
+        while (!toInvalidate.isEmpty()) {
+            String name = toInvalidate.pop();
+            if (invalidated.add(name)) {
+                verdicts.remove(name);
+                graph.removeCodeUnit(name);
+                toInvalidate.addAll(dependents.getOrDefault(name, Set.of()));
+            }
+        }
+        codeUnitsByOwner.remove(className);
+        log.debug("invalidated " + invalidated.size() + " verdicts for " + className);
+    }
+
+    public int getMemoizedVerdictCount() {
+        return verdicts.size();
+    }
+
+    /**
+     * Extracts the facts of all code units the given one depends on. Code units with a memoized verdict or a
+     * preconfigured classification are extracted, so the solver can link to them, but their callees are not visited.
+     *
+     * @return the names of the code units without a memoized verdict
+     */
+    private Set<String> discover(JavaCodeUnit root) {
+        Set<String> discovered = new HashSet<>();
+        Set<String> visited = new HashSet<>();
+        Deque<JavaCodeUnit> toVisit = new ArrayDeque<>(List.of(root));
+        while (!toVisit.isEmpty()) {
+            JavaCodeUnit codeUnit = toVisit.pop();
+            String name = codeUnit.getFullName();
+            if (!visited.add(name)) {
+                continue;
+            }
+            if (!graph.contains(graph.idOf(name))) {
+                extractor.extract(codeUnit);
+                codeUnitsByOwner.computeIfAbsent(codeUnit.getOwner().getName(), owner -> new HashSet<>()).add(name);
+            }
+            if (verdicts.containsKey(name) || catalog.getPreconfiguredClassification(name) != PurenessClassification.UNCHECKED) {
+                continue;
+            }
+            discovered.add(name);
+            for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+                callersByDeclaringType.computeIfAbsent(call.getTarget().getOwner().getName(), type -> new HashSet<>()).add(name);
+                for (JavaMethod target : call.getTarget().resolve()) {
+                    dependOn(name, target, toVisit);
+                }
+            }
+            if (codeUnit.getOwner().isInterface() || codeUnit.getModifiers().contains(JavaModifier.ABSTRACT)) {
+                abstractCodeUnitsByOwner.computeIfAbsent(codeUnit.getOwner().getName(), owner -> new HashSet<>()).add(name);
+                extractor.extract(List.of(codeUnit.getOwner()), javaClass -> false);
+                for (JavaCodeUnit implementation : implementationsOf(codeUnit)) {
+                    dependOn(name, implementation, toVisit);
+                }
+            }
+        }
+        return discovered;
+    }
+
+    private void memoize(String name, PurenessClassification verdict) {
+        if (!verdict.isTemporaryClassification()) {
+            verdicts.put(name, verdict);
+        }
+    }
+
+    private void dependOn(String dependent, JavaCodeUnit dependency, Deque<JavaCodeUnit> toVisit) {
+        dependents.computeIfAbsent(dependency.getFullName(), name -> new HashSet<>()).add(dependent);
+        toVisit.push(dependency);
+    }
+
+    private Set<JavaCodeUnit> implementationsOf(JavaCodeUnit abstractCodeUnit) {
+        return abstractCodeUnit.getOwner().getAllSubclasses().stream()
+            .flatMap(subclass -> subclass.getMethods().stream())
+            .filter(method -> method.getName().equals(abstractCodeUnit.getName())
+                && method.getRawParameterTypes().equals(abstractCodeUnit.getRawParameterTypes()))
+            .collect(Collectors.toSet());
+    }
+
+    private JavaCodeUnit findCodeUnit(String codeUnitName) {
+        String ownerName = FactGraph.ownerOf(codeUnitName);
+        if (!classes.contain(ownerName)) {
+            throw new IllegalArgumentException("Class " + ownerName + " of " + codeUnitName + " is not imported");
+        }
+        JavaClass owner = classes.get(ownerName);
+        boolean withParameters = codeUnitName.contains("(");
+        String name = codeUnitName.substring(ownerName.length() + 1);
+        Set<JavaCodeUnit> candidates = owner.getCodeUnits().stream()
+            .filter(codeUnit -> withParameters ? codeUnit.getFullName().equals(codeUnitName) : codeUnit.getName().equals(name))
+            .collect(Collectors.toSet());
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one code unit named " + codeUnitName + " but found " + candidates.size());
+        }
+        return candidates.iterator().next();
+    }
+}
@@ -0,0 +1,38 @@
+package playground.report;
+
+/**
+ * The kinds of findings a {@link ViolationSink} receives, named after the rules of
+ * {@link playground.pureness.PurenessArchCondition}.
+ */
+public enum FindingKind {
+    NATIVE_METHOD("native-method", "error", "Native methods can't be analyzed and are considered not side effect free"),
+    WRITES_PROPERTY("writes-property", "error", "Writes to state that is visible outside of the code unit"),
+    CALLS_NOT_SEF("calls-not-sef", "error", "Calls a code unit that is not side effect free"),
+    UNSURE("unsure", "warning", "The pureness couldn't be decided"),
+    TRUNCATED("truncated", "note", "The analysis budget was exhausted before the pureness was decided");
+
+    private final String ruleId;
+    private final String level;
+    private final String description;
+
+    FindingKind(String ruleId, String level, String description) {
+        this.ruleId = ruleId;
+        this.level = level;
+        this.description = description;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @return the SARIF level, i.e. <code>error</code>, <code>warning</code> or <code>note</code>
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,37 @@
+package playground.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes findings as JSON Lines, e.g.
+ * <pre>
+ * {"kind":"calls-not-sef","level":"error","class":"app.Agenda","codeUnit":"app.Agenda.toggleStatus(java.lang.String)","message":"..."}
+ * </pre>
+ */
+final class JsonLinesViolationSink extends StreamingViolationSink {
+
+    JsonLinesViolationSink(Path target) {
+        super(target);
+    }
+
+    @Override
+    void writeHeader(BufferedWriter writer) {
+    }
+
+    @Override
+    void writeFinding(BufferedWriter writer, long index, FindingKind kind, String ownerName, String codeUnitName,
+        String message) throws IOException {
+        writer.write("{\"kind\":" + quote(kind.getRuleId())
+            + ",\"level\":" + quote(kind.getLevel())
+            + ",\"class\":" + quote(ownerName)
+            + ",\"codeUnit\":" + quote(codeUnitName)
+            + ",\"message\":" + quote(message) + "}");
+        writer.newLine();
+    }
+
+    @Override
+    void writeFooter(BufferedWriter writer) {
+    }
+}
@@ -0,0 +1,50 @@
+package playground.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes findings as a SARIF 2.1.0 log. The rules are known upfront, so the tool section is written first and the
+ * results are appended one by one; the closing brackets follow when the sink is closed.
+ */
+final class SarifViolationSink extends StreamingViolationSink {
+
+    SarifViolationSink(Path target) {
+        super(target);
+    }
+
+    @Override
+    void writeHeader(BufferedWriter writer) throws IOException {
+        writer.write("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\"runs\":[{");
+        writer.newLine();
+        writer.write("\"tool\":{\"driver\":{\"name\":\"ensure-functional-core\",\"rules\":[");
+        FindingKind[] kinds = FindingKind.values();
+        for (int i = 0; i < kinds.length; i++) {
+            writer.write((i > 0 ? "," : "") + "{\"id\":" + quote(kinds[i].getRuleId())
+                + ",\"shortDescription\":{\"text\":" + quote(kinds[i].getDescription()) + "}"
+                + ",\"defaultConfiguration\":{\"level\":" + quote(kinds[i].getLevel()) + "}}");
+        }
+        writer.write("]}},");
+        writer.newLine();
+        writer.write("\"results\":[");
+        writer.newLine();
+    }
+
+    @Override
+    void writeFinding(BufferedWriter writer, long index, FindingKind kind, String ownerName, String codeUnitName,
+        String message) throws IOException {
+        writer.write((index > 0 ? "," : "") + "{\"ruleId\":" + quote(kind.getRuleId())
+            + ",\"level\":" + quote(kind.getLevel())
+            + ",\"message\":{\"text\":" + quote(message) + "}"
+            + ",\"locations\":[{\"logicalLocations\":[{\"fullyQualifiedName\":" + quote(codeUnitName)
+            + ",\"kind\":\"function\"},{\"fullyQualifiedName\":" + quote(ownerName) + ",\"kind\":\"type\"}]}]}");
+        writer.newLine();
+    }
+
+    @Override
+    void writeFooter(BufferedWriter writer) throws IOException {
+        writer.write("]}]}");
+        writer.newLine();
+    }
+}
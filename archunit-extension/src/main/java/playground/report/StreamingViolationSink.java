@@ -0,0 +1,108 @@
+package playground.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Writes each finding right away and flushes regularly, so the memory needed is independent of the number of findings
+ * and consumers can follow the file while the analysis is running.
+ */
+abstract class StreamingViolationSink implements ViolationSink {
+
+    private static final int FLUSH_INTERVAL = 64;
+
+    private final Path target;
+    private final BufferedWriter writer;
+    private long reportedCount;
+    private boolean closed;
+
+    StreamingViolationSink(Path target) {
+        this.target = target;
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+            writeHeader(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open violation report " + target, e);
+        }
+    }
+
+    @Override
+    public synchronized void report(FindingKind kind, String ownerName, String codeUnitName, Supplier<String> message) {
+        try {
+            writeFinding(writer, reportedCount, kind, ownerName, codeUnitName, message.get());
+            reportedCount++;
+            if (reportedCount % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to violation report " + target, e);
+        }
+    }
+
+    @Override
+    public synchronized long getReportedCount() {
+        return reportedCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (BufferedWriter toClose = writer) {
+            writeFooter(toClose);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not complete violation report " + target, e);
+        }
+    }
+
+    abstract void writeHeader(BufferedWriter writer) throws IOException;
+
+    /**
+     * @param index the number of findings written before
+     */
+    abstract void writeFinding(BufferedWriter writer, long index, FindingKind kind, String ownerName, String codeUnitName,
+        String message) throws IOException;
+
+    abstract void writeFooter(BufferedWriter writer) throws IOException;
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,37 @@
+package playground.report;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Receives findings as soon as they are decided, instead of collecting them in an
+ * {@link com.tngtech.archunit.lang.EvaluationResult}. Messages are passed as suppliers and only rendered by sinks
+ * that actually write them.
+ */
+public interface ViolationSink extends Closeable {
+
+    void report(FindingKind kind, String ownerName, String codeUnitName, Supplier<String> message);
+
+    /**
+     * @return the number of findings reported so far
+     */
+    long getReportedCount();
+
+    @Override
+    void close();
+
+    /**
+     * @return a sink writing one JSON object per line to the given file
+     */
+    static ViolationSink jsonLines(Path target) {
+        return new JsonLinesViolationSink(target);
+    }
+
+    /**
+     * @return a sink writing a SARIF 2.1.0 log to the given file, which is completed when the sink is closed
+     */
+    static ViolationSink sarif(Path target) {
+        return new SarifViolationSink(target);
+    }
+}
@@ -0,0 +1,151 @@
+package playground.summary;
+
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PurenessClassification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes method summaries. A module publishes its summaries by packaging the file at {@link #LOCATION}
+ * within its jar, e.g. by exporting to <code>build/resources/main/META-INF/funccore/method-summaries.tsv</code>
+ * before the jar task runs. Consumers discover all published summaries on the classpath.
+ */
+public final class MethodSummaries {
+
+    public static final String LOCATION = "META-INF/funccore/method-summaries.tsv";
+
+    private static final String HEADER = "# funccore method summaries v1";
+    private static final String COMMENT = "#";
+
+    private final Map<String, MethodSummary> summaries;
+
+    private MethodSummaries(Map<String, MethodSummary> summaries) {
+        this.summaries = summaries;
+    }
+
+    public static MethodSummaries of(Collection<MethodSummary> summaries) {
+        return new MethodSummaries(summaries.stream()
+            .collect(Collectors.toMap(MethodSummary::getFullName, Function.identity(), (first, second) -> first, LinkedHashMap::new)));
+    }
+
+    /**
+     * Loads all summaries published under {@link #LOCATION} by any jar or directory of the classpath.
+     *
+     * @param classLoader class loader used to discover the summary files
+     * @return the merged summaries, where the first published summary of a code unit wins
+     */
+    public static MethodSummaries loadFromClasspath(ClassLoader classLoader) {
+        Map<String, MethodSummary> summaries = new LinkedHashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                try (InputStream input = resources.nextElement().openStream()) {
+                    read(input).summaries.forEach(summaries::putIfAbsent);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load method summaries from classpath", e);
+        }
+        return new MethodSummaries(summaries);
+    }
+
+    public static MethodSummaries read(InputStream input) throws IOException {
+        Map<String, MethodSummary> summaries = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank() && !line.startsWith(COMMENT)) {
+                MethodSummary summary = MethodSummary.fromLine(line);
+                summaries.putIfAbsent(summary.getFullName(), summary);
+            }
+        }
+        return new MethodSummaries(summaries);
+    }
+
+    public void writeTo(Path target) {
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                writeTo(writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write method summaries to " + target, e);
+        }
+    }
+
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+        for (MethodSummary summary : sorted()) {
+            writer.write(summary.toLine());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    public MethodSummaries filter(Predicate<MethodSummary> predicate) {
+        return new MethodSummaries(summaries.values().stream().filter(predicate)
+            .collect(Collectors.toMap(MethodSummary::getFullName, Function.identity(), (first, second) -> first, LinkedHashMap::new)));
+    }
+
+    public Map<String, PurenessClassification> getPurenessClassifications() {
+        Map<String, PurenessClassification> result = new HashMap<>();
+        summaries.values().stream()
+            .filter(summary -> !summary.getPureness().isTemporaryClassification())
+            .forEach(summary -> result.put(summary.getFullName(), summary.getPureness()));
+        return result;
+    }
+
+    public Map<String, DeterministicClassification> getDeterministicClassifications() {
+        Map<String, DeterministicClassification> result = new HashMap<>();
+        summaries.values().stream()
+            .filter(summary -> summary.getDeterminism() != DeterministicClassification.UNCHECKED
+                && summary.getDeterminism() != DeterministicClassification.UNSURE)
+            .forEach(summary -> result.put(summary.getFullName(), summary.getDeterminism()));
+        return result;
+    }
+
+    public Optional<MethodSummary> get(String fullName) {
+        return Optional.ofNullable(summaries.get(fullName));
+    }
+
+    public Collection<MethodSummary> getAll() {
+        return summaries.values();
+    }
+
+    public boolean isEmpty() {
+        return summaries.isEmpty();
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+
+    private Collection<MethodSummary> sorted() {
+        return summaries.values().stream()
+            .sorted(Comparator.comparing(MethodSummary::getFullName))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,98 @@
+package playground.summary;
+
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PurenessClassification;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The analysis result of a single code unit in a compact form that does not depend on the ArchUnit domain model.
+ */
+public final class MethodSummary {
+
+    private static final String SEPARATOR = "\t";
+    private static final String EFFECT_SEPARATOR = ",";
+
+    private final String ownerName;
+    private final String fullName;
+    private final PurenessClassification pureness;
+    private final DeterministicClassification determinism;
+    private final Set<SideEffect> effects;
+
+    public MethodSummary(String ownerName, String fullName, PurenessClassification pureness,
+                         DeterministicClassification determinism, Set<SideEffect> effects) {
+        this.ownerName = ownerName;
+        this.fullName = fullName;
+        this.pureness = pureness;
+        this.determinism = determinism;
+        this.effects = effects.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(effects));
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public PurenessClassification getPureness() {
+        return pureness;
+    }
+
+    public DeterministicClassification getDeterminism() {
+        return determinism;
+    }
+
+    public Set<SideEffect> getEffects() {
+        return effects;
+    }
+
+    public String getPackageName() {
+        int lastDot = ownerName.lastIndexOf('.');
+        return lastDot < 0 ? "" : ownerName.substring(0, lastDot);
+    }
+
+    String toLine() {
+        return ownerName + SEPARATOR + fullName + SEPARATOR + pureness.name() + SEPARATOR + determinism.name() + SEPARATOR
+            + effects.stream().map(Enum::name).collect(Collectors.joining(EFFECT_SEPARATOR));
+    }
+
+    static MethodSummary fromLine(String line) {
+        String[] columns = line.split(SEPARATOR, -1);
+        if (columns.length != 5) {
+            throw new IllegalArgumentException("Malformed method summary: " + line);
+        }
+        Set<SideEffect> effects = EnumSet.noneOf(SideEffect.class);
+        for (String effect : columns[4].split(EFFECT_SEPARATOR)) {
+            if (!effect.isEmpty()) {
+                effects.add(SideEffect.valueOf(effect));
+            }
+        }
+        return new MethodSummary(columns[0], columns[1], PurenessClassification.valueOf(columns[2]),
+            DeterministicClassification.valueOf(columns[3]), effects);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MethodSummary that = (MethodSummary) o;
+        return fullName.equals(that.fullName) && pureness == that.pureness && determinism == that.determinism
+            && effects.equals(that.effects);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fullName, pureness, determinism, effects);
+    }
+
+    @Override
+    public String toString() {
+        return fullName + " (" + pureness + ", " + determinism + ", " + effects + ")";
+    }
+}
@@ -0,0 +1,79 @@
+package playground.summary;
+
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import playground.deterministic.DetDataStore;
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Derives the {@link MethodSummary method summaries} of the code units classified during an analysis.
+ */
+public final class MethodSummaryCollector {
+
+    private final PureDataStore pureDataStore;
+    private final DetDataStore detDataStore;
+
+    public MethodSummaryCollector(PureDataStore pureDataStore, DetDataStore detDataStore) {
+        this.pureDataStore = pureDataStore;
+        this.detDataStore = detDataStore;
+    }
+
+    /**
+     * @param scope selects the code units that belong to the module to be summarized
+     * @return the summaries of all code units in scope that were finally classified
+     */
+    public MethodSummaries collect(Predicate<JavaCodeUnit> scope) {
+        List<MethodSummary> summaries = pureDataStore.getAllClassifications().entrySet().stream()
+            .filter(entry -> !entry.getValue().isTemporaryClassification())
+            .map(Map.Entry::getKey)
+            .filter(scope)
+            .map(this::summarize)
+            .collect(Collectors.toList());
+        return MethodSummaries.of(summaries);
+    }
+
+    MethodSummary summarize(JavaCodeUnit codeUnit) {
+        DeterministicClassification determinism = detDataStore == null
+            ? DeterministicClassification.UNCHECKED
+            : detDataStore.getDeterministicClassificationFor(codeUnit);
+        return new MethodSummary(codeUnit.getOwner().getName(), codeUnit.getFullName(),
+            pureDataStore.getClassificationFor(codeUnit), determinism, effectsOf(codeUnit));
+    }
+
+    private Set<SideEffect> effectsOf(JavaCodeUnit codeUnit) {
+        Set<SideEffect> effects = EnumSet.noneOf(SideEffect.class);
+        if (codeUnit.getModifiers().contains(JavaModifier.NATIVE)) {
+            effects.add(SideEffect.NATIVE);
+        }
+        for (JavaFieldAccess access : codeUnit.getFieldAccesses()) {
+            if (access.getAccessType().equals(JavaFieldAccess.AccessType.SET)) {
+                effects.add(access.getTarget().getOwner().equals(codeUnit.getOwner())
+                    ? SideEffect.WRITES_OWN_STATE
+                    : SideEffect.WRITES_FOREIGN_STATE);
+            }
+        }
+        for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+            for (JavaMethod target : call.getTarget().resolve()) {
+                PurenessClassification targetClassification = pureDataStore.getClassificationFor(target);
+                if (targetClassification == PurenessClassification.NOT_SEF) {
+                    effects.add(SideEffect.CALLS_NOT_SEF);
+                } else if (targetClassification == PurenessClassification.UNSURE) {
+                    effects.add(SideEffect.CALLS_UNSURE);
+                }
+            }
+        }
+        return effects;
+    }
+}
@@ -0,0 +1,13 @@
+package playground.summary;
+
+/**
+ * Kinds of effects a code unit was found to have during the analysis. They are published within the method summaries
+ * to explain a verdict to the consumers of a library.
+ */
+public enum SideEffect {
+    WRITES_OWN_STATE,
+    WRITES_FOREIGN_STATE,
+    NATIVE,
+    CALLS_NOT_SEF,
+    CALLS_UNSURE
+}
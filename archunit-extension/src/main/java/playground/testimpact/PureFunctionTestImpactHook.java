@@ -0,0 +1,157 @@
+package playground.testimpact;
+
+import net.jqwik.api.lifecycle.AroundPropertyHook;
+import net.jqwik.api.lifecycle.LifecycleContext;
+import net.jqwik.api.lifecycle.PropertyExecutionResult;
+import net.jqwik.api.lifecycle.PropertyExecutor;
+import net.jqwik.api.lifecycle.PropertyLifecycleContext;
+import net.jqwik.api.lifecycle.SkipExecutionHook;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Skips a property annotated with {@link TestsPureFunction} if it passed before and nothing it depends on changed since:
+ * the bytecode of the test class and the {@link TransitiveBytecodeHash transitive bytecode} of its code units and of the
+ * tested functions.
+ * This is only sound for functions without side effects, so a property is always executed if one of its functions isn't
+ * published as {@link PurenessClassification#SSEF} or {@link PurenessClassification#DSEF} in the
+ * {@link MethodSummaries method summaries} on the class path.
+ * <p>
+ * The cache is kept in <code>build/funccore/test-impact.tsv</code>, which can be changed by the system property
+ * {@value #CACHE_PROPERTY}. Setting the system property {@value #DISABLED_PROPERTY} to <code>true</code> runs all
+ * properties, e.g. for a nightly build.
+ */
+public class PureFunctionTestImpactHook implements SkipExecutionHook, AroundPropertyHook {
+
+    static final String CACHE_PROPERTY = "funccore.testImpact.cache";
+    static final String DISABLED_PROPERTY = "funccore.testImpact.disabled";
+
+    private static TestImpactCache sharedCache;
+    private static TransitiveBytecodeHash sharedBytecodeHash;
+    private static MethodSummaries sharedSummaries;
+
+    private final TestImpactCache cache;
+    private final TransitiveBytecodeHash bytecodeHash;
+    private final MethodSummaries summaries;
+
+    /**
+     * Used by jqwik, all instances share the cache and the summaries of the class path, which are loaded on first use.
+     */
+    public PureFunctionTestImpactHook() {
+        this(null, null, null);
+    }
+
+    PureFunctionTestImpactHook(TestImpactCache cache, TransitiveBytecodeHash bytecodeHash, MethodSummaries summaries) {
+        this.cache = cache;
+        this.bytecodeHash = bytecodeHash;
+        this.summaries = summaries;
+    }
+
+    @Override
+    public SkipResult shouldBeSkipped(LifecycleContext context) {
+        Optional<Method> property = context.optionalElement()
+            .filter(element -> element instanceof Method)
+            .map(element -> (Method) element);
+        if (property.isEmpty() || Boolean.getBoolean(DISABLED_PROPERTY)) {
+            return SkipResult.doNotSkip();
+        }
+        if (canBeSkipped(property.get())) {
+            return SkipResult.skip("tested pure functions and test are unchanged since the property passed");
+        }
+        return SkipResult.doNotSkip();
+    }
+
+    @Override
+    public PropertyExecutionResult aroundProperty(PropertyLifecycleContext context, PropertyExecutor property) {
+        PropertyExecutionResult result = property.execute();
+        recordResult(context.targetMethod(), result.status() == PropertyExecutionResult.Status.SUCCESSFUL);
+        return result;
+    }
+
+    boolean canBeSkipped(Method property) {
+        String hash = hashOf(property);
+        return hash != null && cache().hasPassedWith(idOf(property), hash);
+    }
+
+    void recordResult(Method property, boolean successful) {
+        if (successful) {
+            String hash = hashOf(property);
+            if (hash != null) {
+                cache().recordPassed(idOf(property), hash);
+            }
+        } else {
+            cache().recordFailed(idOf(property));
+        }
+    }
+
+    /**
+     * @return the hash of everything the property depends on or null if skipping it isn't safe
+     */
+    private String hashOf(Method property) {
+        TestsPureFunction annotation = property.getAnnotation(TestsPureFunction.class);
+        if (annotation == null) {
+            return null;
+        }
+        List<String> hashes = new ArrayList<>();
+        hashes.add(bytecodeHash().ofClass(property.getDeclaringClass()));
+        for (String function : annotation.value()) {
+            if (!isSideEffectFree(function)) {
+                return null;
+            }
+            hashes.add(bytecodeHash().of(function));
+        }
+        return hashes.contains(null) ? null : String.join("-", hashes);
+    }
+
+    private boolean isSideEffectFree(String function) {
+        return summaries().get(function)
+            .map(summary -> summary.getPureness().isAtLeast(PurenessClassification.DSEF))
+            .orElse(false);
+    }
+
+    private static String idOf(Method property) {
+        return property.getDeclaringClass().getName() + "#" + property.getName();
+    }
+
+    private TestImpactCache cache() {
+        return cache != null ? cache : sharedCache();
+    }
+
+    private TransitiveBytecodeHash bytecodeHash() {
+        return bytecodeHash != null ? bytecodeHash : sharedBytecodeHash();
+    }
+
+    private MethodSummaries summaries() {
+        return summaries != null ? summaries : sharedSummaries();
+    }
+
+    private static synchronized TestImpactCache sharedCache() {
+        if (sharedCache == null) {
+            Path file = Paths.get(System.getProperty(CACHE_PROPERTY, "build/funccore/test-impact.tsv"));
+            sharedCache = TestImpactCache.load(file);
+        }
+        return sharedCache;
+    }
+
+    private static synchronized TransitiveBytecodeHash sharedBytecodeHash() {
+        if (sharedBytecodeHash == null) {
+            sharedBytecodeHash = new TransitiveBytecodeHash(Thread.currentThread().getContextClassLoader());
+        }
+        return sharedBytecodeHash;
+    }
+
+    private static synchronized MethodSummaries sharedSummaries() {
+        if (sharedSummaries == null) {
+            sharedSummaries = MethodSummaries.loadFromClasspath(Thread.currentThread().getContextClassLoader());
+        }
+        return sharedSummaries;
+    }
+}
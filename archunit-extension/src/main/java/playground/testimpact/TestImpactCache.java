@@ -0,0 +1,72 @@
+package playground.testimpact;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers the hash each property had when it passed the last time. Stored as tab separated lines of property id and
+ * hash, so it can be kept between builds, e.g. in the build directory or a CI cache.
+ */
+final class TestImpactCache {
+
+    private final Path file;
+    private final Map<String, String> passedHashes = new TreeMap<>();
+
+    private TestImpactCache(Path file) {
+        this.file = file;
+    }
+
+    static TestImpactCache load(Path file) {
+        TestImpactCache cache = new TestImpactCache(file);
+        if (Files.exists(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] columns = line.split("\t");
+                    if (columns.length == 2) {
+                        cache.passedHashes.put(columns[0], columns[1]);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read test impact cache " + file, e);
+            }
+        }
+        return cache;
+    }
+
+    synchronized boolean hasPassedWith(String propertyId, String hash) {
+        return hash.equals(passedHashes.get(propertyId));
+    }
+
+    synchronized void recordPassed(String propertyId, String hash) {
+        passedHashes.put(propertyId, hash);
+        store();
+    }
+
+    synchronized void recordFailed(String propertyId) {
+        if (passedHashes.remove(propertyId) != null) {
+            store();
+        }
+    }
+
+    private void store() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : passedHashes.entrySet()) {
+                    writer.write(entry.getKey() + "\t" + entry.getValue());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test impact cache " + file, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package playground.testimpact;
+
+import net.jqwik.api.lifecycle.AddLifecycleHook;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a jqwik property as a test of pure functions of the core. As long as all of them are published as side effect
+ * free in the {@link playground.summary.MethodSummaries method summaries} and neither the test class nor the bytecode
+ * of the functions and their transitive callees changed since the property last passed, the property is skipped.
+ * See {@link PureFunctionTestImpactHook}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@AddLifecycleHook(PureFunctionTestImpactHook.class)
+public @interface TestsPureFunction {
+
+    /**
+     * @return full names of the tested code units, e.g. <code>app.Application.addNewElement(java.util.List, java.lang.String)</code>
+     */
+    String[] value();
+}
@@ -0,0 +1,384 @@
+package playground.testimpact;
+
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassReader;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Handle;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Label;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.MethodVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Opcodes;
+import playground.facts.AsmFactExtractor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Hashes the bytecode of a code unit together with the bytecode of every code unit it transitively calls. Two equal hashes
+ * mean that none of the instructions reachable from the code unit changed. Calls into the runtime image aren't followed,
+ * the version of the running JDK is hashed instead. Accesses to static fields add the static initializer of their class,
+ * method handles, e.g. of lambdas, are followed like calls.
+ * <p>
+ * Virtual calls are followed to the declared target and to every implementation in a subtype of its owner. The subtypes
+ * are looked up in the class directories of the class path, i.e. the classes of the project, classes in jars aren't
+ * considered as implementations.
+ */
+final class TransitiveBytecodeHash {
+
+    private static final String JDK_MARKER = "jdk:" + Runtime.version();
+    private static final String STATIC_INITIALIZER = "<clinit>";
+
+    private final ClassLoader classLoader;
+    private final Map<String, Map<String, MethodBytecode>> classes = new HashMap<>();
+    private final Map<String, String> hashes = new HashMap<>();
+    private final Map<String, Boolean> jdkClasses = new HashMap<>();
+    private Map<String, Set<String>> subtypes;
+
+    TransitiveBytecodeHash(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param codeUnitName the full name of the code unit as in ArchUnit
+     * @return the hex encoded hash or null if the code unit can't be found
+     */
+    synchronized String of(String codeUnitName) {
+        if (hashes.containsKey(codeUnitName)) {
+            return hashes.get(codeUnitName);
+        }
+        MethodBytecode root = find(codeUnitName);
+        String hash = root == null ? null : hash(root);
+        hashes.put(codeUnitName, hash);
+        return hash;
+    }
+
+    /**
+     * @return the hex encoded hash of the raw class file or null if it can't be found
+     */
+    /**
+     * @return the hex encoded hash of the raw class file and of the transitive bytecode of all its code units or null if
+     * it can't be found
+     */
+    synchronized String ofClass(Class<?> javaClass) {
+        byte[] classFile;
+        try (InputStream in = classLoader.getResourceAsStream(javaClass.getName().replace('.', '/') + ".class")) {
+            if (in == null) {
+                return null;
+            }
+            classFile = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MessageDigest digest = newDigest();
+        digest.update(classFile);
+        digest.update(hash(classes.computeIfAbsent(javaClass.getName(), this::read).values()).getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    private String hash(MethodBytecode root) {
+        return hash(List.of(root));
+    }
+
+    private String hash(Collection<MethodBytecode> roots) {
+        Map<String, byte[]> reachable = new TreeMap<>();
+        Set<String> visited = new HashSet<>();
+        Deque<MethodBytecode> toVisit = new ArrayDeque<>(roots);
+        while (!toVisit.isEmpty()) {
+            MethodBytecode method = toVisit.pop();
+            if (!visited.add(method.name)) {
+                continue;
+            }
+            reachable.put(method.name, method.digest);
+            for (String callee : method.callees) {
+                MethodBytecode calleeBytecode = find(callee);
+                if (calleeBytecode != null) {
+                    toVisit.push(calleeBytecode);
+                } else {
+                    reachable.put(callee, callee.startsWith(JDK_MARKER) ? new byte[0] : callee.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            for (String[] call : method.virtualCalls) {
+                for (String subtype : subtypesOf(call[0])) {
+                    MethodBytecode implementation = find(AsmFactExtractor.codeUnitNameOf(subtype, call[1], call[2]));
+                    if (implementation != null) {
+                        toVisit.push(implementation);
+                    }
+                }
+            }
+        }
+        MessageDigest digest = newDigest();
+        reachable.forEach((name, methodDigest) -> {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update(methodDigest);
+        });
+        return toHex(digest.digest());
+    }
+
+    private MethodBytecode find(String codeUnitName) {
+        if (codeUnitName.startsWith(JDK_MARKER)) {
+            return null;
+        }
+        int parameters = codeUnitName.indexOf('(');
+        String ownerName = codeUnitName.substring(0, codeUnitName.lastIndexOf('.', parameters < 0 ? codeUnitName.length() : parameters));
+        return classes.computeIfAbsent(ownerName, this::read).get(codeUnitName);
+    }
+
+    private Map<String, MethodBytecode> read(String className) {
+        String resource = className.replace('.', '/') + ".class";
+        URL location = classLoader.getResource(resource);
+        if (location == null || "jrt".equals(location.getProtocol())) {
+            return Map.of();
+        }
+        try (InputStream in = location.openStream()) {
+            Map<String, MethodBytecode> methods = new HashMap<>();
+            new ClassReader(in.readAllBytes()).accept(new ClassVisitor(Opcodes.ASM9) {
+                private String internalName;
+
+                @Override
+                public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                    internalName = name;
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    MethodBytecode method = new MethodBytecode(AsmFactExtractor.codeUnitNameOf(internalName, name, descriptor));
+                    methods.put(method.name, method);
+                    return method.new Recorder();
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return methods;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + location, e);
+        }
+    }
+
+    private Set<String> subtypesOf(String internalName) {
+        if (subtypes == null) {
+            subtypes = new HashMap<>();
+            classDirectories().forEach(this::indexSupertypes);
+        }
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> toVisit = new ArrayDeque<>(subtypes.getOrDefault(internalName, Set.of()));
+        while (!toVisit.isEmpty()) {
+            String subtype = toVisit.pop();
+            if (result.add(subtype)) {
+                toVisit.addAll(subtypes.getOrDefault(subtype, Set.of()));
+            }
+        }
+        return result;
+    }
+
+    private Set<Path> classDirectories() {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty() && Files.isDirectory(Paths.get(entry))) {
+                directories.add(Paths.get(entry).toAbsolutePath());
+            }
+        }
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    try {
+                        if ("file".equals(url.getProtocol()) && Files.isDirectory(Paths.get(url.toURI()))) {
+                            directories.add(Paths.get(url.toURI()).toAbsolutePath());
+                        }
+                    } catch (URISyntaxException e) {
+                        throw new IllegalArgumentException("Invalid class path entry " + url, e);
+                    }
+                }
+            }
+        }
+        return directories;
+    }
+
+    private void indexSupertypes(Path classDirectory) {
+        try (Stream<Path> files = Files.walk(classDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                ClassReader reader = new ClassReader(Files.readAllBytes(file));
+                if (reader.getSuperName() != null) {
+                    subtypes.computeIfAbsent(reader.getSuperName(), supertype -> new HashSet<>()).add(reader.getClassName());
+                }
+                for (String implemented : reader.getInterfaces()) {
+                    subtypes.computeIfAbsent(implemented, supertype -> new HashSet<>()).add(reader.getClassName());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + classDirectory, e);
+        }
+    }
+
+    private String calleeName(String ownerInternalName, String name, String descriptor) {
+        boolean isJdkClass = jdkClasses.computeIfAbsent(ownerInternalName, owner -> {
+            URL location = classLoader.getResource(owner + ".class");
+            return location != null && "jrt".equals(location.getProtocol());
+        });
+        return isJdkClass ? JDK_MARKER : AsmFactExtractor.codeUnitNameOf(ownerInternalName, name, descriptor);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private final class MethodBytecode {
+
+        private final String name;
+        private final List<String> callees = new ArrayList<>();
+        private final List<String[]> virtualCalls = new ArrayList<>();
+        private byte[] digest;
+
+        MethodBytecode(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Feeds every instruction into a digest, labels are replaced by their order of appearance.
+         */
+        private final class Recorder extends MethodVisitor {
+
+            private final MessageDigest instructions = newDigest();
+            private final Map<Label, Integer> labels = new HashMap<>();
+
+            Recorder() {
+                super(Opcodes.ASM9);
+            }
+
+            private void record(Object... parts) {
+                instructions.update(Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8));
+            }
+
+            private int idOf(Label label) {
+                return labels.computeIfAbsent(label, l -> labels.size());
+            }
+
+            @Override
+            public void visitInsn(int opcode) {
+                record(opcode);
+            }
+
+            @Override
+            public void visitIntInsn(int opcode, int operand) {
+                record(opcode, operand);
+            }
+
+            @Override
+            public void visitVarInsn(int opcode, int var) {
+                record(opcode, var);
+            }
+
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                record(opcode, type);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                record(opcode, owner, name, descriptor);
+                if (opcode == Opcodes.GETSTATIC || opcode == Opcodes.PUTSTATIC) {
+                    callees.add(calleeName(owner, STATIC_INITIALIZER, "()V"));
+                }
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                record(opcode, owner, name, descriptor);
+                callees.add(calleeName(owner, name, descriptor));
+                if (opcode == Opcodes.INVOKEVIRTUAL || opcode == Opcodes.INVOKEINTERFACE) {
+                    virtualCalls.add(new String[]{owner, name, descriptor});
+                }
+            }
+
+            @Override
+            public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethod, Object... bootstrapArguments) {
+                record(name, descriptor, bootstrapMethod.getOwner(), bootstrapMethod.getName(), bootstrapMethod.getDesc());
+                for (Object argument : bootstrapArguments) {
+                    if (argument instanceof Handle) {
+                        Handle handle = (Handle) argument;
+                        record(handle.getOwner(), handle.getName(), handle.getDesc());
+                        callees.add(calleeName(handle.getOwner(), handle.getName(), handle.getDesc()));
+                    } else {
+                        record(String.valueOf(argument));
+                    }
+                }
+            }
+
+            @Override
+            public void visitJumpInsn(int opcode, Label label) {
+                record(opcode, idOf(label));
+            }
+
+            @Override
+            public void visitLabel(Label label) {
+                record("label", idOf(label));
+            }
+
+            @Override
+            public void visitLdcInsn(Object value) {
+                record("ldc", value.getClass().getName(), String.valueOf(value));
+            }
+
+            @Override
+            public void visitIincInsn(int var, int increment) {
+                record("iinc", var, increment);
+            }
+
+            @Override
+            public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+                record("tableswitch", min, max, idOf(dflt), Arrays.stream(labels).map(this::idOf).toArray());
+            }
+
+            @Override
+            public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+                record("lookupswitch", idOf(dflt), keys, Arrays.stream(labels).map(this::idOf).toArray());
+            }
+
+            @Override
+            public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+                record("multianewarray", descriptor, numDimensions);
+            }
+
+            @Override
+            public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                record("try", idOf(start), idOf(end), idOf(handler), type);
+            }
+
+            @Override
+            public void visitEnd() {
+                digest = instructions.digest();
+            }
+        }
+    }
+}
@@ -3,33 +3,94 @@ package hamburg.kaischmidt.functionalcoredemo.core.domain;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public final class Agenda {
 
-    private final Set<Talk> talks;
+    private final HashTrieMap<String, Talk> talks;
+    private final OrderedTree<Talk> sortedTalks;
+    private final OrderedTree<TopicKey> topicIndex;
+    private final long version;
     private final String lastOperationMessage;
 
-    private Agenda(Set<Talk> talks, String lastOperationMessage) {
+    private Agenda(HashTrieMap<String, Talk> talks, OrderedTree<Talk> sortedTalks, OrderedTree<TopicKey> topicIndex,
+                   long version, String lastOperationMessage) {
         this.talks = talks;
+        this.sortedTalks = sortedTalks;
+        this.topicIndex = topicIndex;
+        this.version = version;
         this.lastOperationMessage = lastOperationMessage;
     }
 
     public static Agenda initializeAgenda() {
-        return new Agenda(Set.of(), "Keine Vorträge vorhanden");
+        return new Agenda(HashTrieMap.empty(), OrderedTree.empty(), OrderedTree.empty(), 0, "Keine Vorträge vorhanden");
+    }
+
+    public static Agenda restoreAgenda(List<Talk> talks) {
+        Agenda agenda = new Agenda(HashTrieMap.empty(), OrderedTree.empty(), OrderedTree.empty(), 0, String.format("%d Vorträge wiederhergestellt", talks.size()));
+        for (Talk talk : talks) {
+            agenda = agenda.withTalk(talk, agenda.lastOperationMessage);
+        }
+        return agenda;
     }
 
     Set<Talk> getTalks() {
-        return talks;
+        return Set.copyOf(talks.values());
     }
 
     public List<Talk> getTalksSortedByName() {
-        List<Talk> sortedTalks = new ArrayList<>(talks);
-        Collections.sort(sortedTalks);
-        return sortedTalks;
+        return sortedTalks.asList();
+    }
+
+    /**
+     * Finds the talks, whose topic starts with the query, ignoring case and surrounding whitespace. The matching talks
+     * are ordered by their topic ignoring case, and only the requested page of them is looked up.
+     *
+     * @param pageNumber the number of the page, starting with 0
+     */
+    public TalkPage findTalks(String query, int pageNumber, int pageSize) {
+        if (pageNumber < 0 || pageSize < 1) {
+            throw new IllegalArgumentException(String.format("Invalid page %d of size %d", pageNumber, pageSize));
+        }
+        String prefix = TopicKey.normalize(query);
+        TopicKey upperBound = TopicKey.upperBoundOf(prefix);
+        int firstMatch = topicIndex.countLessThan(TopicKey.lowerBoundOf(prefix));
+        int endOfMatches = upperBound == null ? topicIndex.size() : topicIndex.countLessThan(upperBound);
+        long pageStart = firstMatch + (long) pageNumber * pageSize;
+        long pageEnd = Math.min(endOfMatches, pageStart + pageSize);
+        List<TopicKey> index = topicIndex.asList();
+        List<Talk> pageTalks = new ArrayList<>();
+        for (long i = pageStart; i < pageEnd; i++) {
+            pageTalks.add(talks.get(index.get((int) i).getTopic()));
+        }
+        return new TalkPage(Collections.unmodifiableList(pageTalks), pageNumber, pageSize, endOfMatches - firstMatch);
+    }
+
+    public Optional<Talk> findTalk(String topic) {
+        return Optional.ofNullable(talks.get(topic));
+    }
+
+    /**
+     * As unchanged talks are shared between consecutive agendas, a talk counts as changed if the previous agenda does
+     * not hold the very same instance. Only the parts of the talks not shared with the previous agenda are compared.
+     *
+     * @return the talks, which were added or changed since the previous agenda, sorted by name
+     */
+    public List<Talk> getTalksChangedSince(Agenda previous) {
+        OrderedTree<Talk> changedTalks = OrderedTree.empty();
+        for (Talk talk : talks.valuesChangedSince(previous.talks)) {
+            changedTalks = changedTalks.insertOrReplace(talk);
+        }
+        return changedTalks.asList();
+    }
+
+    /**
+     * @return a number, which is increased by every transition changing a talk, starting with 0 for an initial agenda
+     */
+    public long getVersion() {
+        return version;
     }
 
     public String getLastOperationMessage() {
@@ -38,45 +99,54 @@ public final class Agenda {
 
     public Agenda addNewTalk(String topic) {
         return talkExists(topic)
-                ? new Agenda(talks, String.format("Vortrag %s existiert bereits", topic))
-                : new Agenda(addToCurrentList(Talk.createNewTalk(topic)), String.format("Vortrag %s erstellt", topic));
+                ? withMessage(String.format("Vortrag %s existiert bereits", topic))
+                : withTalk(Talk.createNewTalk(topic), String.format("Vortrag %s erstellt", topic));
     }
 
     public Agenda addRatingToTalk(String topic, Rating rating) {
         return !talkExists(topic)
-                ? new Agenda(talks, String.format("Keine Bewertung hinzugefügt. Vortrag %s ist nicht vorhanden", topic))
+                ? withMessage(String.format("Keine Bewertung hinzugefügt. Vortrag %s ist nicht vorhanden", topic))
                 : applyRating(topic, rating);
     }
 
     public Agenda toggleStatus(String topic) {
         return !talkExists(topic)
-                ? new Agenda(talks, String.format("Status unverändert. Spieler %s ist nicht vorhanden", topic))
-                : new Agenda(applyFunctionToTalk(topic, Talk::toggleStatus), String.format("Status für Spieler %s geändert", topic));
+                ? withMessage(String.format("Status unverändert. Spieler %s ist nicht vorhanden", topic))
+                : applyFunctionToTalk(topic, Talk::toggleStatus, String.format("Status für Spieler %s geändert", topic));
     }
 
     private boolean talkExists(String topic) {
-        return talks.stream().anyMatch(t -> t.getTopic().equals(topic));
+        return talks.containsKey(topic);
+    }
+
+    private Agenda applyFunctionToTalk(String topic, Function<Talk, Talk> function, String message) {
+        return withTalk(function.apply(talks.get(topic)), message);
     }
 
-    private Set<Talk> applyFunctionToTalk(String topic, Function<Talk, Talk> function) {
-        return talks.stream()
-                .map(talk -> talk.getTopic().equals(topic) ? function.apply(talk) : talk)
-                .collect(Collectors.toUnmodifiableSet());
+    private Agenda withTalk(Talk talk, String message) {
+        HashTrieMap<String, Talk> updatedTalks = talks.put(talk.getTopic(), talk);
+        if (updatedTalks == talks) {
+            return withMessage(message);
+        }
+        OrderedTree<TopicKey> updatedIndex = talks.containsKey(talk.getTopic())
+                ? topicIndex
+                : topicIndex.insertOrReplace(TopicKey.of(talk.getTopic()));
+        return new Agenda(updatedTalks, sortedTalks.insertOrReplace(talk), updatedIndex, version + 1, message);
+    }
+
+    private Agenda withMessage(String message) {
+        return new Agenda(talks, sortedTalks, topicIndex, version, message);
     }
 
     private Agenda applyRating(String topic, Rating rating) {
         switch (rating) {
             case TOP:
-                return new Agenda(applyFunctionToTalk(topic, Talk::addTop), String.format("Positive Bewertung zu Vortrag %s hinzugefügt", topic));
+                return applyFunctionToTalk(topic, Talk::addTop, String.format("Positive Bewertung zu Vortrag %s hinzugefügt", topic));
             case OKAY:
-                return new Agenda(applyFunctionToTalk(topic, Talk::addOkay), String.format("Neutrale Bewertung zu Vortrag %s hinzugefügt", topic));
+                return applyFunctionToTalk(topic, Talk::addOkay, String.format("Neutrale Bewertung zu Vortrag %s hinzugefügt", topic));
             case FLOP:
-                return new Agenda(applyFunctionToTalk(topic, Talk::addFlop), String.format("Negative Bewertung zu Vortrag %s hinzugefügt", topic));
+                return applyFunctionToTalk(topic, Talk::addFlop, String.format("Negative Bewertung zu Vortrag %s hinzugefügt", topic));
         }
-        return new Agenda(talks, String.format("Bewertung %s konnte nicht interpretiert werden", rating));
-    }
-
-    private Set<Talk> addToCurrentList(Talk newTalk) {
-        return Stream.concat(talks.stream(), Stream.of(newTalk)).collect(Collectors.toUnmodifiableSet());
+        return withMessage(String.format("Bewertung %s konnte nicht interpretiert werden", rating));
     }
 }
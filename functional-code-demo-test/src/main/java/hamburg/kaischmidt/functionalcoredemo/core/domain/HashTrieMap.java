@@ -0,0 +1,304 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A persistent hash array mapped trie. Lookups and updates follow one path through at most seven levels, and an update only
+ * copies the nodes on that path while sharing all others with the previous version. Values must not be null.
+ * <p>
+ * Arrays are copied element by element instead of by <code>System.arraycopy</code>, as the native copy can't be
+ * verified to be side effect free.
+ */
+final class HashTrieMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final HashTrieMap<?, ?> EMPTY = new HashTrieMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashTrieMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrieMap<K, V> empty() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the value of the key or null, if the key is not contained
+     */
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        return (V) root.find(key, key.hashCode(), 0);
+    }
+
+    boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return a map with the given value for the key, or this map, if it already contains exactly this value
+     */
+    HashTrieMap<K, V> put(K key, V value) {
+        Node newRoot = root.put(key, value, key.hashCode(), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new HashTrieMap<>(newRoot, containsKey(key) ? size : size + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a new list of all values in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<Object> values = new ArrayList<>(size);
+        root.collectValues(values);
+        return (List<V>) values;
+    }
+
+    /**
+     * Compares both tries node by node, skipping the subtrees shared with the previous map, so the costs depend on the
+     * number of changes rather than on the size of the map.
+     *
+     * @return a new list of the values, which the previous map doesn't hold as the very same instance for their key, in no
+     * particular order
+     */
+    @SuppressWarnings("unchecked")
+    List<V> valuesChangedSince(HashTrieMap<K, V> previous) {
+        List<Object> changed = new ArrayList<>();
+        root.collectChangedValues(previous.root, 0, changed);
+        return (List<V>) changed;
+    }
+
+    private interface Node {
+
+        Object find(Object key, int hash, int shift);
+
+        Node put(Object key, Object value, int hash, int shift);
+
+        void collectValues(List<Object> values);
+
+        /**
+         * @param previous the node at the same position of the previous trie
+         * @param shift    the shift of this node and the previous one
+         */
+        void collectChangedValues(Node previous, int shift, List<Object> changed);
+    }
+
+    /**
+     * Holds two array elements per bit set in the bitmap: either a key and its value or null and the subnode for all
+     * keys sharing the hash bits up to this level.
+     */
+    private static final class BitmapNode implements Node {
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * indexOf(bit);
+            Object keyOrNull = array[index];
+            Object valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                return ((Node) valueOrNode).find(key, hash, shift + BITS);
+            }
+            return key.equals(keyOrNull) ? valueOrNode : null;
+        }
+
+        @Override
+        public Node put(Object key, Object value, int hash, int shift) {
+            int bit = bitOf(hash, shift);
+            int index = 2 * indexOf(bit);
+            if ((bitmap & bit) == 0) {
+                return new BitmapNode(bitmap | bit, inserted(array, index, key, value));
+            }
+            Object keyOrNull = array[index];
+            Object valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                Node subnode = ((Node) valueOrNode).put(key, value, hash, shift + BITS);
+                return subnode == valueOrNode ? this : new BitmapNode(bitmap, replaced(array, index, null, subnode));
+            }
+            if (key.equals(keyOrNull)) {
+                return value == valueOrNode ? this : new BitmapNode(bitmap, replaced(array, index, key, value));
+            }
+            Node subnode = nodeOf(keyOrNull, valueOrNode, key, value, hash, shift + BITS);
+            return new BitmapNode(bitmap, replaced(array, index, null, subnode));
+        }
+
+        @Override
+        public void collectValues(List<Object> values) {
+            for (int index = 0; index < array.length; index += 2) {
+                if (array[index] == null) {
+                    ((Node) array[index + 1]).collectValues(values);
+                } else {
+                    values.add(array[index + 1]);
+                }
+            }
+        }
+
+        /**
+         * Walks both bitmaps in parallel, as long as the previous trie has a bitmap node at the same position. Otherwise the
+         * values are looked up in the previous node.
+         */
+        @Override
+        public void collectChangedValues(Node previous, int shift, List<Object> changed) {
+            if (previous == this) {
+                return;
+            }
+            int index = 0;
+            for (int remainingBits = bitmap; remainingBits != 0; remainingBits &= remainingBits - 1, index += 2) {
+                Object keyOrNull = array[index];
+                Object valueOrNode = array[index + 1];
+                if (keyOrNull != null) {
+                    if (previous.find(keyOrNull, keyOrNull.hashCode(), shift) != valueOrNode) {
+                        changed.add(valueOrNode);
+                    }
+                } else {
+                    Node previousSubnode = previousSubnodeAt(previous, Integer.lowestOneBit(remainingBits), shift);
+                    ((Node) valueOrNode).collectChangedValues(previousSubnode, shift + BITS, changed);
+                }
+            }
+        }
+
+        /**
+         * @return the node of the previous trie at the position of the bit, which is empty if there is none or holds the
+         * single entry found there
+         */
+        private static Node previousSubnodeAt(Node previous, int bit, int shift) {
+            if (!(previous instanceof BitmapNode)) {
+                return previous;
+            }
+            BitmapNode previousBitmapNode = (BitmapNode) previous;
+            if ((previousBitmapNode.bitmap & bit) == 0) {
+                return EMPTY;
+            }
+            int previousIndex = 2 * previousBitmapNode.indexOf(bit);
+            Object previousKeyOrNull = previousBitmapNode.array[previousIndex];
+            Object previousValueOrNode = previousBitmapNode.array[previousIndex + 1];
+            if (previousKeyOrNull == null) {
+                return (Node) previousValueOrNode;
+            }
+            return EMPTY.put(previousKeyOrNull, previousValueOrNode, previousKeyOrNull.hashCode(), shift + BITS);
+        }
+
+        private int indexOf(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static Node nodeOf(Object firstKey, Object firstValue, Object secondKey, Object secondValue, int secondHash, int shift) {
+            int firstHash = firstKey.hashCode();
+            if (firstHash == secondHash) {
+                return new CollisionNode(firstHash, new Object[]{firstKey, firstValue, secondKey, secondValue});
+            }
+            return EMPTY.put(firstKey, firstValue, firstHash, shift).put(secondKey, secondValue, secondHash, shift);
+        }
+    }
+
+    /**
+     * Holds all keys with the same hash, as they can't be told apart by the bitmap nodes.
+     */
+    private static final class CollisionNode implements Node {
+
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (int index = 0; index < array.length; index += 2) {
+                if (key.equals(array[index])) {
+                    return array[index + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(Object key, Object value, int hash, int shift) {
+            if (hash != this.hash) {
+                return new BitmapNode(bitOf(this.hash, shift), new Object[]{null, this}).put(key, value, hash, shift);
+            }
+            for (int index = 0; index < array.length; index += 2) {
+                if (key.equals(array[index])) {
+                    return value == array[index + 1] ? this : new CollisionNode(hash, replaced(array, index, key, value));
+                }
+            }
+            return new CollisionNode(hash, inserted(array, array.length, key, value));
+        }
+
+        @Override
+        public void collectValues(List<Object> values) {
+            for (int index = 0; index < array.length; index += 2) {
+                values.add(array[index + 1]);
+            }
+        }
+
+        @Override
+        public void collectChangedValues(Node previous, int shift, List<Object> changed) {
+            if (previous == this) {
+                return;
+            }
+            for (int index = 0; index < array.length; index += 2) {
+                if (previous.find(array[index], hash, shift) != array[index + 1]) {
+                    changed.add(array[index + 1]);
+                }
+            }
+        }
+    }
+
+    private static int bitOf(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object[] inserted(Object[] array, int index, Object first, Object second) {
+        Object[] copy = new Object[array.length + 2];
+        for (int i = 0; i < index; i++) {
+            copy[i] = array[i];
+        }
+        copy[index] = first;
+        copy[index + 1] = second;
+        for (int i = index; i < array.length; i++) {
+            copy[i + 2] = array[i];
+        }
+        return copy;
+    }
+
+    private static Object[] replaced(Object[] array, int index, Object first, Object second) {
+        Object[] copy = new Object[array.length];
+        for (int i = 0; i < array.length; i++) {
+            copy[i] = array[i];
+        }
+        copy[index] = first;
+        copy[index + 1] = second;
+        return copy;
+    }
+}
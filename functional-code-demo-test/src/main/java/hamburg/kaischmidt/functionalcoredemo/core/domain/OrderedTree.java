@@ -0,0 +1,202 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent AVL tree keeping its elements in their natural order, where elements comparing as equal replace each
+ * other. An insertion copies only the nodes on the path to the element, all others are shared with the previous
+ * version. As each node knows the size of its subtree, the tree is exposed as an ordered {@link List} without sorting
+ * or copying.
+ */
+final class OrderedTree<T extends Comparable<? super T>> {
+
+    private static final OrderedTree<?> EMPTY = new OrderedTree<>(null);
+
+    private final Node<T> root;
+
+    private OrderedTree(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<? super T>> OrderedTree<T> empty() {
+        return (OrderedTree<T>) EMPTY;
+    }
+
+    /**
+     * @return a tree containing the element instead of an equal one, or this tree, if it already contains the element
+     */
+    OrderedTree<T> insertOrReplace(T element) {
+        Node<T> newRoot = insert(root, element);
+        return newRoot == root ? this : new OrderedTree<>(newRoot);
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * @return the number of elements less than the bound, which is the index of the bound in the list view if the tree
+     * contains it, in O(log n)
+     */
+    int countLessThan(T bound) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (node.element.compareTo(bound) < 0) {
+                count += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return an unmodifiable view with access by index in O(log n) and iteration in O(n)
+     */
+    List<T> asList() {
+        return new ListView<>(root);
+    }
+
+    private static <T extends Comparable<? super T>> Node<T> insert(Node<T> node, T element) {
+        if (node == null) {
+            return new Node<>(element, null, null);
+        }
+        int comparison = element.compareTo(node.element);
+        if (comparison == 0) {
+            return element == node.element ? node : new Node<>(element, node.left, node.right);
+        }
+        if (comparison < 0) {
+            Node<T> left = insert(node.left, element);
+            return left == node.left ? node : balance(node.element, left, node.right);
+        }
+        Node<T> right = insert(node.right, element);
+        return right == node.right ? node : balance(node.element, node.left, right);
+    }
+
+    private static <T> Node<T> balance(T element, Node<T> left, Node<T> right) {
+        int difference = heightOf(left) - heightOf(right);
+        if (difference > 1) {
+            if (heightOf(left.left) < heightOf(left.right)) {
+                left = rotateLeft(left.element, left.left, left.right);
+            }
+            return rotateRight(element, left, right);
+        }
+        if (difference < -1) {
+            if (heightOf(right.right) < heightOf(right.left)) {
+                right = rotateRight(right.element, right.left, right.right);
+            }
+            return rotateLeft(element, left, right);
+        }
+        return new Node<>(element, left, right);
+    }
+
+    private static <T> Node<T> rotateRight(T element, Node<T> left, Node<T> right) {
+        return new Node<>(left.element, left.left, new Node<>(element, left.right, right));
+    }
+
+    private static <T> Node<T> rotateLeft(T element, Node<T> left, Node<T> right) {
+        return new Node<>(right.element, new Node<>(element, left, right.left), right.right);
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T element;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final int height;
+        private final int size;
+
+        private Node(T element, Node<T> left, Node<T> right) {
+            this.element = element;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+        }
+    }
+
+    private static final class ListView<T> extends AbstractList<T> {
+        private final Node<T> root;
+
+        private ListView(Node<T> root) {
+            this.root = root;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            Node<T> node = root;
+            while (true) {
+                int leftSize = sizeOf(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index == leftSize) {
+                    return node.element;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return sizeOf(root);
+        }
+
+        /**
+         * Traverses the tree in order instead of looking up each index from the root.
+         */
+        @Override
+        public Iterator<T> iterator() {
+            return new InOrderIterator<>(root);
+        }
+    }
+
+    private static final class InOrderIterator<T> implements Iterator<T> {
+        private final Deque<Node<T>> path = new ArrayDeque<>();
+
+        private InOrderIterator(Node<T> root) {
+            pushLeftEdge(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = path.pop();
+            pushLeftEdge(node.right);
+            return node.element;
+        }
+
+        private void pushLeftEdge(Node<T> node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
@@ -22,6 +22,10 @@ public final class Talk implements Comparable<Talk> {
         return new Talk(name, 0, 0, 0, false);
     }
 
+    public static Talk restoreTalk(String name, int top, int okay, int flop, boolean canBeRated) {
+        return new Talk(name, top, okay, flop, canBeRated);
+    }
+
     public String getTopic() {
         return topic;
     }
@@ -0,0 +1,49 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import java.util.List;
+
+/**
+ * One page of the talks matching a query, together with the information needed to navigate to the other pages.
+ */
+public final class TalkPage {
+
+    private final List<Talk> talks;
+    private final int pageNumber;
+    private final int pageSize;
+    private final int totalMatches;
+
+    TalkPage(List<Talk> talks, int pageNumber, int pageSize, int totalMatches) {
+        this.talks = talks;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalMatches = totalMatches;
+    }
+
+    public List<Talk> getTalks() {
+        return talks;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public int getTotalPages() {
+        return (totalMatches + pageSize - 1) / pageSize;
+    }
+
+    public boolean hasPreviousPage() {
+        return pageNumber > 0;
+    }
+
+    public boolean hasNextPage() {
+        return (long) (pageNumber + 1) * pageSize < totalMatches;
+    }
+}
@@ -0,0 +1,70 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import java.util.Locale;
+
+/**
+ * The key of a talk in the topic index of an {@link Agenda}. Keys are ordered by their normalized topic, so talks
+ * matching a normalized prefix form a contiguous range, and by their original topic among equally normalized ones.
+ */
+final class TopicKey implements Comparable<TopicKey> {
+
+    private final String normalizedTopic;
+    private final String topic;
+
+    private TopicKey(String normalizedTopic, String topic) {
+        this.normalizedTopic = normalizedTopic;
+        this.topic = topic;
+    }
+
+    static TopicKey of(String topic) {
+        return new TopicKey(normalize(topic), topic);
+    }
+
+    /**
+     * @return a key preceding all keys, whose normalized topic starts with the normalized prefix
+     */
+    static TopicKey lowerBoundOf(String normalizedPrefix) {
+        return new TopicKey(normalizedPrefix, "");
+    }
+
+    /**
+     * @return a key following all keys, whose normalized topic starts with the normalized prefix, or null if there is
+     * no such key, as all keys start with it
+     */
+    static TopicKey upperBoundOf(String normalizedPrefix) {
+        for (int i = normalizedPrefix.length() - 1; i >= 0; i--) {
+            char character = normalizedPrefix.charAt(i);
+            if (character != Character.MAX_VALUE) {
+                return new TopicKey(normalizedPrefix.substring(0, i) + (char) (character + 1), "");
+            }
+        }
+        return null;
+    }
+
+    static String normalize(String topic) {
+        return topic.strip().toLowerCase(Locale.ROOT);
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public int compareTo(TopicKey other) {
+        int comparison = normalizedTopic.compareTo(other.normalizedTopic);
+        return comparison != 0 ? comparison : topic.compareTo(other.topic);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TopicKey topicKey = (TopicKey) o;
+        return topic.equals(topicKey.topic);
+    }
+
+    @Override
+    public int hashCode() {
+        return topic.hashCode();
+    }
+}
@@ -5,15 +5,15 @@ import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class TalkRepresentation {
+public final class TalkRepresentation {
 
-    private String topic;
-    private int top;
-    private int okay;
-    private int flop;
-    private String canBeRated;
-    private boolean rateEnabled;
-    private String statusButtonText;
+    private final String topic;
+    private final int top;
+    private final int okay;
+    private final int flop;
+    private final String canBeRated;
+    private final boolean rateEnabled;
+    private final String statusButtonText;
 
     static final String BEWERTBAR = "Ja";
     static final String NICHT_BEWERTBAR = "Nein";
@@ -21,7 +21,14 @@ public class TalkRepresentation {
     static final String STOPPEN = "Stoppen";
     static final String FREISCHALTEN = "Freischalten";
 
-    private TalkRepresentation() {
+    private TalkRepresentation(String topic, int top, int okay, int flop, boolean canBeRated) {
+        this.topic = topic;
+        this.top = top;
+        this.okay = okay;
+        this.flop = flop;
+        this.canBeRated = canBeRated ? BEWERTBAR : NICHT_BEWERTBAR;
+        this.rateEnabled = canBeRated;
+        this.statusButtonText = canBeRated ? STOPPEN : FREISCHALTEN;
     }
 
     public String getHeadline() {
@@ -54,47 +61,11 @@ public class TalkRepresentation {
 
     public static List<TalkRepresentation> listFrom(List<Talk> talkList) {
         return talkList.stream()
-                .map(TalkRepresentation::mapFields)
+                .map(TalkRepresentation::of)
                 .collect(Collectors.toList());
     }
 
-    private static TalkRepresentation mapFields(Talk talk) {
-        var representation = new TalkRepresentation();
-        representation.setTopic(talk.getTopic());
-        representation.setTop(talk.getTop());
-        representation.setOkay(talk.getOkay());
-        representation.setFlop(talk.getFlop());
-        representation.setCanBeRated(talk.canBeRated());
-        representation.setRateEnabled(talk.canBeRated());
-        representation.setStatusButtonText(talk.canBeRated() ? STOPPEN : FREISCHALTEN);
-        return representation;
-    }
-
-    private void setTopic(String topic) {
-        this.topic = topic;
-    }
-
-    private void setTop(int top) {
-        this.top = top;
-    }
-
-    private void setOkay(int okay) {
-        this.okay = okay;
-    }
-
-    private void setFlop(int flop) {
-        this.flop = flop;
-    }
-
-    private void setCanBeRated(boolean canBeRated) {
-        this.canBeRated = canBeRated ? BEWERTBAR : NICHT_BEWERTBAR;
-    }
-
-    private void setRateEnabled(boolean rateEnabled) {
-        this.rateEnabled = rateEnabled;
-    }
-
-    private void setStatusButtonText(String statusButtonText) {
-        this.statusButtonText = statusButtonText;
+    public static TalkRepresentation of(Talk talk) {
+        return new TalkRepresentation(talk.getTopic(), talk.getTop(), talk.getOkay(), talk.getFlop(), talk.canBeRated());
     }
 }
@@ -0,0 +1,115 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes the latest offered {@link AgendaSnapshot} to a file on a background thread in a fixed interval. A snapshot
+ * is written to a temporary file first and then moved over the previous one, so a crash never leaves a partially
+ * written snapshot behind. Once a snapshot is written, the journal segments preceding it are deleted.
+ */
+final class AgendaCheckpointer implements AutoCloseable {
+
+    static final String SNAPSHOT_FILE_NAME = "agenda.snapshot";
+
+    private final Logger log = LoggerFactory.getLogger(AgendaCheckpointer.class);
+
+    private final Path snapshotFile;
+    private final CommandJournal journal;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "agenda-checkpointer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile AgendaSnapshot latestSnapshot;
+    private AgendaSnapshot writtenSnapshot;
+
+    AgendaCheckpointer(Path directory, CommandJournal journal, long intervalSeconds) {
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+        this.journal = journal;
+        executor.scheduleWithFixedDelay(this::writeLatestSnapshot, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Loads the snapshot in the directory through a memory-mapped read.
+     *
+     * @return the snapshot or null, if there is none
+     */
+    static AgendaSnapshot load(Path directory) {
+        Path file = directory.resolve(SNAPSHOT_FILE_NAME);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return AgendaSnapshot.decode(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the agenda snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Offers the agenda as it is after applying all journaled commands up to the position. Only the latest offered
+     * snapshot is written.
+     */
+    void offer(Agenda agenda, CommandJournal.Position journalPosition) {
+        latestSnapshot = new AgendaSnapshot(agenda, journalPosition);
+    }
+
+    /**
+     * Stops the background thread and writes the latest offered snapshot.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLatestSnapshot();
+    }
+
+    private synchronized void writeLatestSnapshot() {
+        AgendaSnapshot snapshot = latestSnapshot;
+        if (snapshot == null || snapshot == writtenSnapshot) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] bytes = snapshot.encode();
+            Path temporaryFile = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryFile, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            writtenSnapshot = snapshot;
+            journal.deleteSegmentsBefore(snapshot.getJournalPosition());
+            log.info("Agenda checkpointed at journal position " + snapshot.getJournalPosition() + " with " + bytes.length + " bytes within " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Agenda could not be checkpointed: " + e);
+        }
+    }
+}
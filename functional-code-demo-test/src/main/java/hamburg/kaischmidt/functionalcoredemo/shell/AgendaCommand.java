@@ -0,0 +1,86 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A request to change the agenda, expressed as one of the pure transitions of the core. Commands are plain data, so
+ * they can be journaled and replayed.
+ */
+final class AgendaCommand implements UnaryOperator<Agenda> {
+
+    enum Type {
+        ADD_TALK, ADD_RATING, TOGGLE_STATUS
+    }
+
+    private final Type type;
+    private final String topic;
+    private final Rating rating;
+
+    AgendaCommand(Type type, String topic, Rating rating) {
+        this.type = Objects.requireNonNull(type);
+        this.topic = Objects.requireNonNull(topic);
+        this.rating = type == Type.ADD_RATING ? Objects.requireNonNull(rating) : null;
+    }
+
+    static AgendaCommand addTalk(String topic) {
+        return new AgendaCommand(Type.ADD_TALK, topic, null);
+    }
+
+    static AgendaCommand addRating(String topic, Rating rating) {
+        return new AgendaCommand(Type.ADD_RATING, topic, rating);
+    }
+
+    static AgendaCommand toggleStatus(String topic) {
+        return new AgendaCommand(Type.TOGGLE_STATUS, topic, null);
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return the rating of an {@link Type#ADD_RATING} command, null for all others
+     */
+    Rating getRating() {
+        return rating;
+    }
+
+    @Override
+    public Agenda apply(Agenda agenda) {
+        switch (type) {
+            case ADD_TALK:
+                return agenda.addNewTalk(topic);
+            case ADD_RATING:
+                return agenda.addRatingToTalk(topic, rating);
+            case TOGGLE_STATUS:
+                return agenda.toggleStatus(topic);
+        }
+        throw new IllegalStateException("Unknown command type " + type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AgendaCommand that = (AgendaCommand) o;
+        return type == that.type && topic.equals(that.topic) && rating == that.rating;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, topic, rating);
+    }
+
+    @Override
+    public String toString() {
+        return rating == null ? type + " " + topic : type + " " + topic + " " + rating;
+    }
+}
@@ -0,0 +1,15 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a command can't be held by the {@link CommandJournal}, so only this command is rejected.
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+class AgendaCommandTooLargeException extends RuntimeException {
+
+    AgendaCommandTooLargeException(String message) {
+        super(message);
+    }
+}
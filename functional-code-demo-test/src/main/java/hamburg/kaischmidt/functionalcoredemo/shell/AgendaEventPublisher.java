@@ -0,0 +1,101 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+import hamburg.kaischmidt.functionalcoredemo.core.presentation.TalkRepresentation;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the talks changed since the last publication to all subscribed browsers as server-sent events. The current
+ * agenda is compared to the last published one in a fixed interval, so a burst of ratings results in one event per
+ * interval, holding only the talks that changed within it.
+ */
+@Component
+class AgendaEventPublisher implements SmartLifecycle {
+
+    static final String TALKS_EVENT = "talks";
+
+    private static final long PUBLISH_INTERVAL_MILLIS = 200;
+    private static final long SUBSCRIPTION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final ApplicationState applicationState;
+    private final TalkRepresentationCache talkRepresentations;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService executor;
+    private Agenda publishedAgenda;
+
+    AgendaEventPublisher(ApplicationState applicationState, TalkRepresentationCache talkRepresentations) {
+        this.applicationState = applicationState;
+        this.talkRepresentations = talkRepresentations;
+    }
+
+    SseEmitter subscribe() {
+        SseEmitter subscriber = new SseEmitter(SUBSCRIPTION_TIMEOUT_MILLIS);
+        subscriber.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.onTimeout(subscriber::complete);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    @Override
+    public void start() {
+        publishedAgenda = applicationState.getAgenda();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "agenda-event-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::publishChanges, PUBLISH_INTERVAL_MILLIS, PUBLISH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdownNow();
+        executor = null;
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void publishChanges() {
+        Agenda currentAgenda = applicationState.getAgenda();
+        if (currentAgenda == publishedAgenda) {
+            return;
+        }
+        if (!subscribers.isEmpty()) {
+            List<Talk> changedTalks = currentAgenda.getTalksChangedSince(publishedAgenda);
+            if (!changedTalks.isEmpty()) {
+                send(talkRepresentations.listFrom(changedTalks));
+            }
+        }
+        publishedAgenda = currentAgenda;
+    }
+
+    /**
+     * Builds the event for each subscriber, as an event builder collects its data while it is built, so it can't be
+     * sent twice.
+     */
+    private void send(List<TalkRepresentation> changedTalks) {
+        for (SseEmitter subscriber : subscribers) {
+            try {
+                subscriber.send(SseEmitter.event().name(TALKS_EVENT).data(changedTalks, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.TalkPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Renders the agenda page and keeps the renderings of the latest agenda, so all requests for the same agenda share one
+ * rendering. As agendas are immutable and only change their talks along with their version, a page is identified by the
+ * version of its agenda and the request it answers, which carries the message to show. An agenda that merely got a new
+ * message therefore shares the renderings of its predecessor. The entity tag is derived from the version as well, a
+ * start-up marker in it invalidates the tags of earlier runs.
+ * <p>
+ * The renderings are dropped as a whole as soon as a newer version is rendered. The first request for a page renders it
+ * outside of any lock, concurrent requests for the same page wait for that rendering.
+ */
+@Component
+class AgendaPageCache {
+
+    private static final String TEMPLATE = "talk-list";
+    private static final int MAXIMUM_PAGES_PER_AGENDA = 16;
+
+    private final String startupMarker = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final ITemplateEngine templateEngine;
+    private final TalkRepresentationCache talkRepresentations;
+    private final String title;
+
+    private final AtomicReference<Renderings> latest = new AtomicReference<>(new Renderings(-1));
+
+    AgendaPageCache(ITemplateEngine templateEngine, TalkRepresentationCache talkRepresentations, @Value("${demo.title}") String title) {
+        this.templateEngine = templateEngine;
+        this.talkRepresentations = talkRepresentations;
+        this.title = title;
+    }
+
+    String eTagOf(Agenda agenda, PageRequest request) {
+        return "\"" + startupMarker + "-" + agenda.getVersion() + "-" + Integer.toHexString(request.hashCode()) + "\"";
+    }
+
+    RenderedPage render(Agenda agenda, PageRequest request) {
+        ConcurrentHashMap<PageRequest, CompletableFuture<RenderedPage>> pages = renderingsOf(agenda).pages;
+        CompletableFuture<RenderedPage> page = pages.get(request);
+        if (page == null) {
+            if (pages.size() >= MAXIMUM_PAGES_PER_AGENDA) {
+                return renderPage(agenda, request);
+            }
+            CompletableFuture<RenderedPage> rendering = new CompletableFuture<>();
+            page = pages.putIfAbsent(request, rendering);
+            if (page == null) {
+                return renderInto(rendering, pages, agenda, request);
+            }
+        }
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @return the renderings of the version of the agenda, which replace the kept ones unless the version is older
+     */
+    private Renderings renderingsOf(Agenda agenda) {
+        while (true) {
+            Renderings current = latest.get();
+            if (current.version == agenda.getVersion()) {
+                return current;
+            }
+            Renderings renderings = new Renderings(agenda.getVersion());
+            if (current.version > agenda.getVersion()) {
+                return renderings;
+            }
+            if (latest.compareAndSet(current, renderings)) {
+                return renderings;
+            }
+        }
+    }
+
+    /**
+     * A failed rendering is removed again, so the next request tries again instead of failing as well.
+     */
+    private RenderedPage renderInto(CompletableFuture<RenderedPage> rendering,
+                                    ConcurrentHashMap<PageRequest, CompletableFuture<RenderedPage>> pages, Agenda agenda, PageRequest request) {
+        try {
+            RenderedPage page = renderPage(agenda, request);
+            rendering.complete(page);
+            return page;
+        } catch (RuntimeException e) {
+            pages.remove(request, rendering);
+            rendering.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private RenderedPage renderPage(Agenda agenda, PageRequest request) {
+        TalkPage talkPage = agenda.findTalks(request.query, request.pageNumber, request.pageSize);
+        Context context = new Context(Locale.GERMAN);
+        context.setVariable("title", title);
+        context.setVariable("topicCreateMessage", request.message);
+        context.setVariable("query", request.query);
+        context.setVariable("talks", talkRepresentations.listFrom(talkPage.getTalks()));
+        context.setVariable("pageNumber", talkPage.getPageNumber() + 1);
+        context.setVariable("totalPages", Math.max(1, talkPage.getTotalPages()));
+        context.setVariable("previousPageLink", talkPage.hasPreviousPage() ? linkTo(request, talkPage.getPageNumber() - 1) : null);
+        context.setVariable("nextPageLink", talkPage.hasNextPage() ? linkTo(request, talkPage.getPageNumber() + 1) : null);
+        String html = templateEngine.process(TEMPLATE, context);
+        return new RenderedPage(html, eTagOf(agenda, request));
+    }
+
+    private static String linkTo(PageRequest request, int pageNumber) {
+        return "/?query=" + URLEncoder.encode(request.query, StandardCharsets.UTF_8) + "&page=" + pageNumber + "&size=" + request.pageSize;
+    }
+
+    /**
+     * The page of the agenda requested by a client, with the message to show on it.
+     */
+    static final class PageRequest {
+        private final String message;
+        private final String query;
+        private final int pageNumber;
+        private final int pageSize;
+
+        PageRequest(String message, String query, int pageNumber, int pageSize) {
+            this.message = message;
+            this.query = query;
+            this.pageNumber = pageNumber;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageRequest that = (PageRequest) o;
+            return pageNumber == that.pageNumber && pageSize == that.pageSize && message.equals(that.message) && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(message, query, pageNumber, pageSize);
+        }
+    }
+
+    static final class RenderedPage {
+        private final String html;
+        private final String eTag;
+
+        private RenderedPage(String html, String eTag) {
+            this.html = html;
+            this.eTag = eTag;
+        }
+
+        String getHtml() {
+            return html;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+    }
+
+    /**
+     * The pages rendered for one version of the agenda.
+     */
+    private static final class Renderings {
+        private final long version;
+        private final ConcurrentHashMap<PageRequest, CompletableFuture<RenderedPage>> pages = new ConcurrentHashMap<>();
+
+        private Renderings(long version) {
+            this.version = version;
+        }
+    }
+}
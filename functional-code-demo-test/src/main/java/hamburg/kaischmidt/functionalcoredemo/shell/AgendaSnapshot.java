@@ -0,0 +1,154 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An {@link Agenda} together with the position in the {@link CommandJournal} it reflects, and its compact binary
+ * encoding.
+ * <p>
+ * The encoding starts with a magic number and a format version, followed by the journal position and the talks in
+ * the order of their topics. The topics form a front-coded dictionary, i.e. each topic only stores the length of the
+ * prefix it shares with the previous one and the remaining suffix. All numbers are written as unsigned varints. A
+ * CRC32 of everything before it ends the encoding.
+ */
+final class AgendaSnapshot {
+
+    static final int MAGIC = 0x41474e44;
+    static final byte VERSION = 1;
+
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int RATABLE = 1;
+
+    private final Agenda agenda;
+    private final CommandJournal.Position journalPosition;
+
+    AgendaSnapshot(Agenda agenda, CommandJournal.Position journalPosition) {
+        this.agenda = agenda;
+        this.journalPosition = journalPosition;
+    }
+
+    Agenda getAgenda() {
+        return agenda;
+    }
+
+    CommandJournal.Position getJournalPosition() {
+        return journalPosition;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeInt(out, MAGIC);
+        out.write(VERSION);
+        writeVarint(out, journalPosition.getSegment());
+        writeVarint(out, journalPosition.getOffset());
+        List<Talk> talks = agenda.getTalksSortedByName();
+        writeVarint(out, talks.size());
+        byte[] previousTopic = new byte[0];
+        for (Talk talk : talks) {
+            byte[] topic = talk.getTopic().getBytes(StandardCharsets.UTF_8);
+            int sharedPrefix = sharedPrefixLength(previousTopic, topic);
+            writeVarint(out, sharedPrefix);
+            writeVarint(out, topic.length - sharedPrefix);
+            out.write(topic, sharedPrefix, topic.length - sharedPrefix);
+            out.write(talk.canBeRated() ? RATABLE : 0);
+            writeVarint(out, talk.getTop());
+            writeVarint(out, talk.getOkay());
+            writeVarint(out, talk.getFlop());
+            previousTopic = topic;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(out.toByteArray());
+        writeInt(out, (int) checksum.getValue());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot from the remaining bytes of the buffer.
+     *
+     * @throws IllegalArgumentException if the bytes are no intact snapshot of a known version
+     */
+    static AgendaSnapshot decode(ByteBuffer buffer) {
+        ByteBuffer bytes = buffer.slice();
+        if (bytes.remaining() < Integer.BYTES + 1 + CHECKSUM_SIZE || bytes.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The data is no agenda snapshot");
+        }
+        byte version = bytes.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported agenda snapshot version " + version);
+        }
+        int checksumOffset = bytes.limit() - CHECKSUM_SIZE;
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.duplicate().position(0).limit(checksumOffset));
+        if ((int) checksum.getValue() != bytes.getInt(checksumOffset)) {
+            throw new IllegalArgumentException("The agenda snapshot is corrupted");
+        }
+        bytes.limit(checksumOffset);
+        try {
+            CommandJournal.Position journalPosition = new CommandJournal.Position(readVarint(bytes), readVarint(bytes));
+            int talkCount = readVarint(bytes);
+            List<Talk> talks = new ArrayList<>(talkCount);
+            byte[] previousTopic = new byte[0];
+            for (int i = 0; i < talkCount; i++) {
+                int sharedPrefix = readVarint(bytes);
+                byte[] topic = new byte[sharedPrefix + readVarint(bytes)];
+                System.arraycopy(previousTopic, 0, topic, 0, sharedPrefix);
+                bytes.get(topic, sharedPrefix, topic.length - sharedPrefix);
+                boolean canBeRated = bytes.get() == RATABLE;
+                talks.add(Talk.restoreTalk(new String(topic, StandardCharsets.UTF_8), readVarint(bytes), readVarint(bytes), readVarint(bytes), canBeRated));
+                previousTopic = topic;
+            }
+            return new AgendaSnapshot(Agenda.restoreAgenda(talks), journalPosition);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("The agenda snapshot is truncated", e);
+        }
+    }
+
+    private static int sharedPrefixLength(byte[] previous, byte[] current) {
+        int length = Math.min(previous.length, current.length);
+        for (int i = 0; i < length; i++) {
+            if (previous[i] != current[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative numbers are encoded as varint, but got " + value);
+        }
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer bytes) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = bytes.get();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in agenda snapshot");
+    }
+}
@@ -0,0 +1,344 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies the commands of all request threads on a single writer thread. Request threads publish commands into a
+ * {@link CommandRingBuffer} and return, the writer drains them in batches and applies each batch as one composed
+ * transition to the {@link ApplicationState}. Thereby the number of agendas built under load depends on the batch
+ * size rather than on the number of commands.
+ * <p>
+ * If a journal directory is configured, each batch is appended to a {@link CommandJournal} and committed before it is
+ * applied. The agenda is then checkpointed in the background by an {@link AgendaCheckpointer}, and rebuilt on start
+ * from the latest snapshot and the commands journaled after it. If a batch can't be journaled, it isn't applied either,
+ * its waiting callers fail, and no further commands are accepted, as they would be lost on restart.
+ * <p>
+ * Waiting for commands to be applied is bounded by a timeout. If the writer isn't running, commands are rejected right
+ * away with an {@link AgendaWriterUnavailableException}.
+ */
+@Component
+class AgendaWriter implements SmartLifecycle {
+
+    private static final int BUFFER_CAPACITY = 1024;
+    private static final int MAXIMUM_BATCH_SIZE = 256;
+
+    private final Logger log = LoggerFactory.getLogger(AgendaWriter.class);
+
+    private final ApplicationState applicationState;
+    private final String journalDirectory;
+    private final long checkpointIntervalSeconds;
+    private final long timeoutMillis;
+    private final CommandRingBuffer<PendingCommand> buffer = new CommandRingBuffer<>(BUFFER_CAPACITY);
+    private final Object appliedMonitor = new Object();
+    private volatile long appliedSequence = -1;
+    private volatile long rejectedSequence = Long.MAX_VALUE;
+    private volatile RuntimeException journalFailure;
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private CommandJournal journal;
+    private AgendaCheckpointer checkpointer;
+
+    AgendaWriter(ApplicationState applicationState,
+                 @Value("${demo.journal.directory:}") String journalDirectory,
+                 @Value("${demo.checkpoint.interval-seconds:30}") long checkpointIntervalSeconds,
+                 @Value("${demo.writer.timeout-millis:5000}") long timeoutMillis) {
+        this.applicationState = applicationState;
+        this.journalDirectory = journalDirectory;
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Publishes the command without waiting for it to be applied.
+     *
+     * @return the sequence number to wait for with {@link #awaitApplied(long)}
+     */
+    long submit(AgendaCommand command) {
+        ensureAccepting();
+        ensureJournalable(List.of(command));
+        return buffer.publish(new PendingCommand(List.of(command), null));
+    }
+
+    /**
+     * Publishes the command and waits until it is applied.
+     *
+     * @return the agenda right after applying the command
+     */
+    Agenda submitAndWait(AgendaCommand command) {
+        return submitAllAndWait(List.of(command));
+    }
+
+    /**
+     * Publishes the commands as one unit, which is applied without commands of other threads in between, and waits
+     * until it is applied.
+     *
+     * @return the agenda right after applying the last of the commands
+     */
+    Agenda submitAllAndWait(List<AgendaCommand> commands) {
+        ensureAccepting();
+        ensureJournalable(commands);
+        CompletableFuture<Agenda> result = new CompletableFuture<>();
+        buffer.publish(new PendingCommand(List.copyOf(commands), result));
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AgendaWriterUnavailableException("Commands were not applied within " + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AgendaWriterUnavailableException("Interrupted while waiting for commands to be applied");
+        }
+    }
+
+    /**
+     * Waits until the command with the given sequence number and all commands before it are applied. Only the commands
+     * of the caller are waited for, commands published later by other threads don't delay it. Sequence numbers this
+     * writer didn't hand out yet, like forged ones or those of a redirect from an earlier run, aren't waited for.
+     */
+    void awaitApplied(long sequence) {
+        if (sequence > buffer.getClaimedSequence()) {
+            return;
+        }
+        if (appliedSequence >= sequence && sequence < rejectedSequence) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (appliedMonitor) {
+            while (appliedSequence < sequence) {
+                ensureWriting();
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new AgendaWriterUnavailableException("Command " + sequence + " was not applied within " + timeoutMillis + " ms");
+                }
+                try {
+                    appliedMonitor.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AgendaWriterUnavailableException("Interrupted while waiting for command " + sequence);
+                }
+            }
+        }
+        if (sequence >= rejectedSequence) {
+            throw new AgendaWriterUnavailableException("Command " + sequence + " could not be journaled: " + journalFailure);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!journalDirectory.isBlank()) {
+            recoverFromJournal(Paths.get(journalDirectory));
+        }
+        running = true;
+        writerThread = new Thread(this::drainCommands, "agenda-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (journal != null) {
+            checkpointer.close();
+            journal.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void ensureAccepting() {
+        if (!running) {
+            throw new AgendaWriterUnavailableException("The agenda writer doesn't accept commands");
+        }
+        if (journalFailure != null) {
+            throw new AgendaWriterUnavailableException("The agenda writer doesn't accept commands since the journal failed: " + journalFailure);
+        }
+        ensureWriting();
+    }
+
+    /**
+     * Rejects commands the journal can't hold before they are published, so they don't fail a whole batch.
+     */
+    private void ensureJournalable(List<AgendaCommand> commands) {
+        if (journal == null) {
+            return;
+        }
+        for (AgendaCommand command : commands) {
+            if (!journal.fits(command)) {
+                throw new AgendaCommandTooLargeException("The topic of " + command.getTopic().length() + " characters is too long to be journaled");
+            }
+        }
+    }
+
+    /**
+     * Commands published before a stop are still applied, so only a writer thread that died fails the waiting callers.
+     */
+    private void ensureWriting() {
+        if (writerThread == null || !writerThread.isAlive()) {
+            throw new AgendaWriterUnavailableException("The agenda writer isn't running");
+        }
+    }
+
+    private void drainCommands() {
+        List<PendingCommand> batch = new ArrayList<>(MAXIMUM_BATCH_SIZE);
+        while (running || appliedSequence < buffer.getClaimedSequence()) {
+            long lastSequence = buffer.drainTo(batch, MAXIMUM_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                buffer.awaitPublication();
+                continue;
+            }
+            RuntimeException journalError = journalFailure != null ? journalFailure : journalBatch(batch, appliedSequence + 1);
+            if (journalError == null) {
+                Agenda agenda = applyBatch(batch);
+                if (journal != null) {
+                    checkpointer.offer(agenda, journal.getPosition());
+                }
+            } else {
+                rejectBatch(batch, journalError);
+            }
+            batch.clear();
+            synchronized (appliedMonitor) {
+                appliedSequence = lastSequence;
+                appliedMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void recoverFromJournal(Path directory) {
+        long start = System.nanoTime();
+        AgendaSnapshot snapshot = AgendaCheckpointer.load(directory);
+        journal = CommandJournal.open(directory, CommandJournal.DEFAULT_SEGMENT_SIZE);
+        applicationState.setAgenda(snapshot == null
+                ? journal.replay(Agenda.initializeAgenda())
+                : journal.replay(snapshot.getAgenda(), snapshot.getJournalPosition()));
+        checkpointer = new AgendaCheckpointer(directory, journal, checkpointIntervalSeconds);
+        log.info("Agenda recovered from the " + (snapshot == null ? "" : "snapshot and ") + "journal in " + directory.toAbsolutePath() + " within " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * A failed batch is rolled back in the journal, as its records may already be stored in part. Only an I/O failure
+     * stops the writer, as the journal can't be relied on any more. Any other failure just rejects the batch.
+     *
+     * @param firstSequence the sequence number of the first command of the batch
+     * @return null if the batch is committed to the journal or there is none, otherwise the failure
+     */
+    private RuntimeException journalBatch(List<PendingCommand> batch, long firstSequence) {
+        if (journal == null) {
+            return null;
+        }
+        CommandJournal.Position start = journal.getPosition();
+        try {
+            for (PendingCommand pendingCommand : batch) {
+                for (AgendaCommand command : pendingCommand.commands) {
+                    journal.append(command);
+                }
+            }
+            journal.commit();
+            return null;
+        } catch (RuntimeException e) {
+            boolean rolledBack = rollBackJournal(start);
+            if (e instanceof UncheckedIOException || !rolledBack) {
+                log.error("Commands could not be journaled, so they are rejected and no further commands are accepted: " + e);
+                journalFailure = e;
+                rejectedSequence = firstSequence;
+            } else {
+                log.error("Commands could not be journaled, so they are rejected: " + e);
+            }
+            return e;
+        }
+    }
+
+    private boolean rollBackJournal(CommandJournal.Position position) {
+        try {
+            journal.rollbackTo(position);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("The journal could not be rolled back to " + position + ": " + e);
+            return false;
+        }
+    }
+
+    private void rejectBatch(List<PendingCommand> batch, RuntimeException cause) {
+        for (PendingCommand pendingCommand : batch) {
+            if (pendingCommand.result != null) {
+                pendingCommand.result.completeExceptionally(
+                        new AgendaWriterUnavailableException("The commands could not be journaled: " + cause));
+            }
+        }
+    }
+
+    private Agenda applyBatch(List<PendingCommand> batch) {
+        Agenda[] agendas = new Agenda[batch.size()];
+        RuntimeException[] failures = new RuntimeException[batch.size()];
+        Agenda updatedAgenda = applicationState.update(agenda -> {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    agenda = batch.get(i).applyTo(agenda);
+                    failures[i] = null;
+                } catch (RuntimeException e) {
+                    failures[i] = e;
+                }
+                agendas[i] = agenda;
+            }
+            return agenda;
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Agenda> result = batch.get(i).result;
+            if (failures[i] != null) {
+                log.warn("Command could not be applied to the agenda: " + failures[i]);
+            }
+            if (result == null) {
+                continue;
+            }
+            if (failures[i] != null) {
+                result.completeExceptionally(failures[i]);
+            } else {
+                result.complete(agendas[i]);
+            }
+        }
+        return updatedAgenda;
+    }
+
+    private static final class PendingCommand {
+        private final List<AgendaCommand> commands;
+        private final CompletableFuture<Agenda> result;
+
+        private PendingCommand(List<AgendaCommand> commands, CompletableFuture<Agenda> result) {
+            this.commands = commands;
+            this.result = result;
+        }
+
+        private Agenda applyTo(Agenda agenda) {
+            for (AgendaCommand command : commands) {
+                agenda = command.apply(agenda);
+            }
+            return agenda;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if the {@link AgendaWriter} doesn't accept commands or doesn't apply them in time, so requests fail instead of
+ * blocking their thread.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+class AgendaWriterUnavailableException extends RuntimeException {
+
+    AgendaWriterUnavailableException(String message) {
+        super(message);
+    }
+}
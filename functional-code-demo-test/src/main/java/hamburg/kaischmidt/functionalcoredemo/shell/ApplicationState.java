@@ -3,16 +3,88 @@ package hamburg.kaischmidt.functionalcoredemo.shell;
 import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link Agenda}. As agendas are immutable, readers always get a consistent snapshot without locking.
+ * Transitions are applied by compare-and-set, so no concurrent update is lost. A transition that keeps losing the race
+ * continues under a lock, which limits the number of competing writers when contention is high.
+ * <p>
+ * The time of the latest change is kept along with its version, as the core doesn't know about time.
+ */
 @Component
 class ApplicationState {
 
-    private Agenda agenda = Agenda.initializeAgenda();
+    private static final int MAX_OPTIMISTIC_ATTEMPTS = 8;
+
+    private final AtomicReference<Agenda> agenda = new AtomicReference<>(Agenda.initializeAgenda());
+    private final Lock contendedUpdates = new ReentrantLock();
+    private final AtomicReference<Change> latestChange = new AtomicReference<>(new Change(agenda.get().getVersion()));
 
     Agenda getAgenda() {
-        return agenda;
+        return agenda.get();
     }
 
     void setAgenda(Agenda agenda) {
-        this.agenda = agenda;
+        this.agenda.set(agenda);
+        latestChange.set(new Change(agenda.getVersion()));
+    }
+
+    /**
+     * @return the time in milliseconds the version of the agenda was set, or the time of the latest change if the
+     * agenda is outdated already
+     */
+    long getLastModified(Agenda agenda) {
+        Change change = latestChange.get();
+        // the change of a newer agenda is about to be recorded by the updating thread
+        return change.version >= agenda.getVersion() ? change.timeMillis : System.currentTimeMillis();
+    }
+
+    /**
+     * Atomically replaces the agenda by the result of the transition, which may be applied more than once and must
+     * therefore be free of side effects.
+     *
+     * @return the agenda resulting from the transition
+     */
+    Agenda update(UnaryOperator<Agenda> transition) {
+        for (int attempt = 0; attempt < MAX_OPTIMISTIC_ATTEMPTS; attempt++) {
+            Agenda current = agenda.get();
+            Agenda next = transition.apply(current);
+            if (agenda.compareAndSet(current, next)) {
+                recordChange(next);
+                return next;
+            }
+        }
+        contendedUpdates.lock();
+        try {
+            Agenda next = agenda.updateAndGet(transition);
+            recordChange(next);
+            return next;
+        } finally {
+            contendedUpdates.unlock();
+        }
+    }
+
+    /**
+     * Transitions that only set a message keep the version and therefore the time of the change. As concurrent updates
+     * may record their changes out of order, an older version never replaces a newer one.
+     */
+    private void recordChange(Agenda agenda) {
+        Change change = latestChange.get();
+        while (change.version < agenda.getVersion() && !latestChange.compareAndSet(change, new Change(agenda.getVersion()))) {
+            change = latestChange.get();
+        }
+    }
+
+    private static final class Change {
+        private final long version;
+        private final long timeMillis = System.currentTimeMillis();
+
+        private Change(long version) {
+            this.version = version;
+        }
     }
 }
@@ -0,0 +1,326 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only journal of {@link AgendaCommand}s, stored in memory-mapped segment files of a fixed size. A new
+ * segment is started when a record does not fit into the current one. Appended records become durable with
+ * {@link #commit()}, which is meant to be called once per batch of commands rather than once per command.
+ * <p>
+ * Each record consists of its payload length, a CRC32 checksum and the payload, which holds the command type, the
+ * rating and the UTF-8 encoded topic. As segments are zero-filled on creation, a zero length marks the end of a
+ * segment. A record with a wrong checksum was torn by a crash and ends the journal as well.
+ */
+final class CommandJournal implements Closeable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{9})\\.seg");
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final byte NO_RATING = -1;
+    private static final AgendaCommand.Type[] TYPES = AgendaCommand.Type.values();
+    private static final Rating[] RATINGS = Rating.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32 checksum = new CRC32();
+    private int segmentIndex;
+    private MappedByteBuffer segment;
+
+    private CommandJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in the directory, creating it if necessary, and positions it behind the last intact record.
+     */
+    static CommandJournal open(Path directory, int segmentSize) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("The segment size must exceed " + HEADER_SIZE + " bytes, but was " + segmentSize);
+        }
+        CommandJournal journal = new CommandJournal(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            List<Integer> segments = journal.listSegments();
+            journal.segmentIndex = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+            journal.segment = journal.map(journal.segmentIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the journal in " + directory, e);
+        }
+        while (journal.readRecord(journal.segment) != null) {
+            // skip to the end of the last segment
+        }
+        journal.eraseTornRecord();
+        return journal;
+    }
+
+    /**
+     * Applies all journaled commands to the agenda, starting with the oldest one.
+     *
+     * @return the agenda as it was after the last committed command
+     */
+    Agenda replay(Agenda initialAgenda) {
+        return replay(initialAgenda, Position.START);
+    }
+
+    /**
+     * Applies the journaled commands following the position to the agenda.
+     *
+     * @return the agenda as it was after the last committed command
+     */
+    Agenda replay(Agenda initialAgenda, Position from) {
+        Agenda agenda = initialAgenda;
+        try {
+            for (int index : listSegments()) {
+                if (index < from.segment) {
+                    continue;
+                }
+                ByteBuffer buffer = index == segmentIndex ? segment.duplicate() : map(index);
+                buffer.position(index == from.segment ? from.offset : 0);
+                AgendaCommand command;
+                while ((command = readRecord(buffer)) != null) {
+                    agenda = command.apply(agenda);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the journal in " + directory, e);
+        }
+        return agenda;
+    }
+
+    /**
+     * @return whether the command fits into a segment, as larger commands can't be appended
+     */
+    boolean fits(AgendaCommand command) {
+        return HEADER_SIZE + 2 + command.getTopic().getBytes(StandardCharsets.UTF_8).length <= segmentSize;
+    }
+
+    void append(AgendaCommand command) {
+        byte[] topic = command.getTopic().getBytes(StandardCharsets.UTF_8);
+        int payloadSize = 2 + topic.length;
+        if (HEADER_SIZE + payloadSize > segmentSize) {
+            throw new IllegalArgumentException("A command with a topic of " + topic.length + " bytes exceeds the segment size of " + segmentSize + " bytes");
+        }
+        if (segment.remaining() < HEADER_SIZE + payloadSize) {
+            startNextSegment();
+        }
+        byte type = (byte) command.getType().ordinal();
+        byte rating = command.getRating() == null ? NO_RATING : (byte) command.getRating().ordinal();
+        checksum.reset();
+        checksum.update(type);
+        checksum.update(rating);
+        checksum.update(topic);
+        segment.putInt(payloadSize);
+        segment.putInt((int) checksum.getValue());
+        segment.put(type);
+        segment.put(rating);
+        segment.put(topic);
+    }
+
+    /**
+     * @return the position behind the last appended record
+     */
+    Position getPosition() {
+        return new Position(segmentIndex, segment.position());
+    }
+
+    /**
+     * Deletes the segments, whose records all precede the position, as they are no longer needed for a replay from
+     * there.
+     */
+    void deleteSegmentsBefore(Position position) {
+        try {
+            for (int index : listSegments()) {
+                if (index < position.segment) {
+                    Files.deleteIfExists(segmentFile(index));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete outdated segments of the journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Discards the records appended behind the position, e.g. because they could not be committed, so that they are
+     * neither replayed nor followed by the next records.
+     */
+    void rollbackTo(Position position) {
+        try {
+            if (position.segment != segmentIndex) {
+                segment = map(position.segment);
+                segmentIndex = position.segment;
+                for (int index : listSegments()) {
+                    if (index > segmentIndex) {
+                        Files.deleteIfExists(segmentFile(index));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll back the journal in " + directory + " to " + position, e);
+        }
+        eraseFrom(position.offset);
+    }
+
+    /**
+     * Forces all appended records to the storage device.
+     */
+    void commit() {
+        segment.force();
+    }
+
+    @Override
+    public void close() {
+        commit();
+    }
+
+    private void startNextSegment() {
+        commit();
+        try {
+            segment = map(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create segment " + (segmentIndex + 1) + " of the journal in " + directory, e);
+        }
+        segmentIndex++;
+    }
+
+    /**
+     * @return the record at the position of the buffer, or null if the segment ends there
+     */
+    private AgendaCommand readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = buffer.position();
+        int payloadSize = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (payloadSize < 2 || payloadSize > buffer.remaining()) {
+            buffer.position(start);
+            return null;
+        }
+        byte[] payload = new byte[payloadSize];
+        buffer.get(payload);
+        checksum.reset();
+        checksum.update(payload);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            buffer.position(start);
+            return null;
+        }
+        String topic = new String(payload, 2, payloadSize - 2, StandardCharsets.UTF_8);
+        Rating rating = payload[1] == NO_RATING ? null : RATINGS[payload[1]];
+        return new AgendaCommand(TYPES[payload[0]], topic, rating);
+    }
+
+    /**
+     * Zeroes the rest of the current segment, if a torn record follows the last intact one.
+     */
+    private void eraseTornRecord() {
+        int end = segment.position();
+        if (segment.remaining() >= Integer.BYTES && segment.getInt(end) == 0) {
+            return;
+        }
+        eraseFrom(end);
+    }
+
+    /**
+     * Zeroes the current segment from the offset on and continues appending there.
+     */
+    private void eraseFrom(int offset) {
+        segment.position(offset);
+        while (segment.hasRemaining()) {
+            segment.put((byte) 0);
+        }
+        segment.position(offset);
+        commit();
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(index), CREATE, READ, WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentFile(int index) {
+        return directory.resolve(String.format("journal-%09d.seg", index));
+    }
+
+    /**
+     * A position in the journal, given by the index of a segment and an offset within it.
+     */
+    static final class Position {
+
+        static final Position START = new Position(0, 0);
+
+        private final int segment;
+        private final int offset;
+
+        Position(int segment, int offset) {
+            if (segment < 0 || offset < 0) {
+                throw new IllegalArgumentException("Invalid journal position " + segment + ":" + offset);
+            }
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        int getSegment() {
+            return segment;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Position position = (Position) o;
+            return segment == position.segment && offset == position.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * segment + offset;
+        }
+
+        @Override
+        public String toString() {
+            return segment + ":" + offset;
+        }
+    }
+}
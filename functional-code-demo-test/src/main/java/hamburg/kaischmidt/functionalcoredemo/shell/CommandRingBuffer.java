@@ -0,0 +1,99 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring buffer for many publishing threads and a single consuming thread. Publishers claim a sequence number
+ * and mark their slot as published once it is filled, so the consumer drains published elements in sequence order
+ * without taking a lock. A publisher finding the buffer full waits until the consumer has freed its slot.
+ */
+final class CommandRingBuffer<T> {
+
+    private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Object[] slots;
+    private final AtomicLongArray publishedSequences;
+    private final int mask;
+    private final AtomicLong claimedSequence = new AtomicLong(-1);
+    private final AtomicLong consumedSequence = new AtomicLong(-1);
+    private volatile Thread waitingConsumer;
+
+    CommandRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two, but was " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+    }
+
+    /**
+     * @return the sequence number of the published element
+     */
+    long publish(T element) {
+        long sequence = claimedSequence.incrementAndGet();
+        while (sequence - slots.length > consumedSequence.get()) {
+            Thread.onSpinWait();
+            LockSupport.parkNanos(1);
+        }
+        int index = indexOf(sequence);
+        slots[index] = element;
+        publishedSequences.set(index, sequence);
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return sequence;
+    }
+
+    /**
+     * Adds up to maximumBatchSize of the published elements following the last consumed one to the batch. Must only be
+     * called by the consuming thread.
+     *
+     * @return the sequence number of the last consumed element
+     */
+    long drainTo(List<T> batch, int maximumBatchSize) {
+        long first = consumedSequence.get() + 1;
+        long next = first;
+        while (next - first < maximumBatchSize && publishedSequences.get(indexOf(next)) == next) {
+            int index = indexOf(next);
+            batch.add(elementAt(index));
+            slots[index] = null;
+            next++;
+        }
+        consumedSequence.set(next - 1);
+        return next - 1;
+    }
+
+    /**
+     * Parks the consuming thread until an element is published or a short timeout elapses.
+     */
+    void awaitPublication() {
+        long next = consumedSequence.get() + 1;
+        waitingConsumer = Thread.currentThread();
+        if (publishedSequences.get(indexOf(next)) != next) {
+            LockSupport.parkNanos(this, CONSUMER_PARK_NANOS);
+        }
+        waitingConsumer = null;
+    }
+
+    long getClaimedSequence() {
+        return claimedSequence.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) slots[index];
+    }
+
+    private int indexOf(long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,36 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+
+/**
+ * A rating of a talk, as posted to the bulk endpoint of the {@link TalkApiController}.
+ */
+public class RatingRequest {
+
+    private String topic;
+    private Rating rating;
+
+    public RatingRequest() {
+    }
+
+    public RatingRequest(String topic, Rating rating) {
+        this.topic = topic;
+        this.rating = rating;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Rating getRating() {
+        return rating;
+    }
+
+    public void setRating(Rating rating) {
+        this.rating = rating;
+    }
+}
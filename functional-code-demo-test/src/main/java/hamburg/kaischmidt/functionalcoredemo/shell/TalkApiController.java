@@ -0,0 +1,58 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * A JSON interface for clients, which rate talks without rendering the agenda. Ratings are answered with the updated
+ * counters of the rated talks only.
+ */
+@RestController
+@RequestMapping("/api/talks")
+public class TalkApiController {
+
+    private AgendaWriter agendaWriter;
+
+    TalkApiController(AgendaWriter agendaWriter) {
+        this.agendaWriter = agendaWriter;
+    }
+
+    @PostMapping("/{topic}/ratings/{rating}")
+    public ResponseEntity<TalkCounters> addRating(@PathVariable String topic, @PathVariable Rating rating) {
+        Agenda agenda = agendaWriter.submitAndWait(AgendaCommand.addRating(topic, rating));
+        return ResponseEntity.of(agenda.findTalk(topic).map(TalkCounters::of));
+    }
+
+    /**
+     * Applies all ratings as one transition of the agenda. Ratings of unknown talks are ignored.
+     *
+     * @return the counters of the rated talks, sorted by topic
+     */
+    @PostMapping("/ratings")
+    public List<TalkCounters> addRatings(@RequestBody List<RatingRequest> ratings) {
+        if (ratings.stream().anyMatch(rating -> rating == null || rating.getTopic() == null || rating.getRating() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each rating needs a topic and a rating");
+        }
+        List<AgendaCommand> commands = ratings.stream()
+                .map(rating -> AgendaCommand.addRating(rating.getTopic(), rating.getRating()))
+                .collect(Collectors.toList());
+        Agenda agenda = agendaWriter.submitAllAndWait(commands);
+        return ratings.stream()
+                .map(RatingRequest::getTopic)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .map(agenda::findTalk)
+                .flatMap(Optional::stream)
+                .map(TalkCounters::of)
+                .collect(Collectors.toList());
+    }
+}
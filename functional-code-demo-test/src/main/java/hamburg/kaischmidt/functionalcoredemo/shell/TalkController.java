@@ -2,74 +2,104 @@ package hamburg.kaischmidt.functionalcoredemo.shell;
 
 import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
 import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
-import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
-import hamburg.kaischmidt.functionalcoredemo.core.presentation.TalkRepresentation;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.view.RedirectView;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 @Controller
 public class TalkController {
 
-    @Value("${demo.title}")
-    private String TITLE = "";
+    private static final MediaType HTML = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final int MAXIMUM_PAGE_SIZE = 200;
 
     private ApplicationState applicationState;
 
-    TalkController(ApplicationState applicationState) {
+    private AgendaWriter agendaWriter;
+
+    private AgendaEventPublisher agendaEventPublisher;
+
+    private AgendaPageCache agendaPageCache;
+
+    TalkController(ApplicationState applicationState, AgendaWriter agendaWriter, AgendaEventPublisher agendaEventPublisher,
+                   AgendaPageCache agendaPageCache) {
         this.applicationState = applicationState;
+        this.agendaWriter = agendaWriter;
+        this.agendaEventPublisher = agendaEventPublisher;
+        this.agendaPageCache = agendaPageCache;
     }
 
     @GetMapping("/")
-    public String showAgenda(@ModelAttribute("topicCreateMessage") String topicCreatedMessage, Model model) {
-        List<Talk> talks = getAgenda().getTalksSortedByName();
-        model.addAttribute("title", TITLE);
-        model.addAttribute("talks", TalkRepresentation.listFrom(talks));
-        return "talk-list";
+    public ResponseEntity<String> showAgenda(@RequestParam(value = "topicCreateMessage", defaultValue = "") String topicCreatedMessage,
+                                             @RequestParam(value = "query", defaultValue = "") String query,
+                                             @RequestParam(value = "page", defaultValue = "0") int pageNumber,
+                                             @RequestParam(value = "size", defaultValue = "50") int pageSize,
+                                             @RequestParam(value = "written", defaultValue = "-1") long writtenSequence,
+                                             WebRequest request) {
+        AgendaPageCache.PageRequest pageRequest = new AgendaPageCache.PageRequest(topicCreatedMessage, query,
+                Math.max(0, pageNumber), Math.min(Math.max(1, pageSize), MAXIMUM_PAGE_SIZE));
+        agendaWriter.awaitApplied(writtenSequence);
+        Agenda agenda = getAgenda();
+        if (request.checkNotModified(agendaPageCache.eTagOf(agenda, pageRequest))) {
+            return null;
+        }
+        AgendaPageCache.RenderedPage page = agendaPageCache.render(agenda, pageRequest);
+        return ResponseEntity.ok()
+                .eTag(page.getETag())
+                .lastModified(applicationState.getLastModified(agenda))
+                .contentType(HTML)
+                .body(page.getHtml());
+    }
+
+    @GetMapping(path = "/talks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTalkChanges() {
+        return agendaEventPublisher.subscribe();
     }
 
     @PostMapping("/talk")
     public RedirectView createTalk(@RequestParam(value = "Vortragsthema") String topic, RedirectAttributes attributes) {
-        createNewTalk(topic);
-        attributes.addAttribute("topicCreateMessage", getAgenda().getLastOperationMessage());
+        Agenda agenda = createNewTalk(topic);
+        attributes.addAttribute("topicCreateMessage", agenda.getLastOperationMessage());
         return new RedirectView("/");
     }
 
+    /**
+     * Returns without waiting for the rating to be applied. The redirect carries the sequence number of the command, so
+     * the agenda shown next waits for this command only, not for the commands of other clients.
+     */
     @PostMapping("/talk/addFeedback/{rating}")
-    public RedirectView addFeedback(@RequestParam(value = "Vortragsthema") String topic, @PathVariable Rating rating) {
-        addRatingToTalk(topic, rating);
+    public RedirectView addFeedback(@RequestParam(value = "Vortragsthema") String topic, @PathVariable Rating rating,
+                                    RedirectAttributes attributes) {
+        attributes.addAttribute("written", addRatingToTalk(topic, rating));
         return new RedirectView("/");
     }
 
     @PostMapping("/talk/toggleStatus")
-    public RedirectView toggleStatus(@RequestParam(value = "Vortragsthema") String topic) {
-        toggleStatusOfTalk(topic);
+    public RedirectView toggleStatus(@RequestParam(value = "Vortragsthema") String topic, RedirectAttributes attributes) {
+        attributes.addAttribute("written", toggleStatusOfTalk(topic));
         return new RedirectView("/");
     }
 
-    private void addRatingToTalk(String topic, Rating rating) {
-        setAgenda(getAgenda().addRatingToTalk(topic, rating));
+    private long addRatingToTalk(String topic, Rating rating) {
+        return agendaWriter.submit(AgendaCommand.addRating(topic, rating));
     }
 
-    private void toggleStatusOfTalk(String topic) {
-        setAgenda(getAgenda().toggleStatus(topic));
+    private long toggleStatusOfTalk(String topic) {
+        return agendaWriter.submit(AgendaCommand.toggleStatus(topic));
     }
 
-    private synchronized void createNewTalk(String topic) {
-        setAgenda(getAgenda().addNewTalk(topic));
+    private Agenda createNewTalk(String topic) {
+        return agendaWriter.submitAndWait(AgendaCommand.addTalk(topic));
     }
 
     private Agenda getAgenda() {
         return applicationState.getAgenda();
     }
 
-    private void setAgenda(Agenda agenda) {
-        applicationState.setAgenda(agenda);
-    }
-
 }
@@ -0,0 +1,47 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+
+/**
+ * The counters and status of a talk, as returned by the {@link TalkApiController}.
+ */
+public class TalkCounters {
+
+    private final String topic;
+    private final int top;
+    private final int okay;
+    private final int flop;
+    private final boolean ratable;
+
+    private TalkCounters(String topic, int top, int okay, int flop, boolean ratable) {
+        this.topic = topic;
+        this.top = top;
+        this.okay = okay;
+        this.flop = flop;
+        this.ratable = ratable;
+    }
+
+    static TalkCounters of(Talk talk) {
+        return new TalkCounters(talk.getTopic(), talk.getTop(), talk.getOkay(), talk.getFlop(), talk.canBeRated());
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getOkay() {
+        return okay;
+    }
+
+    public int getFlop() {
+        return flop;
+    }
+
+    public boolean isRatable() {
+        return ratable;
+    }
+}
@@ -0,0 +1,73 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+import hamburg.kaischmidt.functionalcoredemo.core.presentation.TalkRepresentation;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reuses the representations of talks, which were mapped before. As unchanged talks are shared between consecutive
+ * agendas, talks are identified by instance rather than by topic, so a changed talk is always mapped anew. The talks
+ * are only referenced weakly, and the representations of collected talks are dropped.
+ */
+@Component
+class TalkRepresentationCache {
+
+    private final Map<IdentityKey, TalkRepresentation> representations = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Talk> collectedTalks = new ReferenceQueue<>();
+
+    List<TalkRepresentation> listFrom(List<Talk> talks) {
+        dropCollectedTalks();
+        List<TalkRepresentation> representationList = new ArrayList<>(talks.size());
+        for (Talk talk : talks) {
+            TalkRepresentation representation = representations.get(new IdentityKey(talk, null));
+            if (representation == null) {
+                representation = TalkRepresentation.of(talk);
+                representations.put(new IdentityKey(talk, collectedTalks), representation);
+            }
+            representationList.add(representation);
+        }
+        return representationList;
+    }
+
+    int size() {
+        dropCollectedTalks();
+        return representations.size();
+    }
+
+    private void dropCollectedTalks() {
+        Reference<? extends Talk> collected;
+        while ((collected = collectedTalks.poll()) != null) {
+            representations.remove(collected);
+        }
+    }
+
+    private static final class IdentityKey extends WeakReference<Talk> {
+        private final int hashCode;
+
+        private IdentityKey(Talk talk, ReferenceQueue<Talk> queue) {
+            super(talk, queue);
+            this.hashCode = System.identityHashCode(talk);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IdentityKey)) return false;
+            Talk talk = get();
+            return talk != null && talk == ((IdentityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
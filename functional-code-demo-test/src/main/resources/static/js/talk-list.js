@@ -0,0 +1,43 @@
+// Sends votes and status changes without reloading the page and applies the talk changes pushed by the server to
+// the talks shown on the current page.
+(function () {
+    var talkForms = {};
+    document.querySelectorAll('form').forEach(function (form) {
+        var topic = form.querySelector('input[title="Name:"]');
+        if (topic) {
+            talkForms[topic.value] = form;
+        }
+    });
+
+    if (!window.EventSource) {
+        return;
+    }
+
+    document.querySelectorAll('button[formaction^="/talk/"]').forEach(function (button) {
+        button.addEventListener('click', function (event) {
+            event.preventDefault();
+            var body = new URLSearchParams();
+            body.append('Vortragsthema', button.form.elements['Vortragsthema'].value);
+            fetch(button.getAttribute('formaction'), {method: 'POST', body: body, redirect: 'manual'});
+        });
+    });
+
+    function update(talk) {
+        var form = talkForms[talk.headline];
+        if (!form) {
+            return;
+        }
+        form.querySelector('input[title="RateTop:"]').value = talk.top;
+        form.querySelector('input[title="RateOkay:"]').value = talk.okay;
+        form.querySelector('input[title="RateFlop:"]').value = talk.flop;
+        form.querySelector('input[title="Status:"]').value = talk.statusOfTalk;
+        form.querySelector('button[formaction="/talk/toggleStatus"]').textContent = talk.statusButtonText;
+        form.querySelectorAll('button[formaction^="/talk/addFeedback/"]').forEach(function (button) {
+            button.disabled = !talk.rateEnabled;
+        });
+    }
+
+    new EventSource('/talks/events').addEventListener('talks', function (event) {
+        JSON.parse(event.data).forEach(update);
+    });
+})();
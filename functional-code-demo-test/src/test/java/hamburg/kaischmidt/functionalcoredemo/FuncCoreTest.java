@@ -6,6 +6,8 @@ import com.tngtech.archunit.junit.ArchUnitRunner;
 import com.tngtech.archunit.lang.ArchRule;
 import org.junit.runner.RunWith;
 
+import java.nio.file.Paths;
+
 import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
 
 @RunWith(ArchUnitRunner.class)
@@ -18,6 +20,7 @@ public class FuncCoreTest {
                     .shellDefinedBy("hamburg.kaischmidt.functionalcoredemo.shell..")
                     .coreDefinedBy("hamburg.kaischmidt.functionalcoredemo.core..")
                     .wherePredefinedCatalogIsUsed()
-                    .wherePackage("java.lang.Enum.valueOf").isConsideredStrictlySideEffectFree();
+                    .wherePackage("java.lang.Enum.valueOf").isConsideredStrictlySideEffectFree()
+                    .whereSummariesAreExportedTo(Paths.get("build/funccore/method-summaries.tsv"));
 }
 
@@ -0,0 +1,59 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Agenda_When_diffing_versions {
+
+    @Test
+    public void Then_only_added_and_changed_talks_are_returned() {
+
+        //Arrange
+        Agenda previous = Agenda.initializeAgenda()
+                .addNewTalk("Unchanged")
+                .addNewTalk("Rated")
+                .toggleStatus("Rated");
+
+        //Act
+        Agenda current = previous
+                .addRatingToTalk("Rated", Rating.TOP)
+                .addNewTalk("Added");
+
+        //Assert
+        assertThat(current.getTalksChangedSince(previous))
+                .extracting(Talk::getTopic)
+                .containsExactly("Added", "Rated");
+    }
+
+    @Test
+    public void If_transition_has_no_effect_Then_no_talk_is_returned() {
+
+        //Arrange
+        Agenda previous = Agenda.initializeAgenda().addNewTalk("Not ratable");
+
+        //Act
+        Agenda current = previous.addRatingToTalk("Not ratable", Rating.TOP).addNewTalk("Not ratable");
+
+        //Assert
+        assertThat(current.getTalksChangedSince(previous)).isEmpty();
+    }
+
+    @Test
+    public void Then_version_is_only_increased_by_changing_transitions() {
+
+        //Arrange
+        Agenda initial = Agenda.initializeAgenda();
+
+        //Act
+        Agenda created = initial.addNewTalk("Talk");
+        Agenda ratedWhileNotRatable = created.addRatingToTalk("Talk", Rating.TOP);
+        Agenda rated = ratedWhileNotRatable.toggleStatus("Talk").addRatingToTalk("Talk", Rating.TOP);
+
+        //Assert
+        assertThat(initial.getVersion()).isEqualTo(0);
+        assertThat(created.getVersion()).isEqualTo(1);
+        assertThat(ratedWhileNotRatable.getVersion()).isEqualTo(1);
+        assertThat(rated.getVersion()).isEqualTo(3);
+    }
+}
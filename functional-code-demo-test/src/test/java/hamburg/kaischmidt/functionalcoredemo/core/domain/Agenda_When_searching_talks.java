@@ -0,0 +1,74 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Agenda_When_searching_talks {
+
+    @Test
+    public void Then_talks_starting_with_query_are_found_ignoring_case() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda()
+                .addNewTalk("functional core")
+                .addNewTalk("Imperative Shell")
+                .addNewTalk("Functional Programming")
+                .addNewTalk("Fun with Flags");
+
+        //Act
+        TalkPage page = agenda.findTalks(" FUNCTIONAL", 0, 10);
+
+        //Assert
+        assertThat(page.getTalks()).extracting(Talk::getTopic).containsExactly("functional core", "Functional Programming");
+        assertThat(page.getTotalMatches()).isEqualTo(2);
+        assertThat(page.hasNextPage()).isFalse();
+    }
+
+    @Test
+    public void Then_only_requested_page_is_returned() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda();
+        for (int i = 10; i < 35; i++) {
+            agenda = agenda.addNewTalk("Talk " + i);
+        }
+
+        //Act
+        TalkPage page = agenda.findTalks("", 2, 10);
+
+        //Assert
+        assertThat(page.getTalks()).extracting(Talk::getTopic).containsExactly("Talk 30", "Talk 31", "Talk 32", "Talk 33", "Talk 34");
+        assertThat(page.getTotalMatches()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.hasPreviousPage()).isTrue();
+        assertThat(page.hasNextPage()).isFalse();
+    }
+
+    @Test
+    public void If_talk_is_rated_Then_current_talk_is_found() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda().addNewTalk("Talk").toggleStatus("Talk");
+
+        //Act
+        agenda = agenda.addRatingToTalk("Talk", Rating.TOP);
+
+        //Assert
+        assertThat(agenda.findTalks("talk", 0, 1).getTalks().get(0).getTop()).isEqualTo(1);
+    }
+
+    @Test
+    public void If_nothing_matches_Then_page_is_empty() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda().addNewTalk("Talk");
+
+        //Act
+        TalkPage page = agenda.findTalks("Keynote", 0, 10);
+
+        //Assert
+        assertThat(page.getTalks()).isEmpty();
+        assertThat(page.getTotalPages()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,55 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashTrieMap_When_diffing_versions {
+
+    @Test
+    public void Then_only_added_and_replaced_values_are_returned() {
+
+        //Arrange
+        HashTrieMap<String, Integer> previous = HashTrieMap.empty();
+        for (int i = 0; i < 10_000; i++) {
+            previous = previous.put("Talk" + i, i);
+        }
+
+        //Act
+        HashTrieMap<String, Integer> current = previous.put("Talk42", -42).put("Talk4711", -4711).put("Added", 10_000);
+
+        //Assert
+        assertThat(current.valuesChangedSince(previous)).containsExactlyInAnyOrder(-42, -4711, 10_000);
+        assertThat(previous.valuesChangedSince(current)).containsExactlyInAnyOrder(42, 4711);
+        assertThat(current.valuesChangedSince(current)).isEmpty();
+    }
+
+    @Test
+    public void If_hashes_collide_Then_changes_are_still_told_apart() {
+
+        //Arrange
+        HashTrieMap<String, Integer> previous = HashTrieMap.<String, Integer>empty().put("Aa", 1);
+
+        //Act
+        HashTrieMap<String, Integer> collided = previous.put("BB", 2);
+        HashTrieMap<String, Integer> current = collided.put("Aa", 3);
+
+        //Assert
+        assertThat(collided.valuesChangedSince(previous)).containsExactly(2);
+        assertThat(current.valuesChangedSince(collided)).containsExactly(3);
+        assertThat(current.valuesChangedSince(previous)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    public void Then_values_equal_to_but_not_the_same_as_the_previous_ones_count_as_changed() {
+
+        //Arrange
+        HashTrieMap<String, Integer> previous = HashTrieMap.<String, Integer>empty().put("Java", Integer.valueOf(1000));
+
+        //Act
+        HashTrieMap<String, Integer> current = previous.put("Java", Integer.valueOf(1000));
+
+        //Assert
+        assertThat(current.valuesChangedSince(previous)).hasSize(1);
+    }
+}
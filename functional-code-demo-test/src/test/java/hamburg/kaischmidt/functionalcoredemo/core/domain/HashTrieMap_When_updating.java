@@ -0,0 +1,74 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashTrieMap_When_updating {
+
+    @Test
+    public void Then_previous_versions_stay_unchanged() {
+
+        //Arrange
+        HashTrieMap<String, Integer> before = HashTrieMap.<String, Integer>empty().put("Java", 1).put("Kotlin", 2);
+
+        //Act
+        HashTrieMap<String, Integer> after = before.put("Java", 3).put("Groovy", 4);
+
+        //Assert
+        assertThat(before.size()).isEqualTo(2);
+        assertThat(before.get("Java")).isEqualTo(1);
+        assertThat(before.containsKey("Groovy")).isFalse();
+        assertThat(after.size()).isEqualTo(3);
+        assertThat(after.get("Java")).isEqualTo(3);
+        assertThat(after.values()).containsExactlyInAnyOrder(3, 2, 4);
+    }
+
+    @Test
+    public void If_many_keys_are_added_Then_all_of_them_are_found() {
+
+        //Arrange
+        HashTrieMap<String, Integer> map = HashTrieMap.empty();
+
+        //Act
+        for (int i = 0; i < 10_000; i++) {
+            map = map.put("Talk" + i, i);
+        }
+
+        //Assert
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get("Talk" + i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void If_hashes_collide_Then_keys_are_still_told_apart() {
+
+        //Arrange
+        HashTrieMap<String, Integer> map = HashTrieMap.empty();
+
+        //Act
+        map = map.put("Aa", 1).put("BB", 2).put("Aa", 3);
+
+        //Assert
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get("Aa")).isEqualTo(3);
+        assertThat(map.get("BB")).isEqualTo(2);
+    }
+
+    @Test
+    public void If_value_is_unchanged_Then_same_map_is_returned() {
+
+        //Arrange
+        Integer value = 1000;
+        HashTrieMap<String, Integer> map = HashTrieMap.<String, Integer>empty().put("Java", value);
+
+        //Act
+        HashTrieMap<String, Integer> updated = map.put("Java", value);
+
+        //Assert
+        assertThat(updated).isSameAs(map);
+    }
+}
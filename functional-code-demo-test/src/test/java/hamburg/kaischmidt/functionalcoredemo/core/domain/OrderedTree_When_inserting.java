@@ -0,0 +1,106 @@
+package hamburg.kaischmidt.functionalcoredemo.core.domain;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderedTree_When_inserting {
+
+    @Test
+    public void Then_elements_are_kept_in_natural_order() {
+
+        //Arrange
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(42));
+        OrderedTree<Integer> tree = OrderedTree.empty();
+
+        //Act
+        for (Integer value : values) {
+            tree = tree.insertOrReplace(value);
+        }
+
+        //Assert
+        Collections.sort(values);
+        assertThat(tree.size()).isEqualTo(1_000);
+        assertThat(tree.asList()).containsExactlyElementsOf(values);
+        assertThat(tree.asList().get(500)).isEqualTo(500);
+    }
+
+    @Test
+    public void Then_the_iterator_traverses_the_elements_in_order() {
+
+        //Arrange
+        OrderedTree<Integer> tree = OrderedTree.empty();
+        for (int value = 99; value >= 0; value--) {
+            tree = tree.insertOrReplace(value);
+        }
+
+        //Act
+        List<Integer> iterated = new ArrayList<>();
+        Iterator<Integer> iterator = tree.asList().iterator();
+        while (iterator.hasNext()) {
+            iterated.add(iterator.next());
+        }
+
+        //Assert
+        assertThat(iterated).isEqualTo(new ArrayList<>(tree.asList().subList(0, 100)));
+        assertThat(iterated).isSorted().hasSize(100);
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void Then_previous_versions_stay_unchanged() {
+
+        //Arrange
+        OrderedTree<String> before = OrderedTree.<String>empty().insertOrReplace("Kotlin").insertOrReplace("Java");
+
+        //Act
+        OrderedTree<String> after = before.insertOrReplace("Groovy");
+
+        //Assert
+        assertThat(before.asList()).containsExactly("Java", "Kotlin");
+        assertThat(after.asList()).containsExactly("Groovy", "Java", "Kotlin");
+    }
+
+    @Test
+    public void If_an_equal_element_is_inserted_Then_it_is_replaced() {
+
+        //Arrange
+        OrderedTree<Talk> tree = OrderedTree.<Talk>empty()
+                .insertOrReplace(Talk.createNewTalk("Java"))
+                .insertOrReplace(Talk.createNewTalk("Kotlin"));
+
+        //Act
+        OrderedTree<Talk> updated = tree.insertOrReplace(tree.asList().get(0).addTop());
+
+        //Assert
+        assertThat(updated.size()).isEqualTo(2);
+        assertThat(updated.asList().get(0).getTop()).isEqualTo(1);
+        assertThat(tree.asList().get(0).getTop()).isEqualTo(0);
+    }
+
+    @Test
+    public void If_the_same_element_is_inserted_Then_same_tree_is_returned() {
+
+        //Arrange
+        Talk talk = Talk.createNewTalk("Java");
+        OrderedTree<Talk> tree = OrderedTree.<Talk>empty().insertOrReplace(talk);
+
+        //Act
+        OrderedTree<Talk> updated = tree.insertOrReplace(talk);
+
+        //Assert
+        assertThat(updated).isSameAs(tree);
+    }
+}
@@ -0,0 +1,80 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.thymeleaf.ITemplateEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AgendaPageCache_When_rendering {
+
+    private static final AgendaPageCache.PageRequest REQUEST = new AgendaPageCache.PageRequest("", "", 0, 50);
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private TalkRepresentationCache talkRepresentations;
+
+    private AgendaPageCache agendaPageCache;
+
+    @Before
+    public void createCache() {
+        agendaPageCache = new AgendaPageCache(templateEngine, talkRepresentations, "TalkVote");
+    }
+
+    @Test
+    public void If_agenda_is_unchanged_Then_rendering_is_shared() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda().addNewTalk("Shared");
+
+        //Act
+        AgendaPageCache.RenderedPage first = agendaPageCache.render(agenda, REQUEST);
+        AgendaPageCache.RenderedPage second = agendaPageCache.render(agenda, REQUEST);
+
+        //Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.getHtml()).contains("title=\"Name:\" value=\"Shared\"");
+    }
+
+    @Test
+    public void If_a_newer_agenda_is_rendered_Then_renderings_of_the_previous_one_are_dropped() {
+
+        //Arrange
+        Agenda previous = Agenda.initializeAgenda().addNewTalk("Previous");
+        AgendaPageCache.RenderedPage previousPage = agendaPageCache.render(previous, REQUEST);
+
+        //Act
+        Agenda current = previous.addNewTalk("Current");
+        AgendaPageCache.RenderedPage currentPage = agendaPageCache.render(current, REQUEST);
+
+        //Assert
+        assertThat(currentPage.getHtml()).contains("title=\"Name:\" value=\"Current\"");
+        assertThat(agendaPageCache.render(current, REQUEST)).isSameAs(currentPage);
+        assertThat(agendaPageCache.render(previous, REQUEST)).isNotSameAs(previousPage);
+    }
+
+    @Test
+    public void If_only_the_message_changed_Then_rendering_is_shared() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda().addNewTalk("Shared");
+        AgendaPageCache.RenderedPage first = agendaPageCache.render(agenda, REQUEST);
+
+        //Act
+        Agenda withMessage = agenda.addNewTalk("Shared");
+        AgendaPageCache.RenderedPage second = agendaPageCache.render(withMessage, REQUEST);
+
+        //Assert
+        assertThat(withMessage.getVersion()).isEqualTo(agenda.getVersion());
+        assertThat(second).isSameAs(first);
+    }
+}
@@ -0,0 +1,73 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+public class AgendaSnapshot_When_encoded {
+
+    @Test
+    public void Then_decoding_restores_talks_and_journal_position() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda()
+                .addNewTalk("Functional Core")
+                .addNewTalk("Functional Programming")
+                .addNewTalk("Imperative Shell")
+                .toggleStatus("Functional Core")
+                .addRatingToTalk("Functional Core", Rating.TOP)
+                .addRatingToTalk("Functional Core", Rating.OKAY);
+        for (int i = 0; i < 300; i++) {
+            agenda = agenda.addRatingToTalk("Functional Core", Rating.FLOP);
+        }
+        AgendaSnapshot snapshot = new AgendaSnapshot(agenda, new CommandJournal.Position(3, 4711));
+
+        //Act
+        AgendaSnapshot decoded = AgendaSnapshot.decode(ByteBuffer.wrap(snapshot.encode()));
+
+        //Assert
+        assertThat(decoded.getJournalPosition()).isEqualTo(new CommandJournal.Position(3, 4711));
+        assertThat(decoded.getAgenda().getTalksSortedByName())
+                .extracting(Talk::getTopic, Talk::canBeRated, Talk::getTop, Talk::getOkay, Talk::getFlop)
+                .containsExactlyElementsOf(agenda.getTalksSortedByName().stream()
+                        .map(talk -> tuple(talk.getTopic(), talk.canBeRated(), talk.getTop(), talk.getOkay(), talk.getFlop()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void Then_shared_topic_prefixes_are_stored_once() {
+
+        //Arrange
+        Agenda agenda = Agenda.initializeAgenda();
+        for (int i = 0; i < 100; i++) {
+            agenda = agenda.addNewTalk("A very long common prefix of many talks " + i);
+        }
+
+        //Act
+        byte[] encoded = new AgendaSnapshot(agenda, CommandJournal.Position.START).encode();
+
+        //Assert
+        assertThat(encoded.length).isLessThan(100 * 10);
+    }
+
+    @Test
+    public void If_a_byte_is_corrupted_Then_decoding_fails() {
+
+        //Arrange
+        byte[] encoded = new AgendaSnapshot(Agenda.initializeAgenda().addNewTalk("Talk"), CommandJournal.Position.START).encode();
+        encoded[encoded.length / 2] ^= 1;
+
+        //Act & Assert
+        assertThatThrownBy(() -> AgendaSnapshot.decode(ByteBuffer.wrap(encoded)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("corrupted");
+    }
+}
@@ -0,0 +1,34 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AgendaWriter_When_journaling {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void If_a_command_is_too_large_Then_only_this_command_is_rejected() throws Exception {
+
+        //Arrange
+        AgendaWriter agendaWriter = new AgendaWriter(new ApplicationState(), temporaryFolder.newFolder().toString(), 30, 1000);
+        agendaWriter.start();
+        String oversizedTopic = "x".repeat(CommandJournal.DEFAULT_SEGMENT_SIZE);
+
+        try {
+            //Act & Assert
+            assertThatThrownBy(() -> agendaWriter.submit(AgendaCommand.addTalk(oversizedTopic)))
+                    .isInstanceOf(AgendaCommandTooLargeException.class);
+            Agenda agenda = agendaWriter.submitAndWait(AgendaCommand.addTalk("Talk"));
+            assertThat(agenda.findTalk("Talk")).isPresent();
+        } finally {
+            agendaWriter.stop();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AgendaWriter_When_not_running {
+
+    @Test
+    public void If_not_started_Then_commands_are_rejected_right_away() {
+
+        //Arrange
+        AgendaWriter agendaWriter = new AgendaWriter(new ApplicationState(), "", 30, 100);
+
+        //Act & Assert
+        assertThatThrownBy(() -> agendaWriter.submitAndWait(AgendaCommand.addTalk("Talk")))
+                .isInstanceOf(AgendaWriterUnavailableException.class);
+        assertThatThrownBy(() -> agendaWriter.submit(AgendaCommand.toggleStatus("Talk")))
+                .isInstanceOf(AgendaWriterUnavailableException.class);
+    }
+
+    @Test
+    public void If_stopped_Then_commands_are_rejected_right_away() {
+
+        //Arrange
+        AgendaWriter agendaWriter = new AgendaWriter(new ApplicationState(), "", 30, 100);
+        agendaWriter.start();
+        Agenda agenda = agendaWriter.submitAndWait(AgendaCommand.addTalk("Talk"));
+
+        //Act
+        agendaWriter.stop();
+
+        //Assert
+        assertThat(agenda.findTalk("Talk")).isPresent();
+        assertThatThrownBy(() -> agendaWriter.submitAndWait(AgendaCommand.toggleStatus("Talk")))
+                .isInstanceOf(AgendaWriterUnavailableException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApplicationState_When_changed {
+
+    @Test
+    public void If_only_the_message_changed_Then_last_modified_is_kept() throws InterruptedException {
+
+        //Arrange
+        ApplicationState applicationState = new ApplicationState();
+        Agenda agenda = applicationState.update(current -> current.addNewTalk("Talk"));
+        long lastModified = applicationState.getLastModified(agenda);
+        Thread.sleep(20);
+
+        //Act
+        Agenda withMessage = applicationState.update(current -> current.addNewTalk("Talk"));
+
+        //Assert
+        assertThat(applicationState.getLastModified(withMessage)).isEqualTo(lastModified);
+    }
+
+    @Test
+    public void If_talks_changed_Then_last_modified_moves_on() throws InterruptedException {
+
+        //Arrange
+        ApplicationState applicationState = new ApplicationState();
+        Agenda agenda = applicationState.update(current -> current.addNewTalk("Talk"));
+        long lastModified = applicationState.getLastModified(agenda);
+        Thread.sleep(20);
+
+        //Act
+        Agenda changed = applicationState.update(current -> current.toggleStatus("Talk"));
+
+        //Assert
+        assertThat(applicationState.getLastModified(changed)).isGreaterThan(lastModified);
+    }
+}
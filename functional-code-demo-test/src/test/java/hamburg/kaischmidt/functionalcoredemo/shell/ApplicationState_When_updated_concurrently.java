@@ -0,0 +1,47 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApplicationState_When_updated_concurrently {
+
+    private static final int THREADS = 8;
+    private static final int RATINGS_PER_THREAD = 500;
+
+    @Test
+    public void Then_no_rating_is_lost() throws Exception {
+
+        //Arrange
+        ApplicationState applicationState = new ApplicationState();
+        applicationState.update(agenda -> agenda.addNewTalk("Talk").toggleStatus("Talk"));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Void>> raters = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            raters.add(() -> {
+                for (int j = 0; j < RATINGS_PER_THREAD; j++) {
+                    applicationState.update(agenda -> agenda.addRatingToTalk("Talk", Rating.TOP));
+                }
+                return null;
+            });
+        }
+
+        //Act
+        executor.invokeAll(raters);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //Assert
+        Agenda agenda = applicationState.getAgenda();
+        assertThat(agenda.getTalksSortedByName().get(0).getTop()).isEqualTo(THREADS * RATINGS_PER_THREAD);
+    }
+}
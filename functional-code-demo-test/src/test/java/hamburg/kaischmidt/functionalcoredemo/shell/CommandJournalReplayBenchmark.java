@@ -0,0 +1,47 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures how fast a journal is replayed into an agenda. Run with the journalReplayBenchmark task, the number of
+ * commands can be passed as the first argument.
+ */
+public class CommandJournalReplayBenchmark {
+
+    private static final int TALKS = 100;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int commands = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path directory = Files.createTempDirectory("journal-benchmark");
+
+        long start = System.nanoTime();
+        try (CommandJournal journal = CommandJournal.open(directory, CommandJournal.DEFAULT_SEGMENT_SIZE)) {
+            for (int i = 0; i < TALKS; i++) {
+                journal.append(AgendaCommand.addTalk("Talk " + i));
+                journal.append(AgendaCommand.toggleStatus("Talk " + i));
+            }
+            Rating[] ratings = Rating.values();
+            for (int i = 2 * TALKS; i < commands; i++) {
+                journal.append(AgendaCommand.addRating("Talk " + i % TALKS, ratings[i % ratings.length]));
+            }
+        }
+        System.out.println("Journaled " + commands + " commands in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            start = System.nanoTime();
+            Agenda agenda;
+            try (CommandJournal journal = CommandJournal.open(directory, CommandJournal.DEFAULT_SEGMENT_SIZE)) {
+                agenda = journal.replay(Agenda.initializeAgenda());
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.println(String.format("Round %d: replayed %d commands into %d talks in %d ms, %.2f million commands per second",
+                    round, commands, agenda.getTalksSortedByName().size(), nanos / 1_000_000, commands * 1_000.0 / nanos));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Talk;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CommandJournal_When_replayed {
+
+    private static final int SMALL_SEGMENT_SIZE = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void Then_agenda_is_rebuilt_from_all_segments() throws IOException {
+
+        //Arrange
+        Path directory = folder.getRoot().toPath();
+        try (CommandJournal journal = CommandJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            journal.append(AgendaCommand.addTalk("Functional Core"));
+            journal.append(AgendaCommand.addTalk("Imperative Shell"));
+            journal.append(AgendaCommand.toggleStatus("Functional Core"));
+            journal.append(AgendaCommand.addRating("Functional Core", Rating.TOP));
+            journal.append(AgendaCommand.addRating("Functional Core", Rating.FLOP));
+            journal.commit();
+        }
+
+        //Act
+        Agenda agenda;
+        try (CommandJournal journal = CommandJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            agenda = journal.replay(Agenda.initializeAgenda());
+        }
+
+        //Assert
+        assertThat(segmentsIn(directory)).hasSizeGreaterThan(1);
+        List<Talk> talks = agenda.getTalksSortedByName();
+        assertThat(talks).extracting(Talk::getTopic).containsExactly("Functional Core", "Imperative Shell");
+        assertThat(talks.get(0).getTop()).isEqualTo(1);
+        assertThat(talks.get(0).getFlop()).isEqualTo(1);
+    }
+
+    @Test
+    public void If_last_record_is_torn_Then_it_is_dropped_and_appending_continues() throws IOException {
+
+        //Arrange
+        Path directory = folder.getRoot().toPath();
+        try (CommandJournal journal = CommandJournal.open(directory, 1024)) {
+            journal.append(AgendaCommand.addTalk("Kept"));
+            journal.append(AgendaCommand.addTalk("Torn"));
+        }
+        try (FileChannel channel = FileChannel.open(segmentsIn(directory).get(0), WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 25);
+        }
+
+        //Act
+        try (CommandJournal journal = CommandJournal.open(directory, 1024)) {
+            journal.append(AgendaCommand.addTalk("Appended"));
+        }
+
+        //Assert
+        try (CommandJournal journal = CommandJournal.open(directory, 1024)) {
+            Agenda agenda = journal.replay(Agenda.initializeAgenda());
+            assertThat(agenda.getTalksSortedByName()).extracting(Talk::getTopic).containsExactly("Appended", "Kept");
+        }
+    }
+
+    @Test
+    public void If_commit_failed_Then_rolled_back_records_are_not_replayed() throws IOException {
+
+        //Arrange
+        Path directory = folder.getRoot().toPath();
+        Path blockedSegment = directory.resolve("journal-000000001.seg");
+        try (CommandJournal journal = CommandJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            journal.append(AgendaCommand.addTalk("Talk 1"));
+            journal.append(AgendaCommand.addTalk("Talk 2"));
+            journal.commit();
+            CommandJournal.Position committed = journal.getPosition();
+            Files.createDirectory(blockedSegment);
+
+            //Act
+            assertThatThrownBy(() -> {
+                journal.append(AgendaCommand.addTalk("Talk 3"));
+                journal.append(AgendaCommand.addTalk("Talk 4"));
+                journal.append(AgendaCommand.addTalk("Talk 5"));
+            }).isInstanceOf(UncheckedIOException.class);
+            journal.rollbackTo(committed);
+            assertThat(journal.getPosition()).isEqualTo(committed);
+        }
+        Files.delete(blockedSegment);
+
+        //Assert
+        try (CommandJournal journal = CommandJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            Agenda agenda = journal.replay(Agenda.initializeAgenda());
+            assertThat(agenda.getTalksSortedByName()).extracting(Talk::getTopic).containsExactly("Talk 1", "Talk 2");
+        }
+    }
+
+    private static List<Path> segmentsIn(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CommandRingBuffer_When_published_concurrently {
+
+    private static final int PUBLISHERS = 4;
+    private static final int ELEMENTS_PER_PUBLISHER = 10_000;
+
+    @Test
+    public void Then_every_element_is_drained_once_in_publishing_order() throws Exception {
+
+        //Arrange
+        CommandRingBuffer<int[]> buffer = new CommandRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(PUBLISHERS);
+        List<Callable<Void>> publishers = new ArrayList<>();
+        for (int publisher = 0; publisher < PUBLISHERS; publisher++) {
+            int id = publisher;
+            publishers.add(() -> {
+                for (int i = 0; i < ELEMENTS_PER_PUBLISHER; i++) {
+                    buffer.publish(new int[]{id, i});
+                }
+                return null;
+            });
+        }
+
+        //Act
+        List<Future<Void>> running = new ArrayList<>();
+        for (Callable<Void> publisher : publishers) {
+            running.add(executor.submit(publisher));
+        }
+        List<int[]> drained = new ArrayList<>();
+        while (drained.size() < PUBLISHERS * ELEMENTS_PER_PUBLISHER) {
+            if (buffer.drainTo(drained, 16) < buffer.getClaimedSequence()) {
+                buffer.awaitPublication();
+            }
+        }
+        for (Future<Void> publisher : running) {
+            publisher.get();
+        }
+        executor.shutdown();
+
+        //Assert
+        int[] nextPerPublisher = new int[PUBLISHERS];
+        for (int[] element : drained) {
+            assertThat(element[1]).isEqualTo(nextPerPublisher[element[0]]);
+            nextPerPublisher[element[0]]++;
+        }
+        assertThat(nextPerPublisher).containsOnly(ELEMENTS_PER_PUBLISHER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void If_capacity_is_no_power_of_two_Then_buffer_is_rejected() {
+        new CommandRingBuffer<>(100);
+    }
+}
@@ -0,0 +1,82 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TalkApiController_When_ratings_are_posted {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void Then_only_counters_of_rated_talk_are_returned() throws Exception {
+
+        //Arrange
+        createRatableTalk("ApiTalk");
+
+        //Act & Assert
+        mockMvc.perform(post("/api/talks/ApiTalk/ratings/TOP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topic").value("ApiTalk"))
+                .andExpect(jsonPath("$.top").value(1))
+                .andExpect(jsonPath("$.okay").value(0))
+                .andExpect(jsonPath("$.flop").value(0))
+                .andExpect(jsonPath("$.ratable").value(true));
+    }
+
+    @Test
+    public void If_talk_does_not_exist_Then_not_found_is_returned() throws Exception {
+
+        //Act & Assert
+        mockMvc.perform(post("/api/talks/UnknownApiTalk/ratings/TOP"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void If_ratings_are_posted_in_bulk_Then_all_of_them_are_applied() throws Exception {
+
+        //Arrange
+        createRatableTalk("BulkTalkA");
+        createRatableTalk("BulkTalkB");
+
+        //Act & Assert
+        mockMvc.perform(post("/api/talks/ratings").contentType(APPLICATION_JSON).content("["
+                        + "{\"topic\": \"BulkTalkB\", \"rating\": \"FLOP\"},"
+                        + "{\"topic\": \"BulkTalkA\", \"rating\": \"TOP\"},"
+                        + "{\"topic\": \"BulkTalkA\", \"rating\": \"TOP\"},"
+                        + "{\"topic\": \"UnknownBulkTalk\", \"rating\": \"OKAY\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].topic").value("BulkTalkA"))
+                .andExpect(jsonPath("$[0].top").value(2))
+                .andExpect(jsonPath("$[1].topic").value("BulkTalkB"))
+                .andExpect(jsonPath("$[1].flop").value(1));
+    }
+
+    @Test
+    public void If_bulk_rating_lacks_a_rating_Then_bad_request_is_returned() throws Exception {
+
+        //Act & Assert
+        mockMvc.perform(post("/api/talks/ratings").contentType(APPLICATION_JSON).content("[{\"topic\": \"BulkTalkA\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createRatableTalk(String topic) throws Exception {
+        mockMvc.perform(post("/talk").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + topic).accept(APPLICATION_FORM_URLENCODED_VALUE));
+        mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + topic).accept(APPLICATION_FORM_URLENCODED_VALUE));
+    }
+}
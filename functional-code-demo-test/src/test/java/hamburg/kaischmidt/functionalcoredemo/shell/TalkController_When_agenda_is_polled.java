@@ -0,0 +1,74 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TalkController_When_agenda_is_polled {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void If_agenda_is_unchanged_Then_not_modified_is_returned() throws Exception {
+
+        //Arrange
+        String eTag = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(ETAG);
+
+        //Act & Assert
+        mockMvc.perform(get("/").header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void If_agenda_has_changed_Then_page_is_rendered_again() throws Exception {
+
+        //Arrange
+        String eTag = mockMvc.perform(get("/")).andReturn().getResponse().getHeader(ETAG);
+
+        //Act
+        mockMvc.perform(post("/talk").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=PolledTalk").accept(APPLICATION_FORM_URLENCODED_VALUE));
+
+        //Assert
+        String responseBody = mockMvc.perform(get("/").header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(responseBody).contains("title=\"Name:\" value=\"PolledTalk\"");
+    }
+
+    @Test
+    public void If_written_sequence_was_never_handed_out_Then_current_agenda_is_rendered() throws Exception {
+
+        //Arrange
+        mockMvc.perform(post("/talk").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=UnwrittenTalk").accept(APPLICATION_FORM_URLENCODED_VALUE));
+
+        //Act
+        String responseBody = mockMvc.perform(get("/?written=" + Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Assert
+        assertThat(responseBody).contains("title=\"Name:\" value=\"UnwrittenTalk\"");
+    }
+}
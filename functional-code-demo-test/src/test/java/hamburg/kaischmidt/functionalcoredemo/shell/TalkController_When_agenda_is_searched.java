@@ -0,0 +1,65 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TalkController_When_agenda_is_searched {
+
+    private static final String ALPHA_STRING = "title=\"Name:\" value=\"SearchedAlpha\"";
+    private static final String BETA_STRING = "title=\"Name:\" value=\"SearchedBeta\"";
+    private static final String OTHER_STRING = "title=\"Name:\" value=\"NotSearched\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Before
+    public void createTalks() throws Exception {
+        for (String topic : new String[]{"SearchedAlpha", "SearchedBeta", "NotSearched"}) {
+            mockMvc.perform(post("/talk").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + topic).accept(APPLICATION_FORM_URLENCODED_VALUE));
+        }
+    }
+
+    @Test
+    public void Then_only_talks_starting_with_query_are_displayed() throws Exception {
+
+        //Act
+        String responseBody = mockMvc.perform(get("/?query=searched"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Assert
+        assertThat(responseBody).contains(ALPHA_STRING);
+        assertThat(responseBody).contains(BETA_STRING);
+        assertThat(responseBody).doesNotContain(OTHER_STRING);
+    }
+
+    @Test
+    public void If_page_is_requested_Then_only_its_talks_are_displayed() throws Exception {
+
+        //Act
+        String responseBody = mockMvc.perform(get("/?query=searched&page=1&size=1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Assert
+        assertThat(responseBody).contains(BETA_STRING);
+        assertThat(responseBody).doesNotContain(ALPHA_STRING);
+        assertThat(responseBody).contains("Seite 2 von 2");
+        assertThat(responseBody).contains("href=\"/?query=searched&amp;page=0&amp;size=1\"");
+    }
+}
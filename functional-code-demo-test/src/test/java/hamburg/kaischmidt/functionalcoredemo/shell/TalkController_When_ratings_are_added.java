@@ -34,10 +34,11 @@ public class TalkController_When_ratings_are_added {
 
         //Act
         mockMvc.perform(post("/talk/addFeedback/TOP").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=Talk").accept(APPLICATION_FORM_URLENCODED_VALUE));
-        mockMvc.perform(post("/talk/addFeedback/TOP").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=Talk").accept(APPLICATION_FORM_URLENCODED_VALUE));
+        String redirectedUrl = mockMvc.perform(post("/talk/addFeedback/TOP").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=Talk").accept(APPLICATION_FORM_URLENCODED_VALUE))
+                .andReturn().getResponse().getRedirectedUrl();
 
         //Assert
-        String result = mockMvc.perform(get("/")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String result = mockMvc.perform(get(redirectedUrl)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
 
         assertThat(result).contains(TALK_STRING);
         assertThat(result).contains(RATING_STRING);
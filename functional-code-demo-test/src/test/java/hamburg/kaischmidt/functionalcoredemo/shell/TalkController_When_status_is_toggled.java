@@ -44,10 +44,11 @@ public class TalkController_When_status_is_toggled {
         mockMvc.perform(post("/talk").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_ONCE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE));
 
         //Act
-        mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_ONCE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE));
+        String redirectedUrl = mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_ONCE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE))
+                .andReturn().getResponse().getRedirectedUrl();
 
         //Assert
-        String responseBody = mockMvc.perform(get("/"))
+        String responseBody = mockMvc.perform(get(redirectedUrl))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
@@ -64,10 +65,11 @@ public class TalkController_When_status_is_toggled {
 
         //Act
         mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_TWICE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE));
-        mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_TWICE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE));
+        String redirectedUrl = mockMvc.perform(post("/talk/toggleStatus").contentType(APPLICATION_FORM_URLENCODED_VALUE).content("Vortragsthema=" + TOGGLE_TWICE_TALK).accept(APPLICATION_FORM_URLENCODED_VALUE))
+                .andReturn().getResponse().getRedirectedUrl();
 
         //Assert
-        String responseBody = mockMvc.perform(get("/"))
+        String responseBody = mockMvc.perform(get(redirectedUrl))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
@@ -0,0 +1,34 @@
+package hamburg.kaischmidt.functionalcoredemo.shell;
+
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda;
+import hamburg.kaischmidt.functionalcoredemo.core.domain.Rating;
+import hamburg.kaischmidt.functionalcoredemo.core.presentation.TalkRepresentation;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TalkRepresentationCache_When_mapping_agendas {
+
+    @Test
+    public void Then_representations_of_unchanged_talks_are_reused() {
+
+        //Arrange
+        TalkRepresentationCache cache = new TalkRepresentationCache();
+        Agenda previous = Agenda.initializeAgenda()
+                .addNewTalk("Changed")
+                .addNewTalk("Unchanged")
+                .toggleStatus("Changed");
+        List<TalkRepresentation> previousRepresentations = cache.listFrom(previous.getTalksSortedByName());
+
+        //Act
+        Agenda current = previous.addRatingToTalk("Changed", Rating.TOP);
+        List<TalkRepresentation> currentRepresentations = cache.listFrom(current.getTalksSortedByName());
+
+        //Assert
+        assertThat(currentRepresentations.get(0)).isNotSameAs(previousRepresentations.get(0));
+        assertThat(currentRepresentations.get(0).getTop()).isEqualTo(1);
+        assertThat(currentRepresentations.get(1)).isSameAs(previousRepresentations.get(1));
+    }
+}
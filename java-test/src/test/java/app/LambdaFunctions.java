@@ -0,0 +1,72 @@
+package app;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixture of the lambda links, kept in the test classes, so the playgrounds, which don't import tests, aren't affected.
+ */
+public class LambdaFunctions {
+
+    /**
+     * Creates a lambda implemented by a synthetic method of this class
+     */
+    public Comparator<String> byLength() {
+        return Comparator.comparingInt(text -> text.length());
+    }
+
+    /**
+     * Creates a method reference implemented by String.length()
+     */
+    public ToIntFunction<String> length() {
+        return String::length;
+    }
+
+    /**
+     * Classify as NotSEF, because the lambda is void
+     */
+    public Runnable printer(String text) {
+        return () -> System.out.println(text);
+    }
+
+    /**
+     * Creates a method reference implemented outside of the imported classes
+     */
+    public Supplier<LocalTime> clock() {
+        return LocalTime::now;
+    }
+
+    /**
+     * Classify as NotSEF, because the referenced ArrayList.clear() is void
+     */
+    public Runnable clearer(ArrayList<String> list) {
+        return list::clear;
+    }
+
+    /**
+     * Classify as NotSEF, because the referenced constructor counts its instances
+     */
+    public Supplier<Registration> registration() {
+        return Registration::new;
+    }
+
+    public static class Registration {
+
+        private static int count;
+
+        public Registration() {
+            increment();
+        }
+
+        private static void increment() {
+            count = count + 1;
+        }
+
+        public static int getCount() {
+            return count;
+        }
+    }
+}
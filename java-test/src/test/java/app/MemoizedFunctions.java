@@ -0,0 +1,33 @@
+package app;
+
+import playground.memo.Memoized;
+
+/**
+ * Fixture of the <code>@Memoized</code> check, kept in the test classes, so the playgrounds, which don't import tests,
+ * aren't affected.
+ */
+public class MemoizedFunctions {
+
+    private static int calls;
+
+    /**
+     * Classify as SSEF and SDET, so memoizing it is fine
+     */
+    @Memoized
+    public int square(int x) {
+        return x * x;
+    }
+
+    /**
+     * Classify as NotSEF, because the counter is read by getCalls()
+     */
+    @Memoized
+    public int countCall() {
+        calls = calls + 1;
+        return calls;
+    }
+
+    public int getCalls() {
+        return calls;
+    }
+}
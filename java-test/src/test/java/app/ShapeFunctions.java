@@ -0,0 +1,17 @@
+package app;
+
+import app.shapes.Shape;
+
+/**
+ * Fixture of the analysis budget, kept in the test classes, so the playgrounds, which don't import tests, aren't
+ * affected.
+ */
+public class ShapeFunctions {
+
+    /**
+     * Classify as SSEF, because all implementations of Shape.area() are, which are two calls away
+     */
+    public double areaOf(Shape shape) {
+        return shape.area();
+    }
+}
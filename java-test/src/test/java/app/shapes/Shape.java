@@ -0,0 +1,10 @@
+package app.shapes;
+
+/**
+ * Fixture of the call depth through an interface, kept outside of the package app, so its implementations are callees
+ * rather than checked code units.
+ */
+public interface Shape {
+
+    double area();
+}
@@ -0,0 +1,18 @@
+package app.shapes;
+
+public class Square implements Shape {
+
+    private final double side;
+
+    public Square(double side) {
+        this.side = side;
+    }
+
+    /**
+     * Classify as SSEF, because it just reads a field
+     */
+    @Override
+    public double area() {
+        return side * side;
+    }
+}
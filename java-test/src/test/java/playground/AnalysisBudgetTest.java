@@ -0,0 +1,61 @@
+package playground;
+
+import app.shapes.Shape;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.EvaluationResult;
+import net.jqwik.api.Example;
+import playground.pureness.AnalysisBudget;
+import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnalysisBudgetTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    @Example
+    void exhaustedBudgetTruncatesVerdictsToUnsure() {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxAnalyzedCodeUnits(0));
+
+        EvaluationResult result = classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().getClassificationFor(CLASSES.get("app.Application").getMethod("addNewElement", java.util.List.class, String.class)))
+            .isEqualTo(PurenessClassification.UNSURE);
+        assertThat(result.getFailureReport().getDetails())
+            .anyMatch(detail -> detail.startsWith("verdict for app.Application.addNewElement(java.util.List, java.lang.String) is truncated to unsure (max number of analyzed code units exceeded)"));
+    }
+
+    @Example
+    void prechecksAreAppliedRegardlessOfTheBudget() {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(0));
+
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().checkToBeNotSEF(CLASSES.get("app.Application").getMethod("doNothing"))).isTrue();
+        assertThat(condition.getDataStore().checkToBeSSEF(CLASSES.get("app.Application").getMethod("add", int.class, int.class))).isTrue();
+    }
+
+    @Example
+    void implementationsOfAnAbstractMethodAreOneCallDeeper() {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(2));
+
+        EvaluationResult result = classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().checkToBeSSEF(CLASSES.get("app.ShapeFunctions").getMethod("areaOf", Shape.class))).isTrue();
+        assertThat(result.getFailureReport().getDetails())
+            .noneMatch(detail -> detail.startsWith("verdict for app.ShapeFunctions.areaOf(app.shapes.Shape) is truncated"));
+    }
+
+    @Example
+    void implementationsBeyondTheCallDepthAreTruncated() {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(1));
+
+        EvaluationResult result = classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(result.getFailureReport().getDetails())
+            .anyMatch(detail -> detail.startsWith("verdict for app.ShapeFunctions.areaOf(app.shapes.Shape) is truncated to unsure (max call depth exceeded) at [app.shapes.Square.area()]"));
+    }
+}
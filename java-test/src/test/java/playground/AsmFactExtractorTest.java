@@ -0,0 +1,77 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.facts.ArchUnitFactExtractor;
+import playground.facts.AsmFactExtractor;
+import playground.facts.CodeUnitFacts;
+import playground.facts.FactGraph;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsmFactExtractorTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.lang");
+
+    @Example
+    void extractsTheSameFactsAsArchUnitForTheCore() {
+        assertSameFactsAsArchUnit("app", "app.Application");
+    }
+
+    @Example
+    void extractsTheSameFactsAsArchUnitForTheJdk() {
+        assertSameFactsAsArchUnit("java.lang", "java.lang.String");
+    }
+
+    @Example
+    void namesArraysAndNestedTypesLikeArchUnit() {
+        assertThat(AsmFactExtractor.codeUnitNameOf("java/lang/String", "valueOf", "([C)Ljava/lang/String;"))
+            .isEqualTo(CLASSES.get(String.class).getMethod("valueOf", char[].class).getFullName());
+        assertThat(AsmFactExtractor.codeUnitNameOf("java/lang/String", "format", "(Ljava/lang/String;[Ljava/lang/Object;)Ljava/lang/String;"))
+            .isEqualTo(CLASSES.get(String.class).getMethod("format", String.class, Object[].class).getFullName());
+        assertThat(AsmFactExtractor.codeUnitNameOf("java/lang/Character$UnicodeBlock", "of", "(I)Ljava/lang/Character$UnicodeBlock;"))
+            .isEqualTo(CLASSES.get(Character.UnicodeBlock.class).getMethod("of", int.class).getFullName());
+        assertThat(AsmFactExtractor.codeUnitNameOf("java/lang/Thread", "<init>", "(Ljava/lang/ThreadGroup;Ljava/lang/Runnable;)V"))
+            .isEqualTo(CLASSES.get(Thread.class).getConstructor(ThreadGroup.class, Runnable.class).getFullName());
+    }
+
+    private static void assertSameFactsAsArchUnit(String packageName, String className) {
+        FactGraph archUnitGraph = new FactGraph();
+        new ArchUnitFactExtractor(archUnitGraph).extract(CLASSES, javaClass -> javaClass.getName().equals(className));
+        FactGraph asmGraph = new FactGraph();
+        new AsmFactExtractor(asmGraph).extract(packageName::equals);
+
+        Map<String, List<Object>> expected = factsOf(archUnitGraph, className);
+        Map<String, List<Object>> actual = factsOf(asmGraph, className);
+
+        assertThat(expected).isNotEmpty();
+        assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+        expected.forEach((codeUnit, facts) -> assertThat(actual.get(codeUnit)).as(codeUnit).isEqualTo(facts));
+    }
+
+    /**
+     * @return per code unit of the class its flags and the names of its declared call targets
+     */
+    private static Map<String, List<Object>> factsOf(FactGraph graph, String className) {
+        Map<String, List<Object>> result = new TreeMap<>();
+        for (CodeUnitFacts codeUnit : graph.getAll()) {
+            if (!graph.nameOf(codeUnit.getOwnerId()).equals(className)) {
+                continue;
+            }
+            Set<String> targets = new TreeSet<>();
+            for (int call = 0; call < codeUnit.getCallCount(); call++) {
+                targets.add(graph.nameOf(codeUnit.getDeclaredTarget(call)));
+            }
+            result.put(graph.nameOf(codeUnit.getId()), List.of(codeUnit.isConstructor(), codeUnit.isVoid(), codeUnit.isNative(),
+                codeUnit.isAbstract(), codeUnit.accessesFields(), codeUnit.writesFields(), codeUnit.writesOnlyInternalFields(), targets));
+        }
+        return result;
+    }
+}
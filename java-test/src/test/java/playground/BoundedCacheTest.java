@@ -0,0 +1,104 @@
+package playground;
+
+import net.jqwik.api.Example;
+import playground.memo.BoundedCache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedCacheTest {
+
+    @Example
+    void answersRepeatedRequestsFromCache() {
+        BoundedCache<Integer, Integer> cache = BoundedCache.<Integer, Integer>newBuilder().maximumSize(10).build();
+        Function<Integer, Integer> square = cache.memoize(x -> x * x);
+
+        assertThat(square.apply(3)).isEqualTo(9);
+        assertThat(square.apply(3)).isEqualTo(9);
+
+        assertThat(cache.getStats().getHitCount()).isEqualTo(1);
+        assertThat(cache.getStats().getMissCount()).isEqualTo(1);
+    }
+
+    @Example
+    void keepsFrequentlyUsedResultsDuringScan() {
+        BoundedCache<Integer, Integer> cache = BoundedCache.<Integer, Integer>newBuilder().maximumSize(100).build();
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, Function.identity());
+            }
+        }
+
+        for (int key = 1000; key < 1500; key++) {
+            cache.get(key, Function.identity());
+        }
+        long hitsBefore = cache.getStats().getHitCount();
+        for (int key = 0; key < 50; key++) {
+            cache.get(key, Function.identity());
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.getStats().getHitCount() - hitsBefore).isEqualTo(50);
+        assertThat(cache.getStats().getRejectionCount()).isPositive();
+    }
+
+    @Example
+    void staysWithinMaximumWeight() {
+        BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>newBuilder()
+            .maximumWeight(10, (key, value) -> value.length())
+            .build();
+
+        for (int key = 0; key < 10; key++) {
+            cache.get(key, k -> "abc");
+        }
+
+        assertThat(cache.getTotalWeight()).isLessThanOrEqualTo(10);
+        assertThat(cache.getStats().getEvictionCount()).isPositive();
+    }
+
+    @Example
+    void computesOtherKeysWhileOneKeyIsComputed() throws Exception {
+        BoundedCache<Integer, Integer> cache = BoundedCache.<Integer, Integer>newBuilder().maximumSize(10).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> slow = executor.submit(() -> cache.get(1, key -> {
+                computations.incrementAndGet();
+                started.countDown();
+                awaitUninterruptibly(release);
+                return key;
+            }));
+            started.await();
+            Future<Integer> sameKey = executor.submit(() -> cache.get(1, key -> {
+                computations.incrementAndGet();
+                return key;
+            }));
+
+            assertThat(cache.get(2, key -> key * 10)).isEqualTo(20);
+            release.countDown();
+
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(sameKey.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(computations).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
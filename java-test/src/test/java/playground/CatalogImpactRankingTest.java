@@ -0,0 +1,59 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.pureness.AnalysisBudget;
+import playground.pureness.CatalogImpactRanking;
+import playground.pureness.PurenessArchCondition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogImpactRankingTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    /**
+     * Without exploring any callee, every library method called by the core stays unsure. The three core methods
+     * returning an unmodifiable list wait for <code>Collections.unmodifiableList</code>, one of them only indirectly.
+     */
+    @Example
+    void ranksByBlockedCoreCodeUnits() {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(0));
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        List<CatalogImpactRanking.Entry> entries = condition.getCatalogImpactRanking().getEntries();
+
+        assertThat(entries).isNotEmpty();
+        assertThat(entries.get(0).getCodeUnitName()).isEqualTo("java.util.Collections.unmodifiableList(java.util.List)");
+        assertThat(entries.get(0).getBlockedCoreCodeUnits()).isEqualTo(3);
+        assertThat(entries.get(0).getBlockedRounds()).isEqualTo(2);
+        assertThat(entries).allMatch(entry -> !entry.getCodeUnitName().startsWith("app."));
+        assertThat(entries).allMatch(entry -> entry.getBlockedCoreCodeUnits() > 0 && entry.getBlockedRounds() > 0);
+        assertThat(entries).isSortedAccordingTo(Comparator.comparingInt(CatalogImpactRanking.Entry::getBlockedCoreCodeUnits).reversed());
+    }
+
+    @Example
+    void appendsRunsToOneCsvFile() throws IOException {
+        PurenessArchCondition condition = new PurenessArchCondition().withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(0));
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+        CatalogImpactRanking ranking = condition.getCatalogImpactRanking();
+        Path csv = Files.createTempDirectory("impact").resolve("ranking.csv");
+
+        ranking.appendTo(csv, Instant.parse("2022-03-01T10:00:00Z"));
+        ranking.appendTo(csv, Instant.parse("2022-03-02T10:00:00Z"));
+
+        List<String> lines = Files.readAllLines(csv);
+        assertThat(ranking.getEntries()).isNotEmpty();
+        assertThat(lines).hasSize(1 + 2 * ranking.getEntries().size());
+        assertThat(lines.get(0)).isEqualTo("timestamp,code unit,blocked core code units,blocked rounds");
+    }
+}
@@ -0,0 +1,91 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.deterministic.DeterministicClassification;
+import playground.diff.ChangedClasses;
+import playground.diff.DifferentialCheck;
+import playground.diff.VerdictChange;
+import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
+
+public class DifferentialCheckTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    private static final MethodSummaries BASELINE = MethodSummaries.of(List.of(
+        new MethodSummary("app.Application", "app.Application.doNothing()", PurenessClassification.SSEF, DeterministicClassification.SDET, Set.of())));
+
+    @Example
+    void unchangedClassesKeepTheirBaselineVerdicts() {
+        DifferentialCheck check = new DifferentialCheck(CLASSES, PurenessArchCondition::new, BASELINE,
+            javaClass -> javaClass.getPackageName().equals("app"));
+
+        assertThat(check.check(Set.of())).isEmpty();
+    }
+
+    @Example
+    void solvingTheUnchangedCoreAgainMovesNoVerdict() throws IOException {
+        Path export = Files.createTempFile("summaries", ".tsv");
+        functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .wherePredefinedCatalogIsExcluded()
+            .whereLibrarySummariesAreExcluded()
+            .whereSummariesAreExportedTo(export)
+            .evaluate(CLASSES);
+        MethodSummaries baseline;
+        try (InputStream input = Files.newInputStream(export)) {
+            baseline = MethodSummaries.read(input);
+        }
+        Set<String> allCoreClassNames = new HashSet<>();
+        for (JavaClass javaClass : CLASSES) {
+            if (javaClass.getPackageName().equals("app") && !javaClass.getName().contains("$")) {
+                allCoreClassNames.add(javaClass.getName());
+            }
+        }
+
+        DifferentialCheck check = new DifferentialCheck(CLASSES, PurenessArchCondition::new, baseline,
+            javaClass -> javaClass.getPackageName().equals("app"));
+
+        assertThat(baseline.getAll()).isNotEmpty();
+        assertThat(check.check(allCoreClassNames)).isEmpty();
+        assertThat(check.check(Set.of("app.LambdaFunctions"))).isEmpty();
+    }
+
+    @Example
+    void reportsVerdictsThatMovedForTheWorse() {
+        DifferentialCheck check = new DifferentialCheck(CLASSES, PurenessArchCondition::new, BASELINE,
+            javaClass -> javaClass.getPackageName().equals("app"));
+
+        List<VerdictChange> changes = check.check(Set.of("app.Application"));
+
+        assertThat(changes).anySatisfy(change -> {
+            assertThat(change.getCodeUnitName()).isEqualTo("app.Application.doNothing()");
+            assertThat(change.getAfter()).isEqualTo(PurenessClassification.NOT_SEF);
+            assertThat(change.isDegradation()).isTrue();
+        });
+    }
+
+    @Example
+    void changedSourceFilesAreMappedToClassNames() {
+        assertThat(ChangedClasses.fromSourceFiles(List.of(
+            "functional-code-demo-test/src/main/java/hamburg/kaischmidt/functionalcoredemo/core/domain/Agenda.java",
+            "README.md")))
+            .containsExactly("hamburg.kaischmidt.functionalcoredemo.core.domain.Agenda");
+    }
+}
@@ -0,0 +1,21 @@
+package playground;
+
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+
+import java.nio.file.Paths;
+
+import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
+
+/**
+ * Publishes the method summaries of the <code>app</code> package for the tests, so properties annotated with
+ * {@link playground.testimpact.TestsPureFunction} can be skipped. Run by the exportMethodSummaries task.
+ */
+public class ExportMethodSummaries {
+
+    public static void main(String[] args) {
+        functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereSummariesAreExportedTo(Paths.get(args[0]))
+            .evaluate(new ClassFileImporter().importPackages("app", "java.util", "java.lang"));
+    }
+}
@@ -0,0 +1,86 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.callgraph.LambdaLinks;
+import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LambdaLinksTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+    private static final String FIXTURE = "app.LambdaFunctions";
+
+    @Example
+    void linksLambdaToSyntheticImplementation() {
+        LambdaLinks links = LambdaLinks.of(List.of(CLASSES.get(FIXTURE)));
+
+        assertThat(links.implementationsOf(FIXTURE + ".byLength()"))
+            .singleElement()
+            .satisfies(implementation -> assertThat(implementation).startsWith(FIXTURE + ".lambda$byLength$").endsWith("(java.lang.String)"));
+    }
+
+    @Example
+    void linksMethodReferenceToReferencedMethod() {
+        LambdaLinks links = LambdaLinks.of(List.of(CLASSES.get(FIXTURE)));
+
+        assertThat(links.implementationsOf(FIXTURE + ".length()")).containsExactly("java.lang.String.length()");
+        assertThat(links.creatorsOf("java.lang.String.length()")).containsExactly(FIXTURE + ".length()");
+        assertThat(links.implementationsOf(FIXTURE + ".clock()")).containsExactly("java.time.LocalTime.now()");
+    }
+
+    @Example
+    void implementationsAreKnownToThePurenessAnalysis() {
+        LambdaLinks links = LambdaLinks.of(List.of(CLASSES.get(FIXTURE)));
+
+        assertThat(links.implementationsOf(FIXTURE + ".printer(java.lang.String)"))
+            .isNotEmpty()
+            .allMatch(implementation -> CLASSES.get(FIXTURE).getMethods().stream()
+                .anyMatch(method -> method.getFullName().equals(implementation)));
+    }
+
+    @Example
+    void creatingNotSefLambdaIsNotSef() {
+        PurenessArchCondition condition = new PurenessArchCondition();
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().getClassificationFor(CLASSES.get(FIXTURE).getMethod("printer", String.class)))
+            .isEqualTo(PurenessClassification.NOT_SEF);
+    }
+
+    @Example
+    void implementationsOutsideOfTheImportedClassesAreClassifiedByTheCatalog() {
+        PurenessArchCondition condition = new PurenessArchCondition();
+        condition.getDataStore().addPrefixesForNotSideEffectFree(Set.of("java.time.LocalTime.now"));
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().getClassificationFor(CLASSES.get(FIXTURE).getMethod("clock")))
+            .isEqualTo(PurenessClassification.NOT_SEF);
+    }
+
+    @Example
+    void methodReferencesAreResolvedWithinAllImportedClasses() {
+        PurenessArchCondition condition = new PurenessArchCondition().withImportedClasses(CLASSES);
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().getClassificationFor(CLASSES.get(FIXTURE).getMethod("clearer", ArrayList.class)))
+            .isEqualTo(PurenessClassification.NOT_SEF);
+    }
+
+    @Example
+    void constructorReferencesAreResolved() {
+        PurenessArchCondition condition = new PurenessArchCondition().withImportedClasses(CLASSES);
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+
+        assertThat(condition.getDataStore().getClassificationFor(CLASSES.get(FIXTURE).getMethod("registration")))
+            .isEqualTo(PurenessClassification.NOT_SEF);
+    }
+}
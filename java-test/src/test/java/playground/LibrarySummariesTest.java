@@ -0,0 +1,77 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.FuncCoreArchitectureFeature.FunctionalCoreArchitecture;
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
+
+public class LibrarySummariesTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+    private static final String RETURN_RANDOM = "app.Application.returnRandom()";
+
+    @Example
+    void publishedSummaryReplacesTheAnalysisOfTheLibrary() throws IOException {
+        Path export = Files.createTempFile("summaries", ".tsv");
+
+        evaluateWithPublishedSummaryOfMathRandom(functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereSummariesAreExportedTo(export));
+
+        assertThat(readPurenessOf(export, RETURN_RANDOM)).isEqualTo(PurenessClassification.SSEF);
+    }
+
+    @Example
+    void declaredPackagesOverrulePublishedSummaries() throws IOException {
+        Path export = Files.createTempFile("summaries", ".tsv");
+
+        evaluateWithPublishedSummaryOfMathRandom(functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereSummariesAreExportedTo(export)
+            .wherePackage("java.lang.Math.random").isConsideredDomainSpecificSideEffectFree());
+
+        assertThat(readPurenessOf(export, RETURN_RANDOM)).isEqualTo(PurenessClassification.DSEF);
+    }
+
+    /**
+     * Publishes <code>Math.random()</code> as strictly side effect free, although the JDK implementation writes to the
+     * state of a shared random generator, so only the summary can make <code>returnRandom()</code> SSEF.
+     */
+    private static void evaluateWithPublishedSummaryOfMathRandom(FunctionalCoreArchitecture rule) throws IOException {
+        Path library = Files.createTempDirectory("library");
+        MethodSummaries.of(List.of(new MethodSummary("java.lang.Math", "java.lang.Math.random()",
+                PurenessClassification.SSEF, DeterministicClassification.SDET, Set.of())))
+            .writeTo(library.resolve(MethodSummaries.LOCATION));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{library.toUri().toURL()}, original)) {
+            thread.setContextClassLoader(classLoader);
+            rule.evaluate(CLASSES);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private static PurenessClassification readPurenessOf(Path export, String fullName) throws IOException {
+        try (InputStream input = Files.newInputStream(export)) {
+            return MethodSummaries.read(input).get(fullName).map(MethodSummary::getPureness).orElse(null);
+        }
+    }
+}
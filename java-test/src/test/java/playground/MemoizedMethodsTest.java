@@ -0,0 +1,56 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
+
+public class MemoizedMethodsTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    @Example
+    void memoizedMethodWithSideEffectsIsRejected() {
+        assertThat(evaluateCore()).anyMatch(detail -> detail.startsWith("app.MemoizedFunctions.countCall() is memoized, but classified as not SEF"));
+    }
+
+    @Example
+    void memoizedStrictlySideEffectFreeAndDeterministicMethodPasses() {
+        assertThat(evaluateCore()).noneMatch(detail -> detail.startsWith("app.MemoizedFunctions.square(int) is memoized"));
+    }
+
+    @Example
+    void memoizedMethodOfChangedClassIsRejectedWhenOnlyChangesAreChecked() throws IOException {
+        Path baseline = Files.createTempFile("summaries", ".tsv");
+        functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereSummariesAreExportedTo(baseline)
+            .evaluate(CLASSES);
+
+        List<String> details = functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereOnlyChangesAreChecked(baseline, Set.of("app.MemoizedFunctions"))
+            .evaluate(CLASSES)
+            .getFailureReport()
+            .getDetails();
+
+        assertThat(details).anyMatch(detail -> detail.startsWith("app.MemoizedFunctions.countCall() is memoized, but classified as not SEF"));
+        assertThat(details).noneMatch(detail -> detail.startsWith("app.MemoizedFunctions.square(int) is memoized"));
+    }
+
+    private static List<String> evaluateCore() {
+        return functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .evaluate(CLASSES)
+            .getFailureReport()
+            .getDetails();
+    }
+}
@@ -0,0 +1,57 @@
+package playground;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummary;
+import playground.summary.SideEffect;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MethodSummariesTest {
+
+    @Property
+    boolean summariesSurviveWriteAndRead(@ForAll("summaries") List<MethodSummary> summaries) throws IOException {
+        MethodSummaries written = MethodSummaries.of(summaries);
+        StringWriter writer = new StringWriter();
+        written.writeTo(writer);
+
+        MethodSummaries read = MethodSummaries.read(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+
+        return read.size() == written.size() && read.getAll().containsAll(written.getAll());
+    }
+
+    @Example
+    void temporaryClassificationsAreNotPublishedAsVerdicts() {
+        MethodSummaries summaries = MethodSummaries.of(List.of(
+            new MethodSummary("lib.A", "lib.A.sure()", PurenessClassification.SSEF, DeterministicClassification.SDET, Set.of()),
+            new MethodSummary("lib.A", "lib.A.unsure()", PurenessClassification.UNSURE, DeterministicClassification.UNSURE, Set.of(SideEffect.CALLS_UNSURE))));
+
+        assertThat(summaries.getPurenessClassifications()).containsOnlyKeys("lib.A.sure()");
+        assertThat(summaries.getDeterministicClassifications()).containsOnlyKeys("lib.A.sure()");
+    }
+
+    @Provide
+    Arbitrary<List<MethodSummary>> summaries() {
+        Arbitrary<String> names = Arbitraries.strings().alpha().ofMinLength(1).ofMaxLength(12);
+        Arbitrary<MethodSummary> summary = names.flatMap(owner -> names.map(method -> owner + "." + method + "()")
+            .flatMap(fullName -> Arbitraries.of(PurenessClassification.class)
+                .flatMap(pureness -> Arbitraries.of(DeterministicClassification.class)
+                    .flatMap(determinism -> Arbitraries.subsetOf(SideEffect.values())
+                        .map(effects -> new MethodSummary("lib." + owner, fullName, pureness, determinism, effects))))));
+        return summary.list().uniqueElements(MethodSummary::getFullName);
+    }
+}
@@ -6,12 +6,16 @@ import net.jqwik.api.Arbitrary;
 import net.jqwik.api.ForAll;
 import net.jqwik.api.Property;
 import net.jqwik.api.Provide;
+import playground.testimpact.TestsPureFunction;
 
 import java.util.List;
 
 public class PropertyTest {
 
+    private static final String ADD_NEW_ELEMENT = "app.Application.addNewElement(java.util.List, java.lang.String)";
+
     @Property
+    @TestsPureFunction(ADD_NEW_ELEMENT)
     boolean addNewElement_nullValuesAreNotAddedToTheList(@ForAll List<String> initialList, @ForAll("nullStrings") String nullString) {
         //Arrange
         int initialSize = initialList.size();
@@ -22,6 +26,7 @@ public class PropertyTest {
     }
 
     @Property
+    @TestsPureFunction(ADD_NEW_ELEMENT)
     boolean addNewElement_lengthIsOneBiggerThanBefore(@ForAll List<String> initialList, @ForAll String newElement) {
         //Arrange
         int initialSize = initialList.size();
@@ -32,6 +37,7 @@ public class PropertyTest {
     }
 
     @Property
+    @TestsPureFunction(ADD_NEW_ELEMENT)
     boolean addNewElement_lastElementIsTheNewElement(@ForAll List<String> initialList, @ForAll String newElement) {
         //Act
         List<String> listWithNewElement = new Application().addNewElement(initialList, newElement);
@@ -0,0 +1,90 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessArchCondition;
+import playground.pureness.PurenessClassification;
+import playground.pureness.StandardCatalog;
+import playground.query.PurenessQueryEngine;
+
+import java.util.Map;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PurenessQueryEngineTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    @Example
+    void answersLikeTheArchCondition() {
+        PurenessArchCondition condition = new PurenessArchCondition();
+        initializeCatalog(condition.getDataStore());
+        classes().that().resideInAPackage("app").should(condition).evaluate(CLASSES);
+        PurenessQueryEngine engine = new PurenessQueryEngine(CLASSES, initializeCatalog(new PureDataStore()));
+
+        for (String name : new String[]{"add", "doNothing", "addNewElement", "addBoeseNewElement", "getLazy"}) {
+            assertThat(engine.classify("app.Application." + name))
+                .as(name)
+                .isEqualTo(condition.getDataStore().getClassificationFor(CLASSES.get("app.Application").getCodeUnitWithParameterTypeNames(name, parameterTypesOf(name))));
+        }
+    }
+
+    @Example
+    void memoizesVerdictsUntilTheClassIsInvalidated() {
+        PurenessQueryEngine engine = new PurenessQueryEngine(CLASSES, initializeCatalog(new PureDataStore()));
+
+        PurenessClassification first = engine.classify("app.Application.addNewTalkForwad");
+        int memoized = engine.getMemoizedVerdictCount();
+        assertThat(engine.classify("app.Application.addNewElement(java.util.List, java.lang.String)")).isNotNull();
+        assertThat(engine.getMemoizedVerdictCount()).isEqualTo(memoized);
+
+        engine.invalidate("app.Application");
+
+        assertThat(engine.getMemoizedVerdictCount()).isLessThan(memoized);
+        assertThat(engine.classify("app.Application.addNewTalkForwad")).isEqualTo(first);
+    }
+
+    @Example
+    void unsureVerdictsAreNotMemoized() {
+        PurenessQueryEngine engine = new PurenessQueryEngine(CLASSES, initializeCatalog(new PureDataStore()))
+            .withMemoizedVerdicts(Map.of("app.Application.add(int, int)", PurenessClassification.UNSURE));
+
+        assertThat(engine.getMemoizedVerdictCount()).isZero();
+        assertThat(engine.classify("app.Application.add(int, int)")).isEqualTo(PurenessClassification.SSEF);
+    }
+
+    @Example
+    void invalidatingACalledClassDropsTheVerdictsOfItsCallers() {
+        PurenessQueryEngine engine = new PurenessQueryEngine(CLASSES, initializeCatalog(new PureDataStore()));
+        PurenessClassification first = engine.classify("app.Application.addNewElement");
+        int memoized = engine.getMemoizedVerdictCount();
+
+        engine.update(CLASSES, "java.util.Collections");
+
+        assertThat(engine.getMemoizedVerdictCount()).isLessThan(memoized);
+        assertThat(engine.classify("app.Application.addNewElement")).isEqualTo(first);
+        assertThat(engine.getMemoizedVerdictCount()).isEqualTo(memoized);
+    }
+
+    private static String[] parameterTypesOf(String name) {
+        switch (name) {
+            case "add":
+                return new String[]{"int", "int"};
+            case "addNewElement":
+            case "addBoeseNewElement":
+                return new String[]{"java.util.List", "java.lang.String"};
+            default:
+                return new String[0];
+        }
+    }
+
+    private static PureDataStore initializeCatalog(PureDataStore dataStore) {
+        dataStore.addPrefixesForNotSideEffectFree(StandardCatalog.getNotSefPrefixes());
+        dataStore.addPrefixesForDomainSpecificSideEffectFree(StandardCatalog.getDsefPrefixes());
+        dataStore.addPrefixesForSideEffectFree(StandardCatalog.getSsefPrefixes());
+        return dataStore;
+    }
+}
@@ -0,0 +1,33 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import net.jqwik.api.Example;
+import playground.callgraph.RapidTypeAnalysis;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RapidTypeAnalysisTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    @Example
+    void implementationsAreLimitedToInstantiatedClasses() {
+        RapidTypeAnalysis analysis = RapidTypeAnalysis.of(List.of(CLASSES.get("app.Application")));
+
+        assertThat(analysis.getInstantiatedClasses()).contains(CLASSES.get("java.util.ArrayList"));
+        assertThat(analysis.subclassesOf(CLASSES.get("java.util.List")))
+            .contains(CLASSES.get("java.util.ArrayList"))
+            .doesNotContain(CLASSES.get("java.util.Stack"));
+    }
+
+    @Example
+    void fallsBackToAllSubclassesIfNoneIsInstantiated() {
+        RapidTypeAnalysis analysis = RapidTypeAnalysis.of(List.of(CLASSES.get("app.Application")));
+
+        assertThat(analysis.subclassesOf(CLASSES.get("java.util.EventListener")))
+            .isEqualTo(CLASSES.get("java.util.EventListener").getAllSubclasses());
+    }
+}
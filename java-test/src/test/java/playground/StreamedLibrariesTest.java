@@ -0,0 +1,53 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.EvaluationResult;
+import net.jqwik.api.Example;
+import playground.pureness.AnalysisBudget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static playground.FuncCoreArchitectureFeature.functionalCoreArchitecture;
+
+public class StreamedLibrariesTest {
+
+    private static final JavaClasses CORE = new ClassFileImporter().importPackages("app");
+    private static final String ADD_NEW_ELEMENT = "app.Application.addNewElement(java.util.List, java.lang.String)";
+
+    @Example
+    void callsOfTheCoreAreResolvedInStreamedLibraries() {
+        EvaluationResult result = functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereLibraryPackagesAreStreamed("java.util")
+            .wherePackage("java.util.Collections.unmodifiableList").isConsideredNonSideEffectFree()
+            .evaluate(CORE);
+
+        assertThat(result.getFailureReport().getDetails())
+            .anyMatch(detail -> detail.startsWith(ADD_NEW_ELEMENT + "  calls not SEF method"));
+    }
+
+    @Example
+    void callsOfTheCoreAreResolvedInLibrariesReadFromBytecode() {
+        EvaluationResult result = functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereLibraryPackagesAreReadFromBytecode("java.util")
+            .wherePackage("java.util.Collections.unmodifiableList").isConsideredNonSideEffectFree()
+            .evaluate(CORE);
+
+        assertThat(result.getFailureReport().getDetails())
+            .anyMatch(detail -> detail.startsWith(ADD_NEW_ELEMENT + "  calls not SEF method"));
+    }
+
+    @Example
+    void optionsTheFactsDontSupportAreRejected() {
+        assertThatThrownBy(() -> functionalCoreArchitecture()
+            .coreDefinedBy("app..")
+            .whereLibraryPackagesAreStreamed("java.util")
+            .withAnalysisBudget(AnalysisBudget.unlimited().withMaxCallDepth(3))
+            .whereVirtualCallsArePrunedByRapidTypeAnalysis()
+            .evaluate(CORE))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("an analysis budget, rapid type analysis");
+    }
+}
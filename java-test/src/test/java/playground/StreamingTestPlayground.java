@@ -0,0 +1,132 @@
+package playground;
+
+import net.jqwik.api.Example;
+import playground.deterministic.DetDataStore;
+import playground.deterministic.DeterministicClassification;
+import playground.facts.CodeUnitFacts;
+import playground.facts.DetFactSolver;
+import playground.facts.FactGraph;
+import playground.facts.FactSolver;
+import playground.facts.FactViolation;
+import playground.facts.MemoryBudget;
+import playground.facts.StreamingImporter;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the analysis of {@link TestPlayground} in the streaming mode with the same expectations. It is executed by the
+ * streamingTest task within a heap of 1 GB.
+ */
+public class StreamingTestPlayground {
+
+    private static final MemoryBudget MEMORY_BUDGET = MemoryBudget.ofMegabytes(512);
+
+    private static FactGraph graph;
+    private static FactSolver solver;
+    private static DetFactSolver detSolver;
+
+    private static synchronized void solve() {
+        if (graph == null) {
+            graph = new FactGraph();
+            new StreamingImporter(MEMORY_BUDGET).importInto(graph, "app..", "java..", "jdk.internal..");
+            List<String> allCodeUnits = graph.getAll().stream()
+                .map(CodeUnitFacts::getId)
+                .map(graph::nameOf)
+                .collect(Collectors.toList());
+            solver = new FactSolver(graph, new PureDataStore(), owner -> owner.startsWith("app."));
+            solver.solve(allCodeUnits);
+            detSolver = new DetFactSolver(graph, new DetDataStore(), owner -> owner.startsWith("app."));
+            detSolver.solve(allCodeUnits);
+        }
+    }
+
+    private static FactSolver solver() {
+        solve();
+        return solver;
+    }
+
+    private static DetFactSolver detSolver() {
+        solve();
+        return detSolver;
+    }
+
+    @Example
+    void test_det() {
+        List<String> details = messagesOf(detSolver().getViolations());
+
+        assertThat(details).anyMatch(detail -> detail.startsWith("unsure about app.Application.getRandomInit() because of ")
+            && detail.contains("java.time.LocalTime.now()"));
+        assertThat(details).hasSize(1);
+    }
+
+    @Example
+    void test_sef() {
+        List<String> details = messagesOf(solver().getViolations());
+
+        assertThat(details).contains("app.Application.addBoeseNewElement(java.util.List, java.lang.String) is writing to at least one property");
+        assertThat(details).hasSize(1);
+    }
+
+    @Example
+    void checkResultsDET() {
+        assertThat(detSolver().getClassificationFor("app.Application.isDeterministicBecauseVoid()")).isEqualTo(DeterministicClassification.SDET);
+        assertThat(detSolver().getClassificationFor("app.Application.returnRandom()")).isEqualTo(DeterministicClassification.NOT_DET);
+        assertThat(detSolver().getClassificationFor("app.Application.addNumbers(int, int)")).isEqualTo(DeterministicClassification.SDET);
+        assertThat(detSolver().getClassificationFor("java.sql.Time.getMonth()")).isEqualTo(DeterministicClassification.SDET);
+        assertThat(detSolver().getClassificationFor("java.time.LocalDate.now()"))
+            .isIn(DeterministicClassification.NOT_DET, DeterministicClassification.UNSURE); // Should be not det
+    }
+
+    @Example
+    void checkResultsSEF() {
+        assertSef("app.Application.addBoeseNewElement(java.util.List, java.lang.String)", PurenessClassification.NOT_SEF);
+        assertSef("app.Application.add(int, int)", PurenessClassification.SSEF);
+        assertSef("app.Application.doNothing()", PurenessClassification.NOT_SEF);
+        assertSef("app.Application.doUnneccessaryStuff()", PurenessClassification.NOT_SEF);
+        assertSef("app.Application.addNewElement(java.util.List, java.lang.String)", PurenessClassification.SSEF);
+        assertSef("app.Application.addNewTalkForwad(java.util.List, java.lang.String)", PurenessClassification.SSEF);
+
+        assertSef("java.lang.ThreadLocal$SuppliedThreadLocal.initialValue()", PurenessClassification.SSEF);
+        assertSef("java.lang.ThreadLocal.initialValue()", PurenessClassification.SSEF);
+
+        /* Erzeuger */
+        assertSef("java.util.EnumMap.clone()", PurenessClassification.SSEF);
+        assertSef("java.lang.String.toCharArray()", PurenessClassification.SSEF);
+        assertSef("java.lang.String.valueOf(java.lang.Object)", PurenessClassification.SSEF);
+        assertSef("java.lang.String.valueOf([C)", PurenessClassification.SSEF);
+
+        /* Fragwuerdig */
+        assertSef("app.Application.getRandomInit()", PurenessClassification.DSEF);
+
+        /* Lazy initialization */
+        assertSef("app.Application.getLazy()", PurenessClassification.DSEF);
+        assertSef("java.lang.Class.getSimpleName()", PurenessClassification.DSEF); // TODO Chech if a higher result is possible
+
+        /* Native Operations */
+        assertSef("java.lang.Object.hashCode()", PurenessClassification.SSEF);
+        assertSef("java.lang.Thread.isAlive()", PurenessClassification.NOT_SEF); // TODO soll mindestens DSEF werden
+
+        /* Strings */
+        assertSef("java.lang.String.chars()", PurenessClassification.NOT_SEF); // TODO soll mindestens DSEF werden
+    }
+
+    @Example
+    void libraryClassesAreReducedToFacts() {
+        solve();
+        assertThat(graph.containsType("java.lang.String")).isTrue();
+        assertThat(graph.containsType("app.Application")).isTrue();
+    }
+
+    private static void assertSef(String codeUnit, PurenessClassification expected) {
+        assertThat(solver().getClassificationFor(codeUnit)).as("classification of %s", codeUnit).isEqualTo(expected);
+    }
+
+    private static List<String> messagesOf(List<FactViolation> violations) {
+        return violations.stream().map(FactViolation::getMessage).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package playground;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.EvaluationResult;
+import net.jqwik.api.Example;
+import playground.pureness.PurenessArchCondition;
+import playground.report.FindingKind;
+import playground.report.ViolationSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ViolationSinkTest {
+
+    private static final JavaClasses CLASSES = new ClassFileImporter().importPackages("app", "java.util", "java.lang");
+
+    @Example
+    void streamsUnsureVerdictsAsJsonLines() throws IOException {
+        Path report = Files.createTempDirectory("report").resolve("violations.jsonl");
+        EvaluationResult result;
+        long reported;
+        try (ViolationSink sink = ViolationSink.jsonLines(report)) {
+            result = classes().that().resideInAPackage("app").should(new PurenessArchCondition().withViolationSink(sink)).evaluate(CLASSES);
+            reported = sink.getReportedCount();
+        }
+
+        List<String> lines = Files.readAllLines(report);
+        assertThat(reported).isPositive();
+        assertThat(lines).hasSize((int) reported);
+        assertThat(lines).allMatch(line -> line.startsWith("{\"kind\":\"unsure\"") && line.contains("\"class\":\"app."));
+        assertThat(result.getFailureReport().getDetails()).hasSize(1);
+    }
+
+    @Example
+    void writesEscapedSarifResults() throws IOException {
+        Path report = Files.createTempDirectory("report").resolve("violations.sarif");
+        try (ViolationSink sink = ViolationSink.sarif(report)) {
+            sink.report(FindingKind.CALLS_NOT_SEF, "app.Application", "app.Application.doNothing()", () -> "calls \"not\" SEF\n");
+        }
+
+        String sarif = Files.readString(report);
+        assertThat(sarif).startsWith("{\"$schema\"");
+        assertThat(sarif).contains("\"ruleId\":\"calls-not-sef\"", "\"text\":\"calls \\\"not\\\" SEF\\n\"");
+        assertThat(sarif.trim()).endsWith("]}]}");
+    }
+}
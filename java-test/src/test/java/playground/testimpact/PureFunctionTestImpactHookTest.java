@@ -0,0 +1,72 @@
+package playground.testimpact;
+
+import app.Application;
+import net.jqwik.api.Example;
+import playground.deterministic.DeterministicClassification;
+import playground.pureness.PurenessClassification;
+import playground.summary.MethodSummaries;
+import playground.summary.MethodSummary;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PureFunctionTestImpactHookTest {
+
+    private static final String ADD_NEW_ELEMENT = "app.Application.addNewElement(java.util.List, java.lang.String)";
+
+    @Example
+    void skipsAnUnchangedPropertyOfAPureFunctionOnceItPassed() throws Exception {
+        PureFunctionTestImpactHook hook = hookWhereAddNewElementIs(PurenessClassification.SSEF);
+        Method property = Properties.class.getDeclaredMethod("addNewElementAppendsTheElement");
+
+        assertThat(hook.canBeSkipped(property)).isFalse();
+        hook.recordResult(property, true);
+
+        assertThat(hook.canBeSkipped(property)).isTrue();
+    }
+
+    @Example
+    void runsAPropertyAgainAfterItFailed() throws Exception {
+        PureFunctionTestImpactHook hook = hookWhereAddNewElementIs(PurenessClassification.SSEF);
+        Method property = Properties.class.getDeclaredMethod("addNewElementAppendsTheElement");
+
+        hook.recordResult(property, true);
+        hook.recordResult(property, false);
+
+        assertThat(hook.canBeSkipped(property)).isFalse();
+    }
+
+    @Example
+    void runsPropertiesOfFunctionsWithSideEffects() throws Exception {
+        PureFunctionTestImpactHook hook = hookWhereAddNewElementIs(PurenessClassification.NOT_SEF);
+        Method property = Properties.class.getDeclaredMethod("addNewElementAppendsTheElement");
+
+        hook.recordResult(property, true);
+
+        assertThat(hook.canBeSkipped(property)).isFalse();
+    }
+
+    private static PureFunctionTestImpactHook hookWhereAddNewElementIs(PurenessClassification pureness) throws IOException {
+        MethodSummaries summaries = MethodSummaries.of(List.of(
+            new MethodSummary("app.Application", ADD_NEW_ELEMENT, pureness, DeterministicClassification.SDET, Set.of())));
+        TestImpactCache cache = TestImpactCache.load(Files.createTempDirectory("impact").resolve("test-impact.tsv"));
+        return new PureFunctionTestImpactHook(cache, new TransitiveBytecodeHash(PureFunctionTestImpactHookTest.class.getClassLoader()),
+            summaries);
+    }
+
+    /**
+     * Stands in for a test class, its method isn't executed.
+     */
+    static class Properties {
+
+        @TestsPureFunction(ADD_NEW_ELEMENT)
+        boolean addNewElementAppendsTheElement() {
+            return new Application().addNewElement(List.of("a"), "b").equals(List.of("a", "b"));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package playground.testimpact;
+
+import net.jqwik.api.Example;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransitiveBytecodeHashTest {
+
+    private static final String CALL = "fixture.Caller.call(fixture.Operation)";
+
+    private static final String CALLER = "package fixture; public class Caller {"
+        + " public int call(Operation operation) { return operation.apply(1, 2) + new Adder().apply(3, 4); } }";
+    private static final String OPERATION = "package fixture; public interface Operation { int apply(int a, int b); }";
+    private static final String ADDER = "package fixture; public class Adder implements Operation {"
+        + " public int apply(int a, int b) { return a + b; } }";
+    private static final String SUBTRACTOR = "package fixture; public class Subtractor implements Operation {"
+        + " public int apply(int a, int b) { return a - b; } }";
+    private static final String UNUSED = "package fixture; public class Unused {"
+        + " public int apply(int a, int b) { return a * b; } }";
+
+    @Example
+    void unchangedBytecodeHasTheSameHash() throws IOException {
+        assertThat(hashOfCall(sources())).isEqualTo(hashOfCall(sources()));
+    }
+
+    @Example
+    void hashChangesWhenACalleeChanges() throws IOException {
+        Map<String, String> changed = sources();
+        changed.put("Adder", ADDER.replace("a + b", "a + b + 1"));
+
+        assertThat(hashOfCall(changed)).isNotEqualTo(hashOfCall(sources()));
+    }
+
+    @Example
+    void hashChangesWhenAnImplementationOfAVirtualCallChanges() throws IOException {
+        Map<String, String> changed = sources();
+        changed.put("Subtractor", SUBTRACTOR.replace("a - b", "b - a"));
+
+        assertThat(hashOfCall(changed)).isNotEqualTo(hashOfCall(sources()));
+    }
+
+    @Example
+    void hashIgnoresCodeThatIsNotCalled() throws IOException {
+        Map<String, String> changed = sources();
+        changed.put("Unused", UNUSED.replace("a * b", "a / b"));
+
+        assertThat(hashOfCall(changed)).isEqualTo(hashOfCall(sources()));
+    }
+
+    private static Map<String, String> sources() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("Caller", CALLER);
+        sources.put("Operation", OPERATION);
+        sources.put("Adder", ADDER);
+        sources.put("Subtractor", SUBTRACTOR);
+        sources.put("Unused", UNUSED);
+        return sources;
+    }
+
+    private static String hashOfCall(Map<String, String> sources) throws IOException {
+        Path sourceDirectory = Files.createTempDirectory("sources");
+        Path classDirectory = Files.createTempDirectory("classes");
+        List<String> arguments = new ArrayList<>(List.of("-d", classDirectory.toString()));
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = sourceDirectory.resolve(source.getKey() + ".java");
+            Files.writeString(file, source.getValue());
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isZero();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classDirectory.toUri().toURL()}, null)) {
+            return new TransitiveBytecodeHash(classLoader).of(CALL);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package playground.memo;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A cache limited in size and optionally in weight. New results enter a small window of recently used entries. When they
+ * drop out of the window, they only replace the least recently used entry of the main part if their key was requested
+ * more often recently (see {@link FrequencySketch}), so a scan over many one-off keys doesn't flush the frequently used
+ * results.
+ * <p>
+ * Only results of {@link Memoized} methods should be cached, as it is not checked whether a value is still valid.
+ * <p>
+ * Results are computed outside of the lock of the cache, so slow computations of different keys run in parallel. Callers
+ * requesting a key that is being computed wait for that computation instead of starting another one.
+ */
+public final class BoundedCache<K, V> {
+
+    private final long windowSize;
+    private final long mainSize;
+    private final long maximumWeight;
+    private final ToLongBiFunction<K, V> weigher;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, Weighted<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Weighted<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, CompletableFuture<V>> computations = new HashMap<>();
+
+    private long totalWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long rejectionCount;
+
+    private BoundedCache(Builder<K, V> builder) {
+        this.windowSize = Math.max(1, builder.maximumSize / 100);
+        this.mainSize = builder.maximumSize - windowSize;
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.sketch = new FrequencySketch((int) Math.min(builder.maximumSize, 1 << 20));
+    }
+
+    public static <K, V> Builder<K, V> newBuilder() {
+        return new Builder<>();
+    }
+
+    /**
+     * The function must not request the same key from this cache, as it would wait for itself.
+     *
+     * @return the cached result for the key, or the result of the given function, which is cached if it is admitted
+     */
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        Objects.requireNonNull(key);
+        CompletableFuture<V> computation;
+        boolean computesHere = false;
+        synchronized (this) {
+            sketch.increment(key);
+            Weighted<V> cached = window.containsKey(key) ? window.get(key) : main.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached.value;
+            }
+            computation = computations.get(key);
+            if (computation == null) {
+                missCount++;
+                computation = new CompletableFuture<>();
+                computations.put(key, computation);
+                computesHere = true;
+            } else {
+                hitCount++;
+            }
+        }
+        return computesHere ? compute(key, computation, compute) : await(computation);
+    }
+
+    private V compute(K key, CompletableFuture<V> computation, Function<? super K, ? extends V> compute) {
+        try {
+            V value = compute.apply(key);
+            synchronized (this) {
+                computations.remove(key);
+                put(key, value);
+            }
+            computation.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                computations.remove(key);
+            }
+            computation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> computation) {
+        try {
+            return computation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return a function answering from this cache, computing missing results with the given function
+     */
+    public Function<K, V> memoize(Function<? super K, ? extends V> function) {
+        return key -> get(key, function);
+    }
+
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, rejectionCount);
+    }
+
+    public synchronized void invalidateAll() {
+        window.clear();
+        main.clear();
+        totalWeight = 0;
+    }
+
+    private void put(K key, V value) {
+        long weight = weigher.applyAsLong(key, value);
+        if (weight > maximumWeight) {
+            rejectionCount++;
+            return;
+        }
+        window.put(key, new Weighted<>(value, weight));
+        totalWeight += weight;
+        while (window.size() > windowSize) {
+            admit(removeEldest(window));
+        }
+        while (totalWeight > maximumWeight) {
+            evictionCount++;
+            totalWeight -= removeEldest(main.isEmpty() ? window : main).getValue().weight;
+        }
+    }
+
+    private void admit(Map.Entry<K, Weighted<V>> candidate) {
+        if (main.size() < mainSize) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        K victim = main.isEmpty() ? null : main.keySet().iterator().next();
+        if (victim != null && sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            evictionCount++;
+            totalWeight -= removeEldest(main).getValue().weight;
+            main.put(candidate.getKey(), candidate.getValue());
+        } else {
+            rejectionCount++;
+            totalWeight -= candidate.getValue().weight;
+        }
+    }
+
+    private Map.Entry<K, Weighted<V>> removeEldest(LinkedHashMap<K, Weighted<V>> entries) {
+        Iterator<Map.Entry<K, Weighted<V>>> iterator = entries.entrySet().iterator();
+        Map.Entry<K, Weighted<V>> eldest = iterator.next();
+        Map.Entry<K, Weighted<V>> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+
+    private static final class Weighted<V> {
+        private final V value;
+        private final long weight;
+
+        private Weighted(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    public static final class Builder<K, V> {
+        private long maximumSize = 1024;
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToLongBiFunction<K, V> weigher = (key, value) -> 1;
+
+        private Builder() {
+        }
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximum size must be positive, but was " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Limits the sum of the weights of the cached entries, e.g. the number of elements of cached lists.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight, ToLongBiFunction<K, V> weigher) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("maximum weight must be positive, but was " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Takes the size from the {@link Memoized} annotation of the cached method.
+         */
+        public Builder<K, V> sizedFor(Memoized memoized) {
+            return maximumSize(memoized.maximumSize());
+        }
+
+        public BoundedCache<K, V> build() {
+            return new BoundedCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package playground.memo;
+
+/**
+ * A snapshot of the counters of a {@link BoundedCache}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long rejectionCount;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long rejectionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.rejectionCount = rejectionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entries removed to stay within the limits
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of computed results that were not admitted, because they were requested less often than the
+     * entry they would have replaced
+     */
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "hits: " + hitCount + ", misses: " + missCount + ", evictions: " + evictionCount + ", rejections: " + rejectionCount;
+    }
+}
@@ -0,0 +1,81 @@
+package playground.memo;
+
+/**
+ * Estimates how often keys were requested recently, as a count-min sketch with four 4 bit counters per key. All
+ * counters are halved after a sample of requests, so former favourites age out (the TinyLFU scheme).
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedSize) {
+        int length = Integer.highestOneBit(Math.max(expectedSize, 16) - 1) << 1;
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = 10 * length;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, counterAt(indexOf(hash, i), i));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), i);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private int counterAt(int index, int counter) {
+        return (int) ((table[index] >>> offsetOf(counter)) & 0xfL);
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = offsetOf(counter);
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) == mask) {
+            return false;
+        }
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    /**
+     * The four counters of a key are kept in distinct nibbles of their slots, 20 bits apart.
+     */
+    private int offsetOf(int counter) {
+        return (counter << 4) + (counter << 2);
+    }
+
+    private int indexOf(int hash, int counter) {
+        long mixed = (hash + SEEDS[counter]) * SEEDS[counter];
+        return (int) (mixed ^ (mixed >>> 32)) & tableMask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,23 @@
+package playground.memo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that the results of a method may be cached, e.g. by a {@link BoundedCache#memoize(java.util.function.Function)
+ * memoized function} in the shell. This is only correct for methods that are strictly side effect free and deterministic,
+ * which is verified by the functional core architecture rule of the archunit extension.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Memoized {
+
+    /**
+     * @return the number of results worth keeping, as a hint for the cache of the caller
+     */
+    int maximumSize() default 1024;
+}
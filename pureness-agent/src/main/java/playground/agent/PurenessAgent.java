@@ -0,0 +1,100 @@
+package playground.agent;
+
+import com.tngtech.archunit.core.domain.PackageMatchers;
+import playground.pureness.PureDataStore;
+import playground.pureness.StandardCatalog;
+import playground.summary.MethodSummaries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.instrument.Instrumentation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java agent collecting runtime evidence against the static pureness verdicts. It instruments the side effect free
+ * classified code units of the core, see {@link SideEffectTransformer}, and reports every probe that was reached when
+ * the JVM exits.
+ * <p>
+ * Usage: <code>-javaagent:pureness-agent.jar=core=app.core..;summaries=build/funccore/method-summaries.tsv</code> with
+ * the options
+ * <ul>
+ *     <li><code>core</code>: comma separated core packages in ArchUnit syntax, required</li>
+ *     <li><code>summaries</code>: the method summaries holding the verdicts, by default those published on the class path</li>
+ *     <li><code>report</code>: the report file, by default <code>build/funccore/side-effect-samples.txt</code></li>
+ *     <li><code>sampleEvery</code>: take a stack sample every n-th hit of a probe, by default 1024</li>
+ * </ul>
+ */
+public final class PurenessAgent {
+
+    private PurenessAgent() {
+    }
+
+    public static void premain(String arguments, Instrumentation instrumentation) {
+        Map<String, String> options = parse(arguments);
+        if (!options.containsKey("core")) {
+            throw new IllegalArgumentException("The pureness agent needs the core packages, e.g. core=app.core..");
+        }
+        MethodSummaries summaries = loadSummaries(options.get("summaries"));
+        PureDataStore catalog = new PureDataStore();
+        catalog.addPrefixesForNotSideEffectFree(StandardCatalog.getNotSefPrefixes());
+        catalog.addPrefixesForDomainSpecificSideEffectFree(StandardCatalog.getDsefPrefixes());
+        catalog.addPrefixesForSideEffectFree(StandardCatalog.getSsefPrefixes());
+        catalog.addKnownClassifications(summaries.getPurenessClassifications());
+        SideEffectProbe.sampleEvery(Integer.parseInt(options.getOrDefault("sampleEvery", "1024")));
+
+        instrumentation.addTransformer(new SideEffectTransformer(PackageMatchers.of(options.get("core").split(",")),
+            summaries.getPurenessClassifications(), catalog));
+        Path report = Paths.get(options.getOrDefault("report", "build/funccore/side-effect-samples.txt"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(report), "pureness-agent-report"));
+    }
+
+    private static Map<String, String> parse(String arguments) {
+        Map<String, String> options = new HashMap<>();
+        if (arguments == null) {
+            return options;
+        }
+        for (String option : arguments.split(";")) {
+            int separator = option.indexOf('=');
+            if (separator > 0) {
+                options.put(option.substring(0, separator).trim(), option.substring(separator + 1).trim());
+            }
+        }
+        return options;
+    }
+
+    private static MethodSummaries loadSummaries(String file) {
+        if (file == null) {
+            return MethodSummaries.loadFromClasspath(ClassLoader.getSystemClassLoader());
+        }
+        try (InputStream input = Files.newInputStream(Paths.get(file))) {
+            return MethodSummaries.read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read method summaries from " + file, e);
+        }
+    }
+
+    private static void writeReport(Path report) {
+        List<String> mismatches = SideEffectProbe.collectMismatches();
+        List<String> lines = new ArrayList<>();
+        lines.add(SideEffectProbe.getSiteCount() + " probes in side effect free classified code units, "
+            + mismatches.size() + " contradicting their classification at runtime");
+        lines.addAll(mismatches);
+        lines.forEach(System.err::println);
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.write(report, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write side effect report to " + report + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package playground.agent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how often each {@link SideEffectSite} is executed. Instrumented code calls {@link #hit(int)} right before the
+ * instruction in question. The counts are kept in chunks of atomic counters, which are never copied when more sites are
+ * registered, so no hit gets lost, neither by concurrent increments nor by a growing number of sites. Only the first and
+ * every n-th hit take a stack sample.
+ */
+public final class SideEffectProbe {
+
+    private static final int CHUNK_BITS = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final List<SideEffectSite> SITES = new ArrayList<>();
+    private static volatile AtomicLongArray[] chunks = {new AtomicLongArray(CHUNK_SIZE)};
+    private static volatile int sampleEvery = 1024;
+
+    private SideEffectProbe() {
+    }
+
+    public static void hit(int site) {
+        AtomicLongArray[] current = chunks;
+        int chunk = site >>> CHUNK_BITS;
+        AtomicLongArray counts = chunk < current.length ? current[chunk] : chunkOf(site);
+        long count = counts.incrementAndGet(site & (CHUNK_SIZE - 1));
+        if (count == 1 || count % sampleEvery == 0) {
+            siteAt(site).sample(Thread.currentThread().getStackTrace());
+        }
+    }
+
+    static void sampleEvery(int hits) {
+        sampleEvery = Math.max(1, hits);
+    }
+
+    static synchronized int register(SideEffectSite site) {
+        SITES.add(site);
+        int index = SITES.size() - 1;
+        if ((index >>> CHUNK_BITS) >= chunks.length) {
+            AtomicLongArray[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = new AtomicLongArray(CHUNK_SIZE);
+            chunks = grown;
+        }
+        return index;
+    }
+
+    /**
+     * Only reached if the calling thread didn't see the chunks grown by the registration of the site yet.
+     */
+    private static synchronized AtomicLongArray chunkOf(int site) {
+        return chunks[site >>> CHUNK_BITS];
+    }
+
+    private static synchronized SideEffectSite siteAt(int site) {
+        return SITES.get(site);
+    }
+
+    private static long countOf(int site) {
+        return chunks[site >>> CHUNK_BITS].get(site & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * @return a description of every site that was reached and contradicts the classification of its code unit
+     */
+    static synchronized List<String> collectMismatches() {
+        List<String> mismatches = new ArrayList<>();
+        for (int site = 0; site < SITES.size(); site++) {
+            long count = countOf(site);
+            if (count > 0 && SITES.get(site).contradictsClassification()) {
+                mismatches.add(SITES.get(site).describe(count));
+            }
+        }
+        mismatches.sort(null);
+        return mismatches;
+    }
+
+    static synchronized int getSiteCount() {
+        return SITES.size();
+    }
+}
@@ -0,0 +1,78 @@
+package playground.agent;
+
+import playground.pureness.PurenessClassification;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * An instruction within a side effect free classified code unit that may contradict its classification at runtime.
+ */
+final class SideEffectSite {
+
+    enum Kind {
+        STATIC_WRITE("writes static field"),
+        STATIC_READ("reads mutable static field"),
+        FIELD_WRITE("writes field of its own class"),
+        NOT_SEF_CALL("calls not SEF method");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Kind kind;
+    private final String codeUnitName;
+    private final PurenessClassification classification;
+    private final String targetOwner;
+    private final String targetName;
+    private final ClassLoader classLoader;
+    private volatile String sample;
+
+    SideEffectSite(Kind kind, String codeUnitName, PurenessClassification classification, String targetOwner,
+        String targetName, ClassLoader classLoader) {
+        this.kind = kind;
+        this.codeUnitName = codeUnitName;
+        this.classification = classification;
+        this.targetOwner = targetOwner;
+        this.targetName = targetName;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Keeps the first frames outside of the instrumented code unit, usually pointing to the test that triggered it.
+     */
+    void sample(StackTraceElement[] stackTrace) {
+        StringBuilder frames = new StringBuilder();
+        for (int i = 3; i < Math.min(stackTrace.length, 6); i++) {
+            frames.append(i > 3 ? " <- " : "").append(stackTrace[i]);
+        }
+        sample = frames.toString();
+    }
+
+    /**
+     * Reads of final static fields, e.g. of enum constants, can't be told apart from mutable ones by the instruction, so
+     * they are filtered here, once the classes are loaded anyway.
+     */
+    boolean contradictsClassification() {
+        if (kind != Kind.STATIC_READ) {
+            return true;
+        }
+        if (classification != PurenessClassification.SSEF) {
+            return false;
+        }
+        try {
+            Field field = Class.forName(targetOwner, false, classLoader).getDeclaredField(targetName);
+            return !Modifier.isFinal(field.getModifiers());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return true;
+        }
+    }
+
+    String describe(long count) {
+        return codeUnitName + " classified " + classification + " but " + kind.description + " " + targetOwner + "."
+            + targetName + " (" + count + " times" + (sample == null ? "" : ", e.g. via " + sample) + ")";
+    }
+}
@@ -0,0 +1,139 @@
+package playground.agent;
+
+import com.tngtech.archunit.core.domain.PackageMatchers;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassReader;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.ClassWriter;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.MethodVisitor;
+import com.tngtech.archunit.thirdparty.org.objectweb.asm.Opcodes;
+import playground.facts.AsmFactExtractor;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instruments the code units of the core that are classified {@link PurenessClassification#SSEF} or
+ * {@link PurenessClassification#DSEF} with a {@link SideEffectProbe} in front of every instruction that may contradict
+ * this classification: static field writes, reads of static fields, writes to fields of the own class outside of
+ * constructors (SSEF only) and calls of code units classified as not SEF by the catalog. As the static analysis, calls
+ * on objects instantiated within the code unit itself are ignored.
+ */
+final class SideEffectTransformer implements ClassFileTransformer {
+
+    private static final String PROBE = SideEffectProbe.class.getName().replace('.', '/');
+
+    private final PackageMatchers corePackages;
+    private final Map<String, PurenessClassification> verdicts;
+    private final PureDataStore catalog;
+
+    SideEffectTransformer(PackageMatchers corePackages, Map<String, PurenessClassification> verdicts, PureDataStore catalog) {
+        this.corePackages = corePackages;
+        this.verdicts = verdicts;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+        ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+        if (loader == null || className == null || !corePackages.apply(packageOf(className))) {
+            return null;
+        }
+        ClassReader reader = new ClassReader(classfileBuffer);
+        ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+        Instrumentation instrumentation = new Instrumentation(writer, loader);
+        reader.accept(instrumentation, 0);
+        return instrumentation.instrumentedMethods > 0 ? writer.toByteArray() : null;
+    }
+
+    private static String packageOf(String internalName) {
+        int separator = internalName.lastIndexOf('/');
+        return separator < 0 ? "" : internalName.substring(0, separator).replace('/', '.');
+    }
+
+    private final class Instrumentation extends ClassVisitor {
+
+        private final ClassLoader loader;
+        private String internalName;
+        private int instrumentedMethods;
+
+        Instrumentation(ClassVisitor next, ClassLoader loader) {
+            super(Opcodes.ASM9, next);
+            this.loader = loader;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            internalName = name;
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            MethodVisitor next = super.visitMethod(access, name, descriptor, signature, exceptions);
+            String codeUnitName = AsmFactExtractor.codeUnitNameOf(internalName, name, descriptor);
+            PurenessClassification classification = verdicts.get(codeUnitName);
+            if (classification == null || !classification.isAtLeast(PurenessClassification.DSEF)) {
+                return next;
+            }
+            instrumentedMethods++;
+            return new Probes(next, codeUnitName, classification, name.equals("<init>") || name.equals("<clinit>"));
+        }
+
+        private final class Probes extends MethodVisitor {
+
+            private final String codeUnitName;
+            private final PurenessClassification classification;
+            private final boolean isInitializer;
+            private final Set<String> instantiatedTypes = new HashSet<>();
+
+            Probes(MethodVisitor next, String codeUnitName, PurenessClassification classification, boolean isInitializer) {
+                super(Opcodes.ASM9, next);
+                this.codeUnitName = codeUnitName;
+                this.classification = classification;
+                this.isInitializer = isInitializer;
+            }
+
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                if (opcode == Opcodes.NEW) {
+                    instantiatedTypes.add(type);
+                }
+                super.visitTypeInsn(opcode, type);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                if (opcode == Opcodes.PUTSTATIC && !isInitializer) {
+                    probe(SideEffectSite.Kind.STATIC_WRITE, owner, name);
+                } else if (opcode == Opcodes.GETSTATIC && classification == PurenessClassification.SSEF) {
+                    probe(SideEffectSite.Kind.STATIC_READ, owner, name);
+                } else if (opcode == Opcodes.PUTFIELD && !isInitializer && owner.equals(internalName)
+                    && classification == PurenessClassification.SSEF) {
+                    probe(SideEffectSite.Kind.FIELD_WRITE, owner, name);
+                }
+                super.visitFieldInsn(opcode, owner, name, descriptor);
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                String target = AsmFactExtractor.codeUnitNameOf(owner, name, descriptor);
+                if (!instantiatedTypes.contains(owner) && catalog.getPreconfiguredClassification(target) == PurenessClassification.NOT_SEF) {
+                    probe(SideEffectSite.Kind.NOT_SEF_CALL, owner, target.substring(owner.length() + 1));
+                }
+                super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            }
+
+            private void probe(SideEffectSite.Kind kind, String owner, String name) {
+                int site = SideEffectProbe.register(new SideEffectSite(kind, codeUnitName, classification,
+                    owner.replace('/', '.'), name, loader));
+                super.visitLdcInsn(site);
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, PROBE, "hit", "(I)V", false);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package playground.agent;
+
+import com.tngtech.archunit.core.domain.PackageMatchers;
+import net.jqwik.api.Example;
+import playground.agent.fixture.SideEffects;
+import playground.pureness.PureDataStore;
+import playground.pureness.PurenessClassification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SideEffectTransformerTest {
+
+    private static final String FIXTURE = SideEffects.class.getName();
+    private static final String NEXT = FIXTURE + ".next()";
+    private static final String REMEMBER = FIXTURE + ".remember(java.util.List)";
+
+    @Example
+    void reportsStaticWriteOfSideEffectFreeClassifiedMethod() throws Exception {
+        Object sideEffects = instrumentedFixture().getConstructor().newInstance();
+
+        sideEffects.getClass().getMethod("next").invoke(sideEffects);
+
+        assertThat(SideEffectProbe.collectMismatches())
+            .anyMatch(mismatch -> mismatch.startsWith(NEXT + " classified strictly SEF but writes static field " + FIXTURE + ".count"));
+    }
+
+    @Example
+    void reportsCallOfNotSefMethod() throws Exception {
+        Object sideEffects = instrumentedFixture().getConstructor().newInstance();
+
+        sideEffects.getClass().getMethod("remember", List.class).invoke(sideEffects, new ArrayList<String>());
+
+        assertThat(SideEffectProbe.collectMismatches())
+            .anyMatch(mismatch -> mismatch.startsWith(REMEMBER + " classified strictly SEF but calls not SEF method java.util.List.add(java.lang.Object)"));
+    }
+
+    @Example
+    void countsConcurrentHitsExactly() throws Exception {
+        Object sideEffects = instrumentedFixture().getConstructor().newInstance();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> hits = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                hits.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sideEffects.getClass().getMethod("remember", List.class).invoke(sideEffects, new ArrayList<String>());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> hit : hits) {
+                hit.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(SideEffectProbe.collectMismatches())
+            .anyMatch(mismatch -> mismatch.startsWith(REMEMBER) && mismatch.contains("(80000 times"));
+    }
+
+    /**
+     * Defines the fixture, instrumented as if <code>next()</code> and <code>remember(List)</code> were published as SSEF,
+     * in a class loader of its own, so each test counts the hits of its own probes.
+     */
+    private static Class<?> instrumentedFixture() throws IOException {
+        PureDataStore catalog = new PureDataStore();
+        catalog.addPrefixesForNotSideEffectFree(Set.of("java.util.List.add"));
+        SideEffectTransformer transformer = new SideEffectTransformer(PackageMatchers.of("playground.agent.fixture.."),
+            Map.of(NEXT, PurenessClassification.SSEF, REMEMBER, PurenessClassification.SSEF), catalog);
+
+        byte[] classFile;
+        try (InputStream in = SideEffects.class.getResourceAsStream("SideEffects.class")) {
+            classFile = in.readAllBytes();
+        }
+        FixtureClassLoader loader = new FixtureClassLoader();
+        byte[] instrumented = transformer.transform(loader, FIXTURE.replace('.', '/'), null, null, classFile);
+        assertThat(instrumented).isNotNull();
+        return loader.define(instrumented);
+    }
+
+    private static final class FixtureClassLoader extends ClassLoader {
+
+        FixtureClassLoader() {
+            super(SideEffectTransformerTest.class.getClassLoader());
+        }
+
+        Class<?> define(byte[] classFile) {
+            return defineClass(FIXTURE, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package playground.agent.fixture;
+
+import java.util.List;
+
+public class SideEffects {
+
+    private static int count;
+
+    public int next() {
+        count = count + 1;
+        return count;
+    }
+
+    public int remember(List<String> names) {
+        names.add("remembered");
+        return names.size();
+    }
+}